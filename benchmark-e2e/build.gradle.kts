@@ -21,4 +21,20 @@ tasks {
       jvmArgs("-Dio.opentelemetry.smoketest.agent.shadowJar.path=${project(":javaagent").tasks.getByName<ShadowJar>("shadowJar").archivePath}")
     }
   }
+
+  // runs LocalOverheadBenchmark, configured with -Potel.overhead.* project properties
+  register<JavaExec>("runOverheadBenchmark") {
+    dependsOn(":javaagent:shadowJar")
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("io.opentelemetry.e2ebenchmark.LocalOverheadBenchmark")
+    workingDir = file("$buildDir/overhead")
+
+    doFirst {
+      workingDir.mkdirs()
+      systemProperty("otel.overhead.agent.jar", project(":javaagent").tasks.getByName<ShadowJar>("shadowJar").archivePath)
+      project.properties
+        .filterKeys { it.startsWith("otel.overhead.") }
+        .forEach { (key, value) -> systemProperty(key, value.toString()) }
+    }
+  }
 }
@@ -0,0 +1,474 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.e2ebenchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.MBeanServerConnection;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures the overhead of the agent without containers. The sample application jar is started on
+ * localhost once without and once with the agent, put under a fixed load and the results of both
+ * runs are written to a JSON report.
+ *
+ * <p>For every run the report contains the time until the application answers the first request,
+ * the p50 and p99 latency and the throughput of the measured requests, the allocation rate of the
+ * application during the measurement and the used heap after a full GC at its end. When maximum
+ * overhead percentages are configured, the process exits with status 1 if the agent exceeds any
+ * of them, so that the benchmark can gate agent upgrades.
+ *
+ * <p>The benchmark is configured with the following system properties:
+ *
+ * <ul>
+ *   <li>{@code otel.overhead.app.jar} - the application jar, e.g. the spring boot smoke test app
+ *   <li>{@code otel.overhead.agent.jar} - the agent jar
+ *   <li>{@code otel.overhead.app.args} - application arguments, empty by default
+ *   <li>{@code otel.overhead.jvm.args} - jvm arguments of both runs, {@code -Xmx512m} by default
+ *   <li>{@code otel.overhead.agent.args} - additional jvm arguments of the agent run, the exporters
+ *       are disabled by default
+ *   <li>{@code otel.overhead.url} - the url that is requested, {@code
+ *       http://localhost:8080/greeting} by default
+ *   <li>{@code otel.overhead.warmup.seconds} - duration of the warmup, 30 by default
+ *   <li>{@code otel.overhead.duration.seconds} - duration of the measurement, 60 by default
+ *   <li>{@code otel.overhead.concurrency} - number of concurrent clients, 8 by default
+ *   <li>{@code otel.overhead.report} - the report file, {@code overhead-report.json} by default
+ *   <li>{@code otel.overhead.max.startup.percent}, {@code otel.overhead.max.p50.percent}, {@code
+ *       otel.overhead.max.p99.percent}, {@code otel.overhead.max.throughput.percent}, {@code
+ *       otel.overhead.max.allocation.percent} and {@code otel.overhead.max.heap.percent} - optional
+ *       maximum overhead of the agent run
+ * </ul>
+ */
+public final class LocalOverheadBenchmark {
+  private static final Logger logger = LoggerFactory.getLogger(LocalOverheadBenchmark.class);
+
+  private static final long STARTUP_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+  private final String appJar;
+  private final String agentJar;
+  private final List<String> appArgs;
+  private final List<String> jvmArgs;
+  private final List<String> agentArgs;
+  private final URL url;
+  private final long warmupMillis;
+  private final long durationMillis;
+  private final int concurrency;
+
+  LocalOverheadBenchmark(
+      String appJar,
+      String agentJar,
+      List<String> appArgs,
+      List<String> jvmArgs,
+      List<String> agentArgs,
+      URL url,
+      long warmupMillis,
+      long durationMillis,
+      int concurrency) {
+    this.appJar = appJar;
+    this.agentJar = agentJar;
+    this.appArgs = appArgs;
+    this.jvmArgs = jvmArgs;
+    this.agentArgs = agentArgs;
+    this.url = url;
+    this.warmupMillis = warmupMillis;
+    this.durationMillis = durationMillis;
+    this.concurrency = concurrency;
+  }
+
+  public static void main(String[] args) throws Exception {
+    LocalOverheadBenchmark benchmark =
+        new LocalOverheadBenchmark(
+            requiredProperty("otel.overhead.app.jar"),
+            requiredProperty("otel.overhead.agent.jar"),
+            splitArgs(System.getProperty("otel.overhead.app.args", "")),
+            splitArgs(System.getProperty("otel.overhead.jvm.args", "-Xmx512m")),
+            splitArgs(
+                System.getProperty(
+                    "otel.overhead.agent.args",
+                    "-Dotel.traces.exporter=none -Dotel.metrics.exporter=none")),
+            new URL(System.getProperty("otel.overhead.url", "http://localhost:8080/greeting")),
+            TimeUnit.SECONDS.toMillis(Long.getLong("otel.overhead.warmup.seconds", 30)),
+            TimeUnit.SECONDS.toMillis(Long.getLong("otel.overhead.duration.seconds", 60)),
+            Integer.getInteger("otel.overhead.concurrency", 8));
+
+    RunResult baseline = benchmark.run("no-agent", false);
+    RunResult agent = benchmark.run("agent", true);
+
+    Map<String, Double> overhead = new LinkedHashMap<>();
+    overhead.put("startup", percentIncrease(baseline.startupMillis, agent.startupMillis));
+    overhead.put("p50", percentIncrease(baseline.p50Millis, agent.p50Millis));
+    overhead.put("p99", percentIncrease(baseline.p99Millis, agent.p99Millis));
+    // a drop in throughput is overhead as well
+    overhead.put("throughput", -percentIncrease(baseline.throughput, agent.throughput));
+    overhead.put(
+        "allocation",
+        percentIncrease(baseline.allocationBytesPerSecond, agent.allocationBytesPerSecond));
+    overhead.put("heap", percentIncrease(baseline.heapAfterGcBytes, agent.heapAfterGcBytes));
+
+    List<String> violations = new ArrayList<>();
+    for (Map.Entry<String, Double> entry : overhead.entrySet()) {
+      String limit = System.getProperty("otel.overhead.max." + entry.getKey() + ".percent");
+      if (limit != null && entry.getValue() > Double.parseDouble(limit)) {
+        violations.add(
+            String.format(
+                Locale.ROOT,
+                "%s overhead %.2f%% exceeds %s%%",
+                entry.getKey(),
+                entry.getValue(),
+                limit));
+      }
+    }
+
+    Path report = Paths.get(System.getProperty("otel.overhead.report", "overhead-report.json"));
+    writeReport(report, Arrays.asList(baseline, agent), overhead, violations);
+    logger.info("Overhead report written to {}", report.toAbsolutePath());
+
+    if (!violations.isEmpty()) {
+      violations.forEach(logger::error);
+      System.exit(1);
+    }
+  }
+
+  RunResult run(String name, boolean withAgent) throws Exception {
+    int jmxPort = freePort();
+    List<String> command = new ArrayList<>();
+    command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+    command.addAll(jvmArgs);
+    command.add("-Dcom.sun.management.jmxremote.port=" + jmxPort);
+    command.add("-Dcom.sun.management.jmxremote.rmi.port=" + jmxPort);
+    command.add("-Dcom.sun.management.jmxremote.host=127.0.0.1");
+    command.add("-Dcom.sun.management.jmxremote.authenticate=false");
+    command.add("-Dcom.sun.management.jmxremote.ssl=false");
+    command.add("-Djava.rmi.server.hostname=127.0.0.1");
+    if (withAgent) {
+      command.add("-javaagent:" + agentJar);
+      command.addAll(agentArgs);
+    }
+    command.add("-jar");
+    command.add(appJar);
+    command.addAll(appArgs);
+
+    File log = new File("overhead-" + name + ".log");
+    logger.info("Starting {} run, application output goes to {}", name, log.getAbsolutePath());
+    long start = System.nanoTime();
+    Process process =
+        new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+    try {
+      awaitFirstResponse(process);
+      long startupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      logger.info("{} run started in {} ms", name, startupMillis);
+
+      generateLoad(warmupMillis);
+
+      try (JMXConnector connector = connectJmx(jmxPort)) {
+        MBeanServerConnection connection = connector.getMBeanServerConnection();
+        com.sun.management.ThreadMXBean threadBean =
+            ManagementFactory.newPlatformMXBeanProxy(
+                connection,
+                ManagementFactory.THREAD_MXBEAN_NAME,
+                com.sun.management.ThreadMXBean.class);
+        MemoryMXBean memoryBean =
+            ManagementFactory.newPlatformMXBeanProxy(
+                connection, ManagementFactory.MEMORY_MXBEAN_NAME, MemoryMXBean.class);
+
+        long allocatedBefore = allocatedBytes(threadBean);
+        long loadStart = System.nanoTime();
+        LoadResult load = generateLoad(durationMillis);
+        double seconds = (System.nanoTime() - loadStart) / 1e9;
+        long allocatedAfter = allocatedBytes(threadBean);
+
+        memoryBean.gc();
+        long heapAfterGc = memoryBean.getHeapMemoryUsage().getUsed();
+
+        RunResult result =
+            new RunResult(
+                name,
+                startupMillis,
+                load.percentileMillis(50),
+                load.percentileMillis(99),
+                load.count() / seconds,
+                load.errors,
+                Math.max(0, allocatedAfter - allocatedBefore) / seconds,
+                heapAfterGc);
+        logger.info("{} run finished: {}", name, result.toJson());
+        return result;
+      }
+    } finally {
+      process.destroy();
+      if (!process.waitFor(30, TimeUnit.SECONDS)) {
+        process.destroyForcibly().waitFor();
+      }
+    }
+  }
+
+  private void awaitFirstResponse(Process process) throws Exception {
+    long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+    while (System.currentTimeMillis() < deadline) {
+      if (!process.isAlive()) {
+        throw new IllegalStateException(
+            "Application exited with status " + process.exitValue() + " during startup");
+      }
+      try {
+        if (request() == 200) {
+          return;
+        }
+      } catch (IOException e) {
+        // not listening yet
+      }
+      Thread.sleep(10);
+    }
+    throw new IllegalStateException("Application didn't respond within the startup timeout");
+  }
+
+  private LoadResult generateLoad(long millis) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+    LatencyRecorder[] recorders = new LatencyRecorder[concurrency];
+    AtomicLong errors = new AtomicLong();
+    Thread[] threads = new Thread[concurrency];
+    for (int i = 0; i < concurrency; i++) {
+      LatencyRecorder recorder = new LatencyRecorder();
+      recorders[i] = recorder;
+      threads[i] =
+          new Thread(
+              () -> {
+                while (System.nanoTime() < deadline) {
+                  long requestStart = System.nanoTime();
+                  try {
+                    if (request() == 200) {
+                      recorder.record(System.nanoTime() - requestStart);
+                    } else {
+                      errors.incrementAndGet();
+                    }
+                  } catch (IOException e) {
+                    errors.incrementAndGet();
+                  }
+                }
+              },
+              "overhead-load-" + i);
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    return new LoadResult(recorders, errors.get());
+  }
+
+  private int request() throws IOException {
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    connection.setConnectTimeout(5_000);
+    connection.setReadTimeout(30_000);
+    int status = connection.getResponseCode();
+    // read the whole body, so that the connection is kept alive
+    try (InputStream body =
+        status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+      if (body != null) {
+        byte[] buffer = new byte[8192];
+        while (body.read(buffer) != -1) {
+          // discard
+        }
+      }
+    }
+    return status;
+  }
+
+  private static JMXConnector connectJmx(int port) throws IOException {
+    return JMXConnectorFactory.connect(
+        new JMXServiceURL("service:jmx:rmi:///jndi/rmi://127.0.0.1:" + port + "/jmxrmi"));
+  }
+
+  // bytes allocated by the threads that are currently alive, allocations of threads that die
+  // during the measurement are lost, which is negligible for a server with a thread pool
+  private static long allocatedBytes(com.sun.management.ThreadMXBean threadBean) {
+    long total = 0;
+    for (long allocated : threadBean.getThreadAllocatedBytes(threadBean.getAllThreadIds())) {
+      if (allocated > 0) {
+        total += allocated;
+      }
+    }
+    return total;
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+  private static double percentIncrease(double baseline, double value) {
+    return baseline == 0 ? 0 : (value - baseline) * 100 / baseline;
+  }
+
+  private static String requiredProperty(String name) {
+    String value = System.getProperty(name);
+    if (value == null || value.isEmpty()) {
+      throw new IllegalArgumentException("System property " + name + " is required");
+    }
+    return value;
+  }
+
+  private static List<String> splitArgs(String args) {
+    List<String> result = new ArrayList<>();
+    for (String arg : args.trim().split("\\s+")) {
+      if (!arg.isEmpty()) {
+        result.add(arg);
+      }
+    }
+    return result;
+  }
+
+  private static void writeReport(
+      Path report, List<RunResult> runs, Map<String, Double> overhead, List<String> violations)
+      throws IOException {
+    StringBuilder json = new StringBuilder("{\n  \"runs\": [\n");
+    for (int i = 0; i < runs.size(); i++) {
+      json.append("    ").append(runs.get(i).toJson()).append(i < runs.size() - 1 ? ",\n" : "\n");
+    }
+    json.append("  ],\n  \"overheadPercent\": {");
+    int i = 0;
+    for (Map.Entry<String, Double> entry : overhead.entrySet()) {
+      json.append(i++ == 0 ? "" : ",")
+          .append(" \"")
+          .append(entry.getKey())
+          .append("\": ")
+          .append(format(entry.getValue()));
+    }
+    json.append(" },\n  \"violations\": [");
+    for (int j = 0; j < violations.size(); j++) {
+      json.append(j == 0 ? "" : ", ").append('"').append(violations.get(j)).append('"');
+    }
+    json.append("]\n}\n");
+
+    Path parent = report.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    try (Writer writer = Files.newBufferedWriter(report, StandardCharsets.UTF_8)) {
+      writer.write(json.toString());
+    }
+  }
+
+  private static String format(double value) {
+    return String.format(Locale.ROOT, "%.3f", value);
+  }
+
+  static final class RunResult {
+    final String name;
+    final long startupMillis;
+    final double p50Millis;
+    final double p99Millis;
+    final double throughput;
+    final long errors;
+    final double allocationBytesPerSecond;
+    final long heapAfterGcBytes;
+
+    RunResult(
+        String name,
+        long startupMillis,
+        double p50Millis,
+        double p99Millis,
+        double throughput,
+        long errors,
+        double allocationBytesPerSecond,
+        long heapAfterGcBytes) {
+      this.name = name;
+      this.startupMillis = startupMillis;
+      this.p50Millis = p50Millis;
+      this.p99Millis = p99Millis;
+      this.throughput = throughput;
+      this.errors = errors;
+      this.allocationBytesPerSecond = allocationBytesPerSecond;
+      this.heapAfterGcBytes = heapAfterGcBytes;
+    }
+
+    String toJson() {
+      return "{ \"name\": \""
+          + name
+          + "\", \"startupMillis\": "
+          + startupMillis
+          + ", \"p50Millis\": "
+          + format(p50Millis)
+          + ", \"p99Millis\": "
+          + format(p99Millis)
+          + ", \"requestsPerSecond\": "
+          + format(throughput)
+          + ", \"errors\": "
+          + errors
+          + ", \"allocationBytesPerSecond\": "
+          + format(allocationBytesPerSecond)
+          + ", \"heapAfterGcBytes\": "
+          + heapAfterGcBytes
+          + " }";
+    }
+  }
+
+  private static final class LoadResult {
+    private final long[] latencies;
+    final long errors;
+
+    LoadResult(LatencyRecorder[] recorders, long errors) {
+      int count = 0;
+      for (LatencyRecorder recorder : recorders) {
+        count += recorder.size;
+      }
+      latencies = new long[count];
+      int offset = 0;
+      for (LatencyRecorder recorder : recorders) {
+        System.arraycopy(recorder.latencies, 0, latencies, offset, recorder.size);
+        offset += recorder.size;
+      }
+      Arrays.sort(latencies);
+      this.errors = errors;
+    }
+
+    int count() {
+      return latencies.length;
+    }
+
+    double percentileMillis(int percentile) {
+      if (latencies.length == 0) {
+        return 0;
+      }
+      int index = (int) Math.ceil(percentile / 100.0 * latencies.length) - 1;
+      return latencies[Math.max(0, index)] / 1e6;
+    }
+  }
+
+  // latencies of the requests of a single load thread in nanoseconds
+  private static final class LatencyRecorder {
+    long[] latencies = new long[1024];
+    int size;
+
+    void record(long latency) {
+      if (size == latencies.length) {
+        latencies = Arrays.copyOf(latencies, size * 2);
+      }
+      latencies[size++] = latency;
+    }
+  }
+}
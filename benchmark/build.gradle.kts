@@ -23,6 +23,14 @@ dependencies {
   jmh("org.eclipse.jetty:jetty-server:9.4.1.v20170120")
   jmh("org.eclipse.jetty:jetty-servlet:9.4.1.v20170120")
 
+  jmh("ch.qos.logback:logback-classic")
+
+  // newest log4j version instrumented by log4j-2.7, used by Log4j2ContextDataBenchmark
+  jmh("org.apache.logging.log4j:log4j-core:2.13.1")
+
+  // MockConsumer stands in for a broker in KafkaConsumerBenchmark
+  jmh("org.apache.kafka:kafka-clients:0.11.0.0")
+
   // used to provide lots of classes for TypeMatchingBenchmark
   jmh("org.springframework:spring-web:4.3.28.RELEASE")
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.benchmark;
+
+import io.opentelemetry.javaagent.instrumentation.api.CallDepth;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class CallDepthBenchmark {
+
+  private static final int SLOT = CallDepth.slotForClass(Statement.class);
+
+  // the implementation used before call depths were stored in slots
+  private static final ClassValue<ThreadLocal<int[]>> classValueThreadLocal =
+      new ClassValue<ThreadLocal<int[]>>() {
+        @Override
+        protected ThreadLocal<int[]> computeValue(Class<?> type) {
+          return ThreadLocal.withInitial(() -> new int[1]);
+        }
+      };
+
+  @Benchmark
+  @Threads(4)
+  public int classValueAndThreadLocal() {
+    int[] depth = classValueThreadLocal.get(Statement.class).get();
+    int previous = depth[0]++;
+    depth[0]--;
+    return previous;
+  }
+
+  @Benchmark
+  @Threads(4)
+  public int forClass() {
+    CallDepth callDepth = CallDepth.forClass(Statement.class);
+    int previous = callDepth.getAndIncrement();
+    callDepth.decrementAndGet();
+    return previous;
+  }
+
+  @Benchmark
+  @Threads(4)
+  public int forSlot() {
+    CallDepth callDepth = CallDepth.forSlot(SLOT);
+    int previous = callDepth.getAndIncrement();
+    callDepth.decrementAndGet();
+    return previous;
+  }
+}
@@ -37,4 +37,12 @@ public class ClassRetransformingBenchmark {
           "-javaagent:/path/to/opentelemetry-java-instrumentation"
               + "/javaagent/build/libs/opentelemetry-javaagent.jar")
   public static class WithAgent extends ClassRetransformingBenchmark {}
+
+  @Fork(
+      jvmArgsAppend = {
+        "-javaagent:/path/to/opentelemetry-java-instrumentation"
+            + "/javaagent/build/libs/opentelemetry-javaagent.jar",
+        "-Dotel.javaagent.experimental.parallel-retransformation.enabled=true"
+      })
+  public static class WithAgentAndParallelRetransformation extends ClassRetransformingBenchmark {}
 }
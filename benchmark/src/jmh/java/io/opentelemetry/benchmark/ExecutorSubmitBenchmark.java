@@ -0,0 +1,104 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.benchmark;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of submitting tasks to executors while a non-recording (unsampled) span
+ * is current, which is the common case in applications that sample a small fraction of requests.
+ */
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(org.openjdk.jmh.annotations.Scope.Thread)
+public class ExecutorSubmitBenchmark {
+
+  private static final int TASKS = 1000;
+
+  private static final Span UNSAMPLED_SPAN =
+      Span.wrap(
+          SpanContext.create(
+              "ff01020304050600ff0a0b0c0d0e0f00",
+              "090a0b0c0d0e0f00",
+              TraceFlags.getDefault(),
+              TraceState.getDefault()));
+
+  private ExecutorService threadPoolExecutor;
+  private ExecutorService forkJoinPool;
+  private Scope scope;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    threadPoolExecutor =
+        new ThreadPoolExecutor(4, 4, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+    forkJoinPool = new ForkJoinPool(4);
+    scope = Context.root().with(UNSAMPLED_SPAN).makeCurrent();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    scope.close();
+    threadPoolExecutor.shutdown();
+    forkJoinPool.shutdown();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(TASKS)
+  public void threadPoolExecutor() throws InterruptedException {
+    submit(threadPoolExecutor);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(TASKS)
+  public void forkJoinPool() throws InterruptedException {
+    submit(forkJoinPool);
+  }
+
+  private static void submit(ExecutorService executor) throws InterruptedException {
+    CountDownLatch latch = new CountDownLatch(TASKS);
+    for (int i = 0; i < TASKS; i++) {
+      executor.execute(latch::countDown);
+    }
+    latch.await();
+  }
+
+  @Fork(
+      jvmArgsAppend =
+          "-javaagent:/path/to/opentelemetry-java-instrumentation"
+              + "/javaagent/build/libs/opentelemetry-javaagent.jar")
+  public static class WithAgent extends ExecutorSubmitBenchmark {}
+
+  @Fork(
+      jvmArgsAppend = {
+        "-javaagent:/path/to/opentelemetry-java-instrumentation"
+            + "/javaagent/build/libs/opentelemetry-javaagent.jar",
+        "-Dotel.javaagent.experimental.executors.skip-non-recording-context.enabled=true"
+      })
+  public static class WithAgentSkippingNonRecordingContext extends ExecutorSubmitBenchmark {}
+}
@@ -6,10 +6,24 @@
 package io.opentelemetry.benchmark;
 
 import io.opentelemetry.instrumentation.api.config.Config;
+import io.opentelemetry.javaagent.extension.ignore.IgnoredTypesBuilder;
+import io.opentelemetry.javaagent.instrumentation.api.util.Trie;
 import io.opentelemetry.javaagent.tooling.ignore.AdditionalLibraryIgnoredTypesConfigurer;
+import io.opentelemetry.javaagent.tooling.ignore.GlobalIgnoredTypesConfigurer;
+import io.opentelemetry.javaagent.tooling.ignore.IgnoreAllow;
 import io.opentelemetry.javaagent.tooling.ignore.IgnoredTypesBuilderImpl;
 import io.opentelemetry.javaagent.tooling.ignore.IgnoredTypesMatcher;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -17,8 +31,10 @@ import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
 
 @Fork(1)
 @Warmup(iterations = 3, time = 1)
@@ -27,17 +43,33 @@ import org.openjdk.jmh.annotations.Warmup;
 @BenchmarkMode(Mode.AverageTime)
 public class IgnoredTypesMatcherBenchmark {
 
+  private static final int CLASS_NAME_COUNT = 100_000;
+
   private static final TypeDescription springType =
       new TypeDescription.Latent("org.springframework.test.SomeClass", 0, null);
   private static final TypeDescription testAppType =
       new TypeDescription.Latent("com.example.myapp.Main", 0, null);
 
   private static final ElementMatcher<TypeDescription> ignoredTypesMatcher;
+  private static final Trie<IgnoreAllow> ignoredTypesTrie;
+  private static final NodeTrie<IgnoreAllow> nodeIgnoredTypesTrie;
+  private static final String[] classNames;
 
   static {
     IgnoredTypesBuilderImpl builder = new IgnoredTypesBuilderImpl();
     new AdditionalLibraryIgnoredTypesConfigurer().configure(Config.get(), builder);
     ignoredTypesMatcher = new IgnoredTypesMatcher(builder.buildIgnoredTypesTrie());
+
+    IgnoredTypesBuilderImpl allIgnoredTypesBuilder = new IgnoredTypesBuilderImpl();
+    NodeTrieIgnoredTypesBuilder nodeTrieBuilder = new NodeTrieIgnoredTypesBuilder();
+    new GlobalIgnoredTypesConfigurer().configure(Config.get(), allIgnoredTypesBuilder);
+    new AdditionalLibraryIgnoredTypesConfigurer().configure(Config.get(), allIgnoredTypesBuilder);
+    new GlobalIgnoredTypesConfigurer().configure(Config.get(), nodeTrieBuilder);
+    new AdditionalLibraryIgnoredTypesConfigurer().configure(Config.get(), nodeTrieBuilder);
+    ignoredTypesTrie = allIgnoredTypesBuilder.buildIgnoredTypesTrie();
+    nodeIgnoredTypesTrie = nodeTrieBuilder.ignoredTypes.build();
+
+    classNames = loadClassNames();
   }
 
   @Benchmark
@@ -49,4 +81,132 @@ public class IgnoredTypesMatcherBenchmark {
   public boolean appType() {
     return ignoredTypesMatcher.matches(testAppType);
   }
+
+  @Benchmark
+  @OperationsPerInvocation(CLASS_NAME_COUNT)
+  public void trie_classNames(Blackhole blackhole) {
+    for (String className : classNames) {
+      blackhole.consume(ignoredTypesTrie.getOrNull(className));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CLASS_NAME_COUNT)
+  public void nodeTrie_classNames(Blackhole blackhole) {
+    for (String className : classNames) {
+      blackhole.consume(nodeIgnoredTypesTrie.getOrNull(className));
+    }
+  }
+
+  // names of the classes in the jars on the benchmark class path, repeated up to the desired count
+  private static String[] loadClassNames() {
+    List<String> names = new ArrayList<>();
+    for (String path : System.getProperty("java.class.path").split(File.pathSeparator)) {
+      if (!path.endsWith(".jar")) {
+        continue;
+      }
+      try (JarFile jarFile = new JarFile(path)) {
+        Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements() && names.size() < CLASS_NAME_COUNT) {
+          String name = entries.nextElement().getName();
+          if (name.endsWith(".class") && !name.startsWith("META-INF/")) {
+            names.add(name.substring(0, name.length() - ".class".length()).replace('/', '.'));
+          }
+        }
+      } catch (IOException e) {
+        // skip jars that can't be read
+      }
+    }
+    if (names.isEmpty()) {
+      throw new IllegalStateException("No class names found on the class path");
+    }
+    String[] result = new String[CLASS_NAME_COUNT];
+    for (int i = 0; i < CLASS_NAME_COUNT; i++) {
+      result[i] = names.get(i % names.size());
+    }
+    return result;
+  }
+
+  private static class NodeTrieIgnoredTypesBuilder implements IgnoredTypesBuilder {
+    final NodeTrie.Builder<IgnoreAllow> ignoredTypes = new NodeTrie.Builder<>();
+
+    @Override
+    public IgnoredTypesBuilder ignoreClass(String classNameOrPrefix) {
+      ignoredTypes.put(classNameOrPrefix, IgnoreAllow.IGNORE);
+      return this;
+    }
+
+    @Override
+    public IgnoredTypesBuilder allowClass(String classNameOrPrefix) {
+      ignoredTypes.put(classNameOrPrefix, IgnoreAllow.ALLOW);
+      return this;
+    }
+
+    @Override
+    public IgnoredTypesBuilder ignoreClassLoader(String classNameOrPrefix) {
+      return this;
+    }
+
+    @Override
+    public IgnoredTypesBuilder allowClassLoader(String classNameOrPrefix) {
+      return this;
+    }
+
+    @Override
+    public IgnoredTypesBuilder ignoreTaskClass(String classNameOrPrefix) {
+      return this;
+    }
+  }
+
+  // the trie implementation used before it was compiled into flat arrays
+  private static class NodeTrie<V> {
+    final char[] chars;
+    final NodeTrie<V>[] children;
+    final V value;
+
+    NodeTrie(char[] chars, NodeTrie<V>[] children, V value) {
+      this.chars = chars;
+      this.children = children;
+      this.value = value;
+    }
+
+    V getOrNull(String str) {
+      NodeTrie<V> node = this;
+      V lastMatchedValue = null;
+      for (int i = 0; i < str.length(); ++i) {
+        int index = Arrays.binarySearch(node.chars, str.charAt(i));
+        if (index < 0) {
+          return lastMatchedValue;
+        }
+        node = node.children[index];
+        lastMatchedValue = node.value != null ? node.value : lastMatchedValue;
+      }
+      return lastMatchedValue;
+    }
+
+    static class Builder<V> {
+      final Map<Character, Builder<V>> children = new TreeMap<>();
+      V value;
+
+      void put(String str, V value) {
+        Builder<V> node = this;
+        for (int i = 0; i < str.length(); ++i) {
+          node = node.children.computeIfAbsent(str.charAt(i), k -> new Builder<>());
+        }
+        node.value = value;
+      }
+
+      @SuppressWarnings({"unchecked", "rawtypes"})
+      NodeTrie<V> build() {
+        char[] chars = new char[children.size()];
+        NodeTrie<V>[] nodes = new NodeTrie[children.size()];
+        int i = 0;
+        for (Map.Entry<Character, Builder<V>> e : children.entrySet()) {
+          chars[i] = e.getKey();
+          nodes[i++] = e.getValue().build();
+        }
+        return new NodeTrie<>(chars, nodes, value);
+      }
+    }
+  }
 }
@@ -42,6 +42,16 @@ public class InstrumenterBenchmark {
           .addAttributesExtractor(new ConstantNetAttributesExtractor())
           .newInstrumenter();
 
+  private static final Instrumenter<Void, Void> INSTRUMENTER_WRITING_ATTRIBUTES_DIRECTLY =
+      Instrumenter.<Void, Void>newBuilder(
+              OpenTelemetry.noop(),
+              "benchmark",
+              HttpSpanNameExtractor.create(ConstantHttpAttributesExtractor.INSTANCE))
+          .addAttributesExtractor(ConstantHttpAttributesExtractor.INSTANCE)
+          .addAttributesExtractor(new ConstantNetAttributesExtractor())
+          .setWriteAttributesDirectly(true)
+          .newInstrumenter();
+
   @Benchmark
   public Context start() {
     return INSTRUMENTER.start(Context.root(), null);
@@ -54,6 +64,18 @@ public class InstrumenterBenchmark {
     return context;
   }
 
+  @Benchmark
+  public Context startWritingAttributesDirectly() {
+    return INSTRUMENTER_WRITING_ATTRIBUTES_DIRECTLY.start(Context.root(), null);
+  }
+
+  @Benchmark
+  public Context startEndWritingAttributesDirectly() {
+    Context context = INSTRUMENTER_WRITING_ATTRIBUTES_DIRECTLY.start(Context.root(), null);
+    INSTRUMENTER_WRITING_ATTRIBUTES_DIRECTLY.end(context, null, null, null);
+    return context;
+  }
+
   static class ConstantHttpAttributesExtractor extends HttpAttributesExtractor<Void, Void> {
     static final HttpAttributesExtractor<Void, Void> INSTANCE =
         new ConstantHttpAttributesExtractor();
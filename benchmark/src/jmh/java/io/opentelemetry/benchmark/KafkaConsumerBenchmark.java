@@ -0,0 +1,110 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the throughput of a consumer poll loop that processes batches of records. The records
+ * are served by a {@link MockConsumer}, which stands in for a broker, and carry the trace context
+ * of their producer; one in a hundred producer spans is sampled.
+ */
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(org.openjdk.jmh.annotations.Scope.Thread)
+public class KafkaConsumerBenchmark {
+
+  private static final int RECORDS = 500;
+  private static final int SAMPLED_RECORD_INTERVAL = 100;
+  private static final String TOPIC = "benchmark";
+  private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+
+  private static final String TRACE_ID = "ff01020304050600ff0a0b0c0d0e0f00";
+  private static final String SPAN_ID = "090a0b0c0d0e0f00";
+
+  private MockConsumer<String, String> consumer;
+  private long offset;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    consumer.assign(Collections.singleton(PARTITION));
+    consumer.updateBeginningOffsets(Collections.singletonMap(PARTITION, 0L));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    consumer.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public void pollAndProcess(Blackhole blackhole) {
+    for (int i = 0; i < RECORDS; i++) {
+      consumer.addRecord(record(offset++));
+    }
+    ConsumerRecords<String, String> records = consumer.poll(0);
+    for (ConsumerRecord<String, String> record : records) {
+      blackhole.consume(record.value());
+    }
+  }
+
+  private static ConsumerRecord<String, String> record(long offset) {
+    String traceFlags = offset % SAMPLED_RECORD_INTERVAL == 0 ? "01" : "00";
+    RecordHeaders headers = new RecordHeaders();
+    headers.add(
+        "traceparent",
+        ("00-" + TRACE_ID + "-" + SPAN_ID + "-" + traceFlags).getBytes(StandardCharsets.UTF_8));
+    return new ConsumerRecord<>(
+        TOPIC,
+        0,
+        offset,
+        System.currentTimeMillis(),
+        TimestampType.CREATE_TIME,
+        0L,
+        3,
+        5,
+        "key",
+        "value",
+        headers);
+  }
+
+  @Fork(
+      jvmArgsAppend =
+          "-javaagent:/path/to/opentelemetry-java-instrumentation"
+              + "/javaagent/build/libs/opentelemetry-javaagent.jar")
+  public static class WithAgent extends KafkaConsumerBenchmark {}
+
+  @Fork(
+      jvmArgsAppend = {
+        "-javaagent:/path/to/opentelemetry-java-instrumentation"
+            + "/javaagent/build/libs/opentelemetry-javaagent.jar",
+        "-Dotel.instrumentation.kafka.experimental-batch-process-span=true"
+      })
+  public static class WithAgentAndBatchProcessSpan extends KafkaConsumerBenchmark {}
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.benchmark;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.util.TriConsumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the allocations of logging through Log4j2 while a span is current and the thread
+ * context has many entries. The appender does no I/O, it only reads all context data entries of
+ * every event like a layout does. The allocations are reported by the gc profiler.
+ */
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(org.openjdk.jmh.annotations.Scope.Thread)
+public class Log4j2ContextDataBenchmark {
+
+  private static final int THREAD_CONTEXT_ENTRIES = 20;
+
+  private static final Span SPAN =
+      Span.wrap(
+          SpanContext.create(
+              "ff01020304050600ff0a0b0c0d0e0f00",
+              "090a0b0c0d0e0f00",
+              TraceFlags.getSampled(),
+              TraceState.getDefault()));
+
+  private static final TriConsumer<String, Object, ContextDataReadingAppender> READ_ENTRY =
+      (key, value, appender) -> appender.length += key.length();
+
+  private Logger logger;
+  private Scope scope;
+
+  @Setup
+  public void setUp() {
+    LoggerContext loggerContext = (LoggerContext) LogManager.getContext(false);
+    Configuration configuration = loggerContext.getConfiguration();
+    ContextDataReadingAppender appender = new ContextDataReadingAppender();
+    appender.start();
+    configuration.addAppender(appender);
+    LoggerConfig loggerConfig = new LoggerConfig("benchmark", Level.INFO, false);
+    loggerConfig.addAppender(appender, null, null);
+    configuration.addLogger("benchmark", loggerConfig);
+    loggerContext.updateLoggers();
+    logger = loggerContext.getLogger("benchmark");
+
+    for (int i = 0; i < THREAD_CONTEXT_ENTRIES; i++) {
+      ThreadContext.put("key" + i, "value" + i);
+    }
+    scope = Context.root().with(SPAN).makeCurrent();
+  }
+
+  @TearDown
+  public void tearDown() {
+    scope.close();
+    ThreadContext.clearMap();
+  }
+
+  @Benchmark
+  public void log() {
+    logger.info("Hello {}", "world");
+  }
+
+  static final class ContextDataReadingAppender extends AbstractAppender {
+
+    // keeps the reads from being eliminated
+    int length;
+
+    @SuppressWarnings("deprecation") // the other constructors were added in later versions
+    ContextDataReadingAppender() {
+      super("benchmark", null, null);
+    }
+
+    @Override
+    public void append(LogEvent event) {
+      event.getContextData().forEach(READ_ENTRY, this);
+    }
+  }
+
+  @Fork(
+      jvmArgsAppend =
+          "-javaagent:/path/to/opentelemetry-java-instrumentation"
+              + "/javaagent/build/libs/opentelemetry-javaagent.jar")
+  public static class WithAgent extends Log4j2ContextDataBenchmark {}
+
+  // the copy-on-write thread context map hands out frozen context data, which can't be modified
+  @Fork(
+      jvmArgsAppend = {
+        "-javaagent:/path/to/opentelemetry-java-instrumentation"
+            + "/javaagent/build/libs/opentelemetry-javaagent.jar",
+        "-Dlog4j2.isThreadContextMapInheritable=true"
+      })
+  public static class WithAgentAndCopyOnWriteThreadContextMap extends Log4j2ContextDataBenchmark {}
+
+  @Fork(
+      jvmArgsAppend = {
+        "-javaagent:/path/to/opentelemetry-java-instrumentation"
+            + "/javaagent/build/libs/opentelemetry-javaagent.jar",
+        "-Dlog4j2.enableThreadlocals=true",
+        "-Dlog4j2.garbagefreeThreadContextMap=true"
+      })
+  public static class WithAgentAndGarbageFreeMode extends Log4j2ContextDataBenchmark {}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures logging through Logback while a span is current. The appender does no I/O, it only reads
+ * the MDC of every event a few times, like layouts and encoders that print several MDC entries do.
+ */
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(org.openjdk.jmh.annotations.Scope.Thread)
+public class LogbackMdcBenchmark {
+
+  private static final Span SPAN =
+      Span.wrap(
+          SpanContext.create(
+              "ff01020304050600ff0a0b0c0d0e0f00",
+              "090a0b0c0d0e0f00",
+              TraceFlags.getSampled(),
+              TraceState.getDefault()));
+
+  private LoggerContext loggerContext;
+  private Logger logger;
+  private Scope scope;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    loggerContext = new LoggerContext();
+    MdcReadingAppender appender = new MdcReadingAppender();
+    appender.setContext(loggerContext);
+    appender.start();
+    logger = loggerContext.getLogger("benchmark");
+    logger.setAdditive(false);
+    logger.addAppender(appender);
+    scope = Context.root().with(SPAN).makeCurrent();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    scope.close();
+    loggerContext.stop();
+  }
+
+  @Benchmark
+  public void log() {
+    logger.info("Hello {}", "world");
+  }
+
+  static final class MdcReadingAppender extends AppenderBase<ILoggingEvent> {
+
+    // keeps the reads from being eliminated
+    int length;
+
+    @Override
+    protected void append(ILoggingEvent event) {
+      for (int i = 0; i < 3; i++) {
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        String traceId = mdc.get("trace_id");
+        length += traceId != null ? traceId.length() : 0;
+      }
+    }
+  }
+
+  @Fork(
+      jvmArgsAppend =
+          "-javaagent:/path/to/opentelemetry-java-instrumentation"
+              + "/javaagent/build/libs/opentelemetry-javaagent.jar")
+  public static class WithAgent extends LogbackMdcBenchmark {}
+}
@@ -5,15 +5,25 @@
 
 package io.opentelemetry.benchmark;
 
+import static io.opentelemetry.javaagent.extension.matcher.AgentElementMatchers.extendsClass;
+import static io.opentelemetry.javaagent.extension.matcher.AgentElementMatchers.hasSuperType;
+import static io.opentelemetry.javaagent.extension.matcher.AgentElementMatchers.implementsInterface;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static net.bytebuddy.matcher.ElementMatchers.named;
 
+import io.opentelemetry.javaagent.tooling.AgentTooling;
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.pool.TypePool;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -66,9 +76,59 @@ public class TypeMatchingBenchmark {
     }
   }
 
+  // applies hierarchy matchers of several instrumentations to the same type descriptions, like the
+  // agent does when a class is loaded; the super types of every type are resolved only once
+  @Benchmark
+  public int matchSuperTypes() {
+    ClassLoader classLoader = TypeMatchingBenchmark.class.getClassLoader();
+    TypePool typePool =
+        AgentTooling.poolStrategy()
+            .typePool(AgentTooling.locationStrategy().classFileLocator(classLoader), classLoader);
+    List<ElementMatcher<TypeDescription>> matchers =
+        Arrays.asList(
+            implementsInterface(named("javax.servlet.Filter")),
+            implementsInterface(named("java.util.concurrent.Executor")),
+            implementsInterface(named("java.lang.Runnable")),
+            hasSuperType(named("org.springframework.web.servlet.HandlerAdapter")),
+            extendsClass(named("javax.servlet.http.HttpServlet")));
+    int matches = 0;
+    for (String className : classNames) {
+      TypePool.Resolution resolution = typePool.describe(className);
+      if (!resolution.isResolved()) {
+        continue;
+      }
+      TypeDescription type = resolution.resolve();
+      for (ElementMatcher<TypeDescription> matcher : matchers) {
+        if (matcher.matches(type)) {
+          matches++;
+        }
+      }
+    }
+    return matches;
+  }
+
   @Fork(
       jvmArgsAppend =
           "-javaagent:/path/to/opentelemetry-java-instrumentation"
               + "/javaagent/build/libs/opentelemetry-javaagent.jar")
   public static class WithAgent extends TypeMatchingBenchmark {}
+
+  @Fork(
+      jvmArgsAppend = {
+        "-javaagent:/path/to/opentelemetry-java-instrumentation"
+            + "/javaagent/build/libs/opentelemetry-javaagent.jar",
+        "-Dotel.javaagent.experimental.type-resolution-cache.initial-size=8192"
+      })
+  public static class WithAgentAndLargeTypeResolutionCache extends TypeMatchingBenchmark {}
+
+  // the cache is written on shutdown: the warmup fork populates it, so the measured forks run with
+  // a warm cache and can be compared with WithAgent, which has no cache
+  @Fork(
+      jvmArgsAppend = {
+        "-javaagent:/path/to/opentelemetry-java-instrumentation"
+            + "/javaagent/build/libs/opentelemetry-javaagent.jar",
+        "-Dotel.javaagent.experimental.type-matching-cache.directory=/tmp/otel-type-matching-cache"
+      },
+      warmups = 1)
+  public static class WithAgentAndWarmTypeMatchingCache extends TypeMatchingBenchmark {}
 }
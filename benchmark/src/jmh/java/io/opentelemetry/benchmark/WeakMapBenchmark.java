@@ -38,6 +38,10 @@ public class WeakMapBenchmark {
       Caffeine.newBuilder().weakKeys().build();
   private static final Map<String, String> caffeineMap = caffeineCache.asMap();
 
+  private static final io.opentelemetry.instrumentation.api.caching.Cache<String, String>
+      weakLockFreeCache =
+          io.opentelemetry.instrumentation.api.caching.Cache.newBuilder().setWeakKeys().build();
+
   private String key;
 
   @Setup
@@ -116,4 +120,36 @@ public class WeakMapBenchmark {
     blackhole.consume(caffeineMap.get(key));
     blackhole.consume(caffeineMap.remove(key));
   }
+
+  @Benchmark
+  @Threads(1)
+  public void threads01_weakLockFreeCache_computeIfAbsent(Blackhole blackhole) {
+    blackhole.consume(weakLockFreeCache.computeIfAbsent(key, k -> "foo"));
+    blackhole.consume(weakLockFreeCache.get(key));
+    weakLockFreeCache.remove(key);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void threads08_weakLockFreeCache_computeIfAbsent(Blackhole blackhole) {
+    blackhole.consume(weakLockFreeCache.computeIfAbsent(key, k -> "foo"));
+    blackhole.consume(weakLockFreeCache.get(key));
+    weakLockFreeCache.remove(key);
+  }
+
+  @Benchmark
+  @Threads(32)
+  public void threads32_weakLockFreeCache_computeIfAbsent(Blackhole blackhole) {
+    blackhole.consume(weakLockFreeCache.computeIfAbsent(key, k -> "foo"));
+    blackhole.consume(weakLockFreeCache.get(key));
+    weakLockFreeCache.remove(key);
+  }
+
+  @Benchmark
+  @Threads(64)
+  public void threads64_weakLockFreeCache_computeIfAbsent(Blackhole blackhole) {
+    blackhole.consume(weakLockFreeCache.computeIfAbsent(key, k -> "foo"));
+    blackhole.consume(weakLockFreeCache.get(key));
+    weakLockFreeCache.remove(key);
+  }
 }
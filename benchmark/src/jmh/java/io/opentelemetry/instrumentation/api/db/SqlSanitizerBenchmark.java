@@ -0,0 +1,54 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.db;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// lives in the sanitizer package to measure the lexer without the statement cache in front of it
+@BenchmarkMode(Mode.Throughput)
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class SqlSanitizerBenchmark {
+
+  @Param({
+    // hibernate entity load
+    "select order0_.id as id1_3_0_, order0_.customer_id as customer4_3_0_, "
+        + "order0_.created_at as created_2_3_0_, order0_.status as status3_3_0_ "
+        + "from orders order0_ where order0_.id=?",
+    // hibernate query with joins and inlined literals
+    "select customer0_.id as id1_0_, customer0_.name as name2_0_ from customers customer0_ "
+        + "inner join orders orders1_ on customer0_.id=orders1_.customer_id "
+        + "where orders1_.status='SHIPPED' and orders1_.total>100.50 "
+        + "order by customer0_.name asc limit 20",
+    // jooq insert with inlined values
+    "insert into \"public\".\"book\" (\"id\", \"author_id\", \"title\", \"published_in\") "
+        + "values (1001, 42, 'Brave New World', 1932)",
+    // jooq update
+    "update \"public\".\"book\" set \"title\" = 'Animal Farm', \"published_in\" = 1945 "
+        + "where \"public\".\"book\".\"id\" = 1002",
+    // batch delete
+    "delete from audit_log where created_at < '2021-01-01 00:00:00' and level in (1, 2, 3)"
+  })
+  public String statement;
+
+  @Benchmark
+  public SqlStatementInfo sanitize() {
+    return AutoSqlSanitizer.sanitize(statement);
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.servlet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.Throughput)
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class MappingResolverBenchmark {
+
+  // number of servlet mappings of each kind, like an application with many resources and actions
+  @Param({"10", "100", "500"})
+  public int mappingCount;
+
+  private MappingResolver resolver;
+  private String exactPath;
+  private String prefixServletPath;
+
+  @Setup
+  public void setUp() {
+    List<String> mappings = new ArrayList<>();
+    for (int i = 0; i < mappingCount; i++) {
+      mappings.add("/resource" + i + "/*");
+      mappings.add("/page" + i);
+    }
+    mappings.add("*.do");
+    mappings.add("*.action");
+    mappings.add("*.jsp");
+    mappings.add("/");
+    resolver = MappingResolver.build(mappings);
+    exactPath = "/page" + (mappingCount - 1);
+    prefixServletPath = "/resource" + (mappingCount - 1);
+  }
+
+  @Benchmark
+  public String exactMatch() {
+    return resolver.resolve(exactPath, null);
+  }
+
+  @Benchmark
+  public String prefixMatch() {
+    // jax-rs style: the servlet path is the mapping prefix and the path info the resource path
+    return resolver.resolve(prefixServletPath, "/users/12345/orders");
+  }
+
+  @Benchmark
+  public String suffixMatch() {
+    // struts style: the whole path is in the servlet path
+    return resolver.resolve("/admin/users/edit.action", null);
+  }
+
+  @Benchmark
+  public String defaultMatch() {
+    return resolver.resolve("/static/css/main.css", null);
+  }
+}
@@ -32,4 +32,12 @@ public interface Cache<K, V> {
 
   /** Removes a value for {@code key} if present. */
   void remove(K key);
+
+  /**
+   * Changes the maximum size of a cache that was built with {@link
+   * CacheBuilder#setMaximumSize(long)}. If the new maximum is smaller than the current size,
+   * entries are evicted. Has no effect on unbounded caches, which is also what the default
+   * implementation does.
+   */
+  default void setMaximumSize(long maximumSize) {}
 }
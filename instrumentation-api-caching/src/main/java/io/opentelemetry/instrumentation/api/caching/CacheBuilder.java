@@ -6,6 +6,7 @@
 package io.opentelemetry.instrumentation.api.caching;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import java.util.concurrent.Executor;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -18,6 +19,7 @@ public final class CacheBuilder {
   private boolean weakValues;
   private long maximumSize = UNSET;
   @Nullable private Executor executor = null;
+  @Nullable private Runnable evictionListener = null;
 
   /** Sets the maximum size of the cache. */
   public CacheBuilder setMaximumSize(long maximumSize) {
@@ -40,6 +42,16 @@ public final class CacheBuilder {
     return this;
   }
 
+  /**
+   * Sets a listener that is called every time an entry is evicted because the cache exceeded its
+   * maximum size. The listener is called synchronously, it should be cheap and must not access the
+   * cache.
+   */
+  public CacheBuilder setEvictionListener(Runnable evictionListener) {
+    this.evictionListener = evictionListener;
+    return this;
+  }
+
   // Visible for testing
   CacheBuilder setExecutor(Executor executor) {
     this.executor = executor;
@@ -48,7 +60,7 @@ public final class CacheBuilder {
 
   /** Returns a new {@link Cache} with the settings of this {@link CacheBuilder}. */
   public <K, V> Cache<K, V> build() {
-    if (weakKeys && !weakValues && maximumSize == UNSET) {
+    if (weakKeys && !weakValues && maximumSize == UNSET && evictionListener == null) {
       return new WeakLockFreeCache<>();
     }
     Caffeine<?, ?> caffeine = Caffeine.newBuilder();
@@ -61,6 +73,15 @@ public final class CacheBuilder {
     if (maximumSize != UNSET) {
       caffeine.maximumSize(maximumSize);
     }
+    if (evictionListener != null) {
+      Runnable listener = evictionListener;
+      caffeine.removalListener(
+          (key, value, cause) -> {
+            if (cause == RemovalCause.SIZE) {
+              listener.run();
+            }
+          });
+    }
     if (executor != null) {
       caffeine.executor(executor);
     } else {
@@ -36,6 +36,11 @@ final class CaffeineCache<K, V> implements Cache<K, V> {
     delegate.invalidate(key);
   }
 
+  @Override
+  public void setMaximumSize(long maximumSize) {
+    delegate.policy().eviction().ifPresent(eviction -> eviction.setMaximum(maximumSize));
+  }
+
   // Visible for testing
   Set<K> keySet() {
     return delegate.asMap().keySet();
@@ -6,14 +6,19 @@
 package io.opentelemetry.instrumentation.api.caching;
 
 import com.blogspot.mydailyjava.weaklockfree.WeakConcurrentMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 
 final class WeakLockFreeCache<K, V> implements Cache<K, V> {
 
   private final WeakConcurrentMap<K, V> delegate;
+  // the misses that are being computed, at most one per key
+  private final WeakConcurrentMap<K, Computation> computations;
 
   WeakLockFreeCache() {
     this.delegate = new WeakConcurrentMap.WithInlinedExpunction<>();
+    this.computations = new WeakConcurrentMap.WithInlinedExpunction<>();
   }
 
   @Override
@@ -22,25 +27,49 @@ final class WeakLockFreeCache<K, V> implements Cache<K, V> {
     if (value != null) {
       return value;
     }
-    // Best we can do, we don't expect high contention with this implementation. Note, this
-    // prevents executing mappingFunction twice but it does not prevent executing mappingFunction
-    // if there is a concurrent put operation as would be the case for ConcurrentHashMap. However,
-    // we would never expect an order guarantee in this case anyways so it still has the same
-    // safety.
-    synchronized (delegate) {
+    // Misses only wait for a computation of the same key, so mappingFunction runs at most once per
+    // key while misses on different keys don't block each other. Note, this does not prevent
+    // executing mappingFunction if there is a concurrent put operation as would be the case for
+    // ConcurrentHashMap. However, we would never expect an order guarantee in this case anyways so
+    // it still has the same safety.
+    Computation computation = new Computation();
+    while (true) {
+      Computation running = computations.putIfAbsent(key, computation);
+      if (running == null) {
+        break;
+      }
+      if (!running.await()) {
+        // the running computation waits for this thread, e.g. a mapping function that computes
+        // its own key or two mapping functions that compute each other's key; waiting would
+        // deadlock
+        return insert(key, mappingFunction.apply(key));
+      }
       value = get(key);
       if (value != null) {
         return value;
       }
-      value = mappingFunction.apply(key);
-      V previous = delegate.putIfAbsent(key, value);
-      if (previous != null) {
-        return previous;
+      // the running computation failed, try to compute the value in this thread
+    }
+    try {
+      value = get(key);
+      if (value != null) {
+        return value;
       }
-      return value;
+      return insert(key, mappingFunction.apply(key));
+    } finally {
+      computations.remove(key);
+      computation.finish();
     }
   }
 
+  private V insert(K key, V value) {
+    V previous = delegate.putIfAbsent(key, value);
+    if (previous != null) {
+      return previous;
+    }
+    return value;
+  }
+
   @Override
   public V get(K key) {
     return delegate.getIfPresent(key);
@@ -60,4 +89,63 @@ final class WeakLockFreeCache<K, V> implements Cache<K, V> {
   int size() {
     return delegate.approximateSize();
   }
+
+  private static final class Computation {
+
+    // the computation each thread waits for, shared by all caches as mapping functions may use
+    // other caches
+    private static final ConcurrentMap<Thread, Computation> awaited = new ConcurrentHashMap<>();
+
+    private final Thread owner = Thread.currentThread();
+    private boolean finished;
+
+    /**
+     * Waits until this computation is finished and returns {@code true}, or returns {@code false}
+     * right away if this computation directly or indirectly waits for the current thread.
+     */
+    boolean await() {
+      Thread current = Thread.currentThread();
+      // publish the wait before looking for a cycle, of two threads that start waiting for each
+      // other at least the second one sees the cycle
+      awaited.put(current, this);
+      try {
+        if (waitsFor(current)) {
+          return false;
+        }
+        boolean interrupted = false;
+        synchronized (this) {
+          while (!finished) {
+            try {
+              wait();
+            } catch (InterruptedException e) {
+              interrupted = true;
+            }
+          }
+        }
+        if (interrupted) {
+          Thread.currentThread().interrupt();
+        }
+        return true;
+      } finally {
+        awaited.remove(current);
+      }
+    }
+
+    private boolean waitsFor(Thread thread) {
+      Computation computation = this;
+      // waits that are already over may form a cycle without the given thread
+      for (int i = awaited.size(); computation != null && i >= 0; i--) {
+        if (computation.owner == thread) {
+          return true;
+        }
+        computation = awaited.get(computation.owner);
+      }
+      return false;
+    }
+
+    synchronized void finish() {
+      finished = true;
+      notifyAll();
+    }
+  }
 }
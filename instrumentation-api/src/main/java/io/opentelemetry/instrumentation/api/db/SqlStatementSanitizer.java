@@ -5,6 +5,7 @@
 
 package io.opentelemetry.instrumentation.api.db;
 
+import static io.opentelemetry.instrumentation.api.db.StatementSanitizationConfig.getStatementCacheSize;
 import static io.opentelemetry.instrumentation.api.db.StatementSanitizationConfig.isStatementSanitizationEnabled;
 import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.SQL_STATEMENT_SANITIZER_CACHE_MISS;
 
@@ -19,7 +20,7 @@ public final class SqlStatementSanitizer {
   private static final SupportabilityMetrics supportability = SupportabilityMetrics.instance();
 
   private static final Cache<String, SqlStatementInfo> sqlToStatementInfoCache =
-      Cache.newBuilder().setMaximumSize(1000).build();
+      Cache.newBuilder().setMaximumSize(getStatementCacheSize()).build();
 
   public static SqlStatementInfo sanitize(String statement) {
     if (!isStatementSanitizationEnabled() || statement == null) {
@@ -14,9 +14,17 @@ final class StatementSanitizationConfig {
       Config.get()
           .getBooleanProperty("otel.instrumentation.common.db-statement-sanitizer.enabled", true);
 
+  private static final long STATEMENT_CACHE_SIZE =
+      Config.get()
+          .getLongProperty("otel.instrumentation.common.db-statement-sanitizer.cache-size", 1000);
+
   static boolean isStatementSanitizationEnabled() {
     return STATEMENT_SANITIZATION_ENABLED;
   }
 
+  static long getStatementCacheSize() {
+    return STATEMENT_CACHE_SIZE;
+  }
+
   private StatementSanitizationConfig() {}
 }
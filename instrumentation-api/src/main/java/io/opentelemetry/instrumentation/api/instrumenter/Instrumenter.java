@@ -15,6 +15,7 @@ import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.InstrumentationVersion;
 import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
+import io.opentelemetry.instrumentation.api.servlet.ServerSpanNaming;
 import io.opentelemetry.instrumentation.api.tracer.ClientSpan;
 import io.opentelemetry.instrumentation.api.tracer.ConsumerSpan;
 import io.opentelemetry.instrumentation.api.tracer.ServerSpan;
@@ -76,6 +77,7 @@ public class Instrumenter<REQUEST, RESPONSE> {
   private final ErrorCauseExtractor errorCauseExtractor;
   @Nullable private final StartTimeExtractor<REQUEST> startTimeExtractor;
   @Nullable private final EndTimeExtractor<RESPONSE> endTimeExtractor;
+  private final boolean writeAttributesDirectly;
 
   Instrumenter(InstrumenterBuilder<REQUEST, RESPONSE> builder) {
     this.instrumentationName = builder.instrumentationName;
@@ -90,6 +92,9 @@ public class Instrumenter<REQUEST, RESPONSE> {
     this.errorCauseExtractor = builder.errorCauseExtractor;
     this.startTimeExtractor = builder.startTimeExtractor;
     this.endTimeExtractor = builder.endTimeExtractor;
+    // request listeners need to see all the attributes at once, so they still have to be collected
+    this.writeAttributesDirectly =
+        builder.writeAttributesDirectly && builder.requestListeners.isEmpty();
   }
 
   /**
@@ -141,19 +146,33 @@ public class Instrumenter<REQUEST, RESPONSE> {
       spanBuilder.addLink(extractor.extract(parentContext, request));
     }
 
-    UnsafeAttributes attributesBuilder = new UnsafeAttributes();
-    for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor : attributesExtractors) {
-      extractor.onStart(attributesBuilder, request);
-    }
-    Attributes attributes = attributesBuilder;
-
     Context context = parentContext;
 
-    for (RequestListener requestListener : requestListeners) {
-      context = requestListener.start(context, attributes);
+    if (writeAttributesDirectly) {
+      SpanAttributesWriter attributesWriter = SpanAttributesWriter.acquire(spanBuilder);
+      try {
+        for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor :
+            attributesExtractors) {
+          extractor.onStart(attributesWriter, request);
+        }
+      } finally {
+        attributesWriter.release();
+      }
+    } else {
+      UnsafeAttributes attributesBuilder = new UnsafeAttributes();
+      for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor :
+          attributesExtractors) {
+        extractor.onStart(attributesBuilder, request);
+      }
+      Attributes attributes = attributesBuilder;
+
+      for (RequestListener requestListener : requestListeners) {
+        context = requestListener.start(context, attributes);
+      }
+
+      spanBuilder.setAllAttributes(attributes);
     }
 
-    spanBuilder.setAllAttributes(attributes);
     Span span = spanBuilder.startSpan();
     context = context.with(span);
     switch (spanKind) {
@@ -178,18 +197,31 @@ public class Instrumenter<REQUEST, RESPONSE> {
       Context context, REQUEST request, @Nullable RESPONSE response, @Nullable Throwable error) {
     Span span = Span.fromContext(context);
 
-    UnsafeAttributes attributesBuilder = new UnsafeAttributes();
-    for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor : attributesExtractors) {
-      extractor.onEnd(attributesBuilder, request, response);
-    }
-    Attributes attributes = attributesBuilder;
-
-    for (RequestListener requestListener : requestListeners) {
-      requestListener.end(context, attributes);
+    if (writeAttributesDirectly) {
+      SpanAttributesWriter attributesWriter = SpanAttributesWriter.acquire(span);
+      try {
+        for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor :
+            attributesExtractors) {
+          extractor.onEnd(attributesWriter, request, response);
+        }
+      } finally {
+        attributesWriter.release();
+      }
+    } else {
+      UnsafeAttributes attributesBuilder = new UnsafeAttributes();
+      for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor :
+          attributesExtractors) {
+        extractor.onEnd(attributesBuilder, request, response);
+      }
+      Attributes attributes = attributesBuilder;
+
+      for (RequestListener requestListener : requestListeners) {
+        requestListener.end(context, attributes);
+      }
+
+      span.setAllAttributes(attributes);
     }
 
-    span.setAllAttributes(attributes);
-
     if (error != null) {
       error = errorCauseExtractor.extractCause(error);
       span.recordException(error);
@@ -200,6 +232,10 @@ public class Instrumenter<REQUEST, RESPONSE> {
       span.setStatus(statusCode);
     }
 
+    if (ServerSpanNaming.isDeferredNamingEnabled()) {
+      ServerSpanNaming.applyDeferredName(context);
+    }
+
     if (endTimeExtractor != null) {
       span.end(endTimeExtractor.extract(response));
     } else {
@@ -8,6 +8,7 @@ package io.opentelemetry.instrumentation.api.instrumenter;
 import static java.util.Objects.requireNonNull;
 
 import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.api.metrics.GlobalMeterProvider;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.trace.StatusCode;
@@ -42,6 +43,7 @@ public final class InstrumenterBuilder<REQUEST, RESPONSE> {
   ErrorCauseExtractor errorCauseExtractor = ErrorCauseExtractor.jdk();
   @Nullable StartTimeExtractor<REQUEST> startTimeExtractor = null;
   @Nullable EndTimeExtractor<RESPONSE> endTimeExtractor = null;
+  boolean writeAttributesDirectly = false;
 
   InstrumenterBuilder(
       OpenTelemetry openTelemetry,
@@ -120,6 +122,21 @@ public final class InstrumenterBuilder<REQUEST, RESPONSE> {
     return this;
   }
 
+  /**
+   * Sets whether the attributes extracted by the {@link AttributesExtractor}s should be written
+   * directly into the span instead of being collected into an intermediate {@link
+   * io.opentelemetry.api.common.Attributes} first. This avoids allocating a new attributes buffer
+   * on every request start and end, but means that {@link AttributesBuilder#build()} cannot be
+   * called from an {@link AttributesExtractor}. It has no effect if any {@link RequestMetrics} were
+   * added, since those need to be passed all the attributes at once.
+   */
+  @UnstableApi
+  public InstrumenterBuilder<REQUEST, RESPONSE> setWriteAttributesDirectly(
+      boolean writeAttributesDirectly) {
+    this.writeAttributesDirectly = writeAttributesDirectly;
+    return this;
+  }
+
   /**
    * Returns a new {@link Instrumenter} which will create client spans and inject context into
    * requests.
@@ -0,0 +1,104 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An {@link AttributesBuilder} that writes every attribute straight into a {@link SpanBuilder} or a
+ * {@link Span} instead of collecting them first. One instance is kept per thread and reused for
+ * every request, so extracting attributes this way does not allocate anything by itself. If an
+ * {@link AttributesExtractor} happens to start another request on the same thread while the pooled
+ * instance is in use, a fresh one is created for the nested request.
+ *
+ * <p>The written keys and values are also remembered in a list that is reused across requests, so
+ * that {@link #build()} can still return everything written so far.
+ */
+final class SpanAttributesWriter implements AttributesBuilder {
+
+  private static final ThreadLocal<SpanAttributesWriter> pool =
+      ThreadLocal.withInitial(SpanAttributesWriter::new);
+
+  static SpanAttributesWriter acquire(SpanBuilder spanBuilder) {
+    SpanAttributesWriter writer = acquire();
+    writer.spanBuilder = spanBuilder;
+    return writer;
+  }
+
+  static SpanAttributesWriter acquire(Span span) {
+    SpanAttributesWriter writer = acquire();
+    writer.span = span;
+    return writer;
+  }
+
+  private static SpanAttributesWriter acquire() {
+    SpanAttributesWriter writer = pool.get();
+    return writer.inUse() ? new SpanAttributesWriter() : writer;
+  }
+
+  @Nullable private SpanBuilder spanBuilder;
+  @Nullable private Span span;
+  // alternating keys and values, in the order they were written
+  private final List<Object> written = new ArrayList<>();
+
+  private SpanAttributesWriter() {}
+
+  private boolean inUse() {
+    return spanBuilder != null || span != null;
+  }
+
+  /** Detaches this writer from its span so that it can be reused by the next request. */
+  void release() {
+    spanBuilder = null;
+    span = null;
+    written.clear();
+  }
+
+  // Not used by the Instrumenter itself, but extractors may build what was written so far.
+  @Override
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public Attributes build() {
+    AttributesBuilder builder = Attributes.builder();
+    for (int i = 0; i < written.size(); i += 2) {
+      builder.put((AttributeKey) written.get(i), written.get(i + 1));
+    }
+    return builder.build();
+  }
+
+  @Override
+  public <T> AttributesBuilder put(AttributeKey<Long> key, int value) {
+    return put(key, (long) value);
+  }
+
+  @Override
+  public <T> AttributesBuilder put(AttributeKey<T> key, T value) {
+    if (key == null || value == null) {
+      return this;
+    }
+    written.add(key);
+    written.add(value);
+    if (spanBuilder != null) {
+      spanBuilder.setAttribute(key, value);
+    } else if (span != null) {
+      span.setAttribute(key, value);
+    }
+    return this;
+  }
+
+  @Override
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public AttributesBuilder putAll(Attributes attributes) {
+    attributes.forEach((key, value) -> put((AttributeKey) key, value));
+    return this;
+  }
+}
@@ -51,8 +51,13 @@ public abstract class SqlAttributesExtractor<REQUEST, RESPONSE>
     return sanitize(request).getTable();
   }
 
-  private SqlStatementInfo sanitize(REQUEST request) {
-    // sanitized statement is cached
+  /**
+   * Returns the sanitized statement of the {@code request}. By default the {@linkplain
+   * #rawStatement(Object) raw statement} is sanitized on every call (the result is cached by the
+   * sanitizer). Override this method if the request already carries a sanitized statement, e.g.
+   * one computed once when the statement was prepared.
+   */
+  protected SqlStatementInfo sanitize(REQUEST request) {
     return SqlStatementSanitizer.sanitize(rawStatement(request));
   }
 
@@ -5,15 +5,18 @@
 
 package io.opentelemetry.instrumentation.api.instrumenter.http;
 
+import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.HTTP_CLIENT_METRICS_LABELS_CACHE_HIT;
+import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.HTTP_CLIENT_METRICS_LABELS_CACHE_MISS;
+
 import com.google.auto.value.AutoValue;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.metrics.DoubleValueRecorder;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.common.Labels;
-import io.opentelemetry.api.metrics.common.LabelsBuilder;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextKey;
 import io.opentelemetry.instrumentation.api.annotations.UnstableApi;
+import io.opentelemetry.instrumentation.api.caching.Cache;
 import io.opentelemetry.instrumentation.api.instrumenter.RequestListener;
 import io.opentelemetry.instrumentation.api.instrumenter.RequestMetrics;
 import java.util.concurrent.TimeUnit;
@@ -38,6 +41,10 @@ public final class HttpClientMetrics implements RequestListener {
 
   private static final Logger logger = LoggerFactory.getLogger(HttpClientMetrics.class);
 
+  // label sets only depend on the request attributes, so they're shared by all meters
+  private static final Cache<HttpMetricsLabels, Labels> labelsCache =
+      HttpMetricsLabels.newCache();
+
   /**
    * Returns a {@link RequestMetrics} which can be used to enable recording of {@link
    * HttpClientMetrics} on an {@link
@@ -62,7 +69,13 @@ public final class HttpClientMetrics implements RequestListener {
   @Override
   public Context start(Context context, Attributes requestAttributes) {
     long startTimeNanos = System.nanoTime();
-    Labels durationLabels = durationLabels(requestAttributes);
+    Labels durationLabels =
+        HttpMetricsLabels.lookup(
+            labelsCache,
+            requestAttributes,
+            HttpMetricsLabels::durationLabels,
+            HTTP_CLIENT_METRICS_LABELS_CACHE_HIT,
+            HTTP_CLIENT_METRICS_LABELS_CACHE_MISS);
 
     return context.with(
         HTTP_CLIENT_REQUEST_METRICS_STATE,
@@ -81,34 +94,6 @@ public final class HttpClientMetrics implements RequestListener {
         (System.nanoTime() - state.startTimeNanos()) / NANOS_PER_MS, state.durationLabels());
   }
 
-  private static Labels durationLabels(Attributes attributes) {
-    LabelsBuilder labels = Labels.builder();
-    attributes.forEach(
-        (key, value) -> {
-          switch (key.getKey()) {
-            case "http.method":
-            case "http.host":
-            case "http.scheme":
-            case "http.flavor":
-            case "http.server_name":
-            case "net.host.name":
-              if (value instanceof String) {
-                labels.put(key.getKey(), (String) value);
-              }
-              break;
-            case "http.status_code":
-            case "net.host.port":
-              if (value instanceof Long) {
-                labels.put(key.getKey(), Long.toString((long) value));
-              }
-              break;
-            default:
-              // fall through
-          }
-        });
-    return labels.build();
-  }
-
   @AutoValue
   abstract static class State {
 
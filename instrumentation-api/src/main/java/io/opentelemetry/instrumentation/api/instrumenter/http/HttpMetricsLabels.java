@@ -0,0 +1,120 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.http;
+
+import com.google.auto.value.AutoValue;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.api.metrics.common.LabelsBuilder;
+import io.opentelemetry.instrumentation.api.caching.Cache;
+import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
+import java.util.function.Function;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The attribute values that HTTP metrics are labeled with. Instances are used as keys of a bounded
+ * cache so that requests with the same values reuse the same {@link Labels} instead of building
+ * them again.
+ */
+@AutoValue
+abstract class HttpMetricsLabels {
+
+  private static final SupportabilityMetrics supportability = SupportabilityMetrics.instance();
+
+  static HttpMetricsLabels extract(Attributes attributes) {
+    return new AutoValue_HttpMetricsLabels(
+        attributes.get(SemanticAttributes.HTTP_METHOD),
+        attributes.get(SemanticAttributes.HTTP_HOST),
+        attributes.get(SemanticAttributes.HTTP_SCHEME),
+        attributes.get(SemanticAttributes.HTTP_FLAVOR),
+        attributes.get(SemanticAttributes.HTTP_SERVER_NAME),
+        attributes.get(SemanticAttributes.NET_HOST_NAME),
+        attributes.get(SemanticAttributes.HTTP_STATUS_CODE),
+        attributes.get(SemanticAttributes.NET_HOST_PORT));
+  }
+
+  static <V> Cache<HttpMetricsLabels, V> newCache() {
+    return Cache.newBuilder().setMaximumSize(1000).build();
+  }
+
+  /**
+   * Returns the value cached for the labels of {@code attributes}, computing it with {@code
+   * mappingFunction} on a miss. Hits and misses are reported as supportability counters.
+   */
+  static <V> V lookup(
+      Cache<HttpMetricsLabels, V> cache,
+      Attributes attributes,
+      Function<HttpMetricsLabels, V> mappingFunction,
+      String hitCounterName,
+      String missCounterName) {
+    HttpMetricsLabels key = extract(attributes);
+    V value = cache.get(key);
+    if (value != null) {
+      supportability.incrementCounter(hitCounterName);
+      return value;
+    }
+    supportability.incrementCounter(missCounterName);
+    return cache.computeIfAbsent(key, mappingFunction);
+  }
+
+  @Nullable
+  abstract String method();
+
+  @Nullable
+  abstract String host();
+
+  @Nullable
+  abstract String scheme();
+
+  @Nullable
+  abstract String flavor();
+
+  @Nullable
+  abstract String serverName();
+
+  @Nullable
+  abstract String netHostName();
+
+  @Nullable
+  abstract Long statusCode();
+
+  @Nullable
+  abstract Long netHostPort();
+
+  Labels activeRequestLabels() {
+    LabelsBuilder labels = Labels.builder();
+    putHttpLabels(labels);
+    return labels.build();
+  }
+
+  Labels durationLabels() {
+    LabelsBuilder labels = Labels.builder();
+    putHttpLabels(labels);
+    put(labels, SemanticAttributes.NET_HOST_NAME.getKey(), netHostName());
+    if (statusCode() != null) {
+      labels.put(SemanticAttributes.HTTP_STATUS_CODE.getKey(), Long.toString(statusCode()));
+    }
+    if (netHostPort() != null) {
+      labels.put(SemanticAttributes.NET_HOST_PORT.getKey(), Long.toString(netHostPort()));
+    }
+    return labels.build();
+  }
+
+  private void putHttpLabels(LabelsBuilder labels) {
+    put(labels, SemanticAttributes.HTTP_METHOD.getKey(), method());
+    put(labels, SemanticAttributes.HTTP_HOST.getKey(), host());
+    put(labels, SemanticAttributes.HTTP_SCHEME.getKey(), scheme());
+    put(labels, SemanticAttributes.HTTP_FLAVOR.getKey(), flavor());
+    put(labels, SemanticAttributes.HTTP_SERVER_NAME.getKey(), serverName());
+  }
+
+  private static void put(LabelsBuilder labels, String key, @Nullable String value) {
+    if (value != null) {
+      labels.put(key, value);
+    }
+  }
+}
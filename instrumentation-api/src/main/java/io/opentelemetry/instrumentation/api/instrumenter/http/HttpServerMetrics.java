@@ -5,17 +5,19 @@
 
 package io.opentelemetry.instrumentation.api.instrumenter.http;
 
+import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.HTTP_SERVER_METRICS_LABELS_CACHE_HIT;
+import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.HTTP_SERVER_METRICS_LABELS_CACHE_MISS;
+
 import com.google.auto.value.AutoValue;
-import io.opentelemetry.api.common.AttributeType;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.metrics.DoubleValueRecorder;
 import io.opentelemetry.api.metrics.LongUpDownCounter;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.common.Labels;
-import io.opentelemetry.api.metrics.common.LabelsBuilder;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextKey;
 import io.opentelemetry.instrumentation.api.annotations.UnstableApi;
+import io.opentelemetry.instrumentation.api.caching.Cache;
 import io.opentelemetry.instrumentation.api.instrumenter.RequestListener;
 import io.opentelemetry.instrumentation.api.instrumenter.RequestMetrics;
 import java.util.concurrent.TimeUnit;
@@ -40,6 +42,10 @@ public final class HttpServerMetrics implements RequestListener {
 
   private static final Logger logger = LoggerFactory.getLogger(HttpServerMetrics.class);
 
+  // label sets only depend on the request attributes, so they're shared by all meters
+  private static final Cache<HttpMetricsLabels, ServerLabels> labelsCache =
+      HttpMetricsLabels.newCache();
+
   /**
    * Returns a {@link RequestMetrics} which can be used to enable recording of {@link
    * HttpServerMetrics} on an {@link
@@ -72,13 +78,18 @@ public final class HttpServerMetrics implements RequestListener {
   @Override
   public Context start(Context context, Attributes requestAttributes) {
     long startTimeNanos = System.nanoTime();
-    Labels activeRequestLabels = activeRequestLabels(requestAttributes);
-    Labels durationLabels = durationLabels(requestAttributes);
-    activeRequests.add(1, activeRequestLabels);
+    ServerLabels labels =
+        HttpMetricsLabels.lookup(
+            labelsCache,
+            requestAttributes,
+            ServerLabels::create,
+            HTTP_SERVER_METRICS_LABELS_CACHE_HIT,
+            HTTP_SERVER_METRICS_LABELS_CACHE_MISS);
+    activeRequests.add(1, labels.activeRequestLabels());
 
     return context.with(
         HTTP_SERVER_REQUEST_METRICS_STATE,
-        new AutoValue_HttpServerMetrics_State(activeRequestLabels, durationLabels, startTimeNanos));
+        new AutoValue_HttpServerMetrics_State(labels, startTimeNanos));
   }
 
   @Override
@@ -89,67 +100,29 @@ public final class HttpServerMetrics implements RequestListener {
           "No state present when ending context {}. Cannot reset HTTP request metrics.", context);
       return;
     }
-    activeRequests.add(-1, state.activeRequestLabels());
+    activeRequests.add(-1, state.labels().activeRequestLabels());
     duration.record(
-        (System.nanoTime() - state.startTimeNanos()) / NANOS_PER_MS, state.durationLabels());
+        (System.nanoTime() - state.startTimeNanos()) / NANOS_PER_MS,
+        state.labels().durationLabels());
   }
 
-  private static Labels activeRequestLabels(Attributes attributes) {
-    LabelsBuilder labels = Labels.builder();
-    attributes.forEach(
-        (key, value) -> {
-          if (key.getType() != AttributeType.STRING) {
-            return;
-          }
-          switch (key.getKey()) {
-            case "http.method":
-            case "http.host":
-            case "http.scheme":
-            case "http.flavor":
-            case "http.server_name":
-              labels.put(key.getKey(), (String) value);
-              break;
-            default:
-              // fall through
-          }
-        });
-    return labels.build();
-  }
+  @AutoValue
+  abstract static class ServerLabels {
+
+    static ServerLabels create(HttpMetricsLabels labels) {
+      return new AutoValue_HttpServerMetrics_ServerLabels(
+          labels.activeRequestLabels(), labels.durationLabels());
+    }
 
-  private static Labels durationLabels(Attributes attributes) {
-    LabelsBuilder labels = Labels.builder();
-    attributes.forEach(
-        (key, value) -> {
-          switch (key.getKey()) {
-            case "http.method":
-            case "http.host":
-            case "http.scheme":
-            case "http.flavor":
-            case "http.server_name":
-            case "net.host.name":
-              if (value instanceof String) {
-                labels.put(key.getKey(), (String) value);
-              }
-              break;
-            case "http.status_code":
-            case "net.host.port":
-              if (value instanceof Long) {
-                labels.put(key.getKey(), Long.toString((long) value));
-              }
-              break;
-            default:
-              // fall through
-          }
-        });
-    return labels.build();
+    abstract Labels activeRequestLabels();
+
+    abstract Labels durationLabels();
   }
 
   @AutoValue
   abstract static class State {
 
-    abstract Labels activeRequestLabels();
-
-    abstract Labels durationLabels();
+    abstract ServerLabels labels();
 
     abstract long startTimeNanos();
   }
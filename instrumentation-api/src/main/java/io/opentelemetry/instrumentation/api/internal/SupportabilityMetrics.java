@@ -37,6 +37,11 @@ public final class SupportabilityMetrics {
     this.reporter = reporter;
   }
 
+  /** Returns whether the counters are recorded and reported, which is the case in debug mode. */
+  public boolean isEnabled() {
+    return agentDebugEnabled;
+  }
+
   public void recordSuppressedSpan(SpanKind kind, String instrumentationName) {
     if (!agentDebugEnabled) {
       return;
@@ -55,6 +60,14 @@ public final class SupportabilityMetrics {
     counters.computeIfAbsent(counterName, k -> new LongAdder()).increment();
   }
 
+  public void addToCounter(String counterName, long delta) {
+    if (!agentDebugEnabled) {
+      return;
+    }
+
+    counters.computeIfAbsent(counterName, k -> new LongAdder()).add(delta);
+  }
+
   // visible for testing
   void report() {
     suppressionCounters.forEach(
@@ -94,6 +107,17 @@ public final class SupportabilityMetrics {
   public static final class CounterNames {
     public static final String SQL_STATEMENT_SANITIZER_CACHE_MISS =
         "SqlStatementSanitizer cache miss";
+    public static final String HTTP_SERVER_METRICS_LABELS_CACHE_HIT =
+        "HttpServerMetrics labels cache hit";
+    public static final String HTTP_SERVER_METRICS_LABELS_CACHE_MISS =
+        "HttpServerMetrics labels cache miss";
+    public static final String HTTP_CLIENT_METRICS_LABELS_CACHE_HIT =
+        "HttpClientMetrics labels cache hit";
+    public static final String HTTP_CLIENT_METRICS_LABELS_CACHE_MISS =
+        "HttpClientMetrics labels cache miss";
+    public static final String TYPE_RESOLUTION_CACHE_HIT = "Type resolution cache hit";
+    public static final String TYPE_RESOLUTION_CACHE_MISS = "Type resolution cache miss";
+    public static final String TYPE_RESOLUTION_CACHE_EVICTION = "Type resolution cache eviction";
 
     private CounterNames() {}
   }
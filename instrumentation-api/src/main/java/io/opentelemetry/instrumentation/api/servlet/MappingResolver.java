@@ -6,43 +6,58 @@
 package io.opentelemetry.instrumentation.api.servlet;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Helper class for finding a mapping that matches current request from a collection of mappings.
+ *
+ * <p>Exact and prefix mappings are kept in a trie that is walked forwards over the request path,
+ * extension mappings in a trie of reversed suffixes that is walked backwards from its end. The
+ * request path is never concatenated, both tries read the characters of the servlet path and the
+ * path info in place. When several wildcard mappings match, the one that was registered first wins.
  */
 public final class MappingResolver {
-  private final Set<String> exactMatches;
-  private final List<WildcardMatcher> wildcardMatchers;
+  private static final int NO_MATCH = Integer.MAX_VALUE;
+
+  private final Node pathTrie;
+  private final Node suffixTrie;
+  private final String[] wildcardMappings;
   private final boolean hasDefault;
 
   private MappingResolver(
-      Set<String> exactMatches, List<WildcardMatcher> wildcardMatchers, boolean hasDefault) {
-    this.exactMatches = exactMatches.isEmpty() ? Collections.emptySet() : exactMatches;
-    this.wildcardMatchers = wildcardMatchers.isEmpty() ? Collections.emptyList() : wildcardMatchers;
+      Node pathTrie, Node suffixTrie, String[] wildcardMappings, boolean hasDefault) {
+    this.pathTrie = pathTrie;
+    this.suffixTrie = suffixTrie;
+    this.wildcardMappings = wildcardMappings;
     this.hasDefault = hasDefault;
   }
 
   public static MappingResolver build(Collection<String> mappings) {
-    List<WildcardMatcher> wildcardMatchers = new ArrayList<>();
-    Set<String> exactMatches = new HashSet<>();
+    Node pathTrie = new Node();
+    Node suffixTrie = new Node();
+    List<String> wildcardMappings = new ArrayList<>();
     boolean hasDefault = false;
     for (String mapping : mappings) {
       if (mapping.equals("")) {
-        exactMatches.add("/");
+        pathTrie.add("/", false).exactMapping = "/";
       } else if (mapping.equals("/") || mapping.equals("/*")) {
         hasDefault = true;
       } else if (mapping.startsWith("*.") && mapping.length() > 2) {
-        wildcardMatchers.add(new SuffixMatcher("/" + mapping, mapping.substring(1)));
+        Node node = suffixTrie.add(mapping.substring(1), true);
+        if (node.wildcardIndex == NO_MATCH) {
+          node.wildcardIndex = wildcardMappings.size();
+        }
+        wildcardMappings.add("/" + mapping);
       } else if (mapping.endsWith("/*")) {
-        wildcardMatchers.add(
-            new PrefixMatcher(mapping, mapping.substring(0, mapping.length() - 2)));
+        Node node = pathTrie.add(mapping.substring(0, mapping.length() - 2), false);
+        if (node.wildcardIndex == NO_MATCH) {
+          node.wildcardIndex = wildcardMappings.size();
+        }
+        wildcardMappings.add(mapping);
       } else {
-        exactMatches.add(mapping);
+        pathTrie.add(mapping, false).exactMapping = mapping;
       }
     }
 
@@ -51,7 +66,8 @@ public final class MappingResolver {
       hasDefault = true;
     }
 
-    return new MappingResolver(exactMatches, wildcardMatchers, hasDefault);
+    return new MappingResolver(
+        pathTrie, suffixTrie, wildcardMappings.toArray(new String[0]), hasDefault);
   }
 
   /** Find mapping for requested path. */
@@ -60,81 +76,108 @@ public final class MappingResolver {
       return null;
     }
 
-    // get full path inside context
-    String path = servletPath;
-    if (pathInfo != null) {
-      path += pathInfo;
-    }
+    // length of the full path inside context, servletPath + pathInfo
+    int length = servletPath.length() + (pathInfo != null ? pathInfo.length() : 0);
     // trim trailing /
-    if (path.endsWith("/") && !path.equals("/")) {
-      path = path.substring(0, path.length() - 1);
+    if (length > 1 && charAt(servletPath, pathInfo, length - 1) == '/') {
+      length--;
     }
 
-    if (exactMatches.contains(path)) {
-      return path;
-    }
-
-    for (WildcardMatcher matcher : wildcardMatchers) {
-      if (matcher.match(path)) {
-        String mapping = matcher.getMapping();
-        // for jsp return servlet path
-        if ("/*.jsp".equals(mapping) || "/*.jspx".equals(mapping)) {
-          return servletPath;
+    // walk the exact and prefix mappings, a prefix mapping matches the path when it is followed by
+    // a / or the end of the path
+    int wildcardIndex = NO_MATCH;
+    Node node = pathTrie;
+    for (int i = 0; node != null; i++) {
+      if (i == length) {
+        if (node.exactMapping != null) {
+          return node.exactMapping;
         }
-        return mapping;
+        wildcardIndex = Math.min(wildcardIndex, node.wildcardIndex);
+        break;
+      }
+      char c = charAt(servletPath, pathInfo, i);
+      if (c == '/') {
+        wildcardIndex = Math.min(wildcardIndex, node.wildcardIndex);
       }
+      node = node.next(c);
     }
 
-    if (hasDefault) {
-      return path.equals("/") ? "/" : "/*";
+    // walk the extension mappings backwards from the end of the path
+    node = suffixTrie;
+    for (int i = length - 1; i >= 0 && node != null; i--) {
+      node = node.next(charAt(servletPath, pathInfo, i));
+      if (node != null) {
+        wildcardIndex = Math.min(wildcardIndex, node.wildcardIndex);
+      }
     }
 
-    return null;
-  }
-
-  private interface WildcardMatcher {
-    boolean match(String path);
-
-    String getMapping();
-  }
-
-  private static class PrefixMatcher implements WildcardMatcher {
-    private final String mapping;
-    private final String prefix;
-
-    private PrefixMatcher(String mapping, String prefix) {
-      this.mapping = mapping;
-      this.prefix = prefix;
+    if (wildcardIndex != NO_MATCH) {
+      String mapping = wildcardMappings[wildcardIndex];
+      // for jsp return servlet path
+      if ("/*.jsp".equals(mapping) || "/*.jspx".equals(mapping)) {
+        return servletPath;
+      }
+      return mapping;
     }
 
-    @Override
-    public boolean match(String path) {
-      return path.equals(prefix) || path.startsWith(prefix + "/");
+    if (hasDefault) {
+      return length == 1 && charAt(servletPath, pathInfo, 0) == '/' ? "/" : "/*";
     }
 
-    @Override
-    public String getMapping() {
-      return mapping;
-    }
+    return null;
   }
 
-  private static class SuffixMatcher implements WildcardMatcher {
-    private final String mapping;
-    private final String suffix;
+  private static char charAt(String servletPath, String pathInfo, int index) {
+    int servletPathLength = servletPath.length();
+    return index < servletPathLength
+        ? servletPath.charAt(index)
+        : pathInfo.charAt(index - servletPathLength);
+  }
 
-    private SuffixMatcher(String mapping, String suffix) {
-      this.mapping = mapping;
-      this.suffix = suffix;
+  private static final class Node {
+    private char[] chars = new char[0];
+    private Node[] children = new Node[0];
+    // the exact mapping ending at this node
+    private String exactMapping;
+    // registration order of the wildcard mapping ending at this node
+    private int wildcardIndex = NO_MATCH;
+
+    Node next(char c) {
+      int index = Arrays.binarySearch(chars, c);
+      return index < 0 ? null : children[index];
     }
 
-    @Override
-    public boolean match(String path) {
-      return path.endsWith(suffix);
+    Node add(String str, boolean reversed) {
+      Node node = this;
+      for (int i = 0; i < str.length(); i++) {
+        node = node.getOrAddChild(str.charAt(reversed ? str.length() - 1 - i : i));
+      }
+      return node;
     }
 
-    @Override
-    public String getMapping() {
-      return mapping;
+    private Node getOrAddChild(char c) {
+      int index = Arrays.binarySearch(chars, c);
+      if (index >= 0) {
+        return children[index];
+      }
+      int insertionPoint = -index - 1;
+      char[] newChars = new char[chars.length + 1];
+      Node[] newChildren = new Node[children.length + 1];
+      System.arraycopy(chars, 0, newChars, 0, insertionPoint);
+      System.arraycopy(children, 0, newChildren, 0, insertionPoint);
+      newChars[insertionPoint] = c;
+      newChildren[insertionPoint] = new Node();
+      System.arraycopy(
+          chars, insertionPoint, newChars, insertionPoint + 1, chars.length - insertionPoint);
+      System.arraycopy(
+          children,
+          insertionPoint,
+          newChildren,
+          insertionPoint + 1,
+          children.length - insertionPoint);
+      chars = newChars;
+      children = newChildren;
+      return newChildren[insertionPoint];
     }
   }
 }
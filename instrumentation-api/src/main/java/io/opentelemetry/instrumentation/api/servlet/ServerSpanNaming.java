@@ -8,7 +8,9 @@ package io.opentelemetry.instrumentation.api.servlet;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.instrumentation.api.config.Config;
 import io.opentelemetry.instrumentation.api.tracer.ServerSpan;
+import java.util.Arrays;
 import java.util.function.Supplier;
 
 /** Helper container for tracking whether instrumentation should update server span name or not. */
@@ -17,23 +19,49 @@ public final class ServerSpanNaming {
   private static final ContextKey<ServerSpanNaming> CONTEXT_KEY =
       ContextKey.named("opentelemetry-servlet-span-naming-key");
 
+  // When enabled, names from sources other than servlet filters are not computed when they are
+  // offered, only the one that wins is computed when the server span ends.
+  private static final boolean DEFERRED_NAMING =
+      Config.get()
+          .getBooleanProperty(
+              "otel.instrumentation.common.experimental.deferred-server-span-naming.enabled",
+              false);
+
+  /**
+   * Returns whether deferred server span naming is enabled. Callers of {@link
+   * #applyDeferredName(Context)} check this first, so that spans don't pay for the context lookup
+   * when it is disabled.
+   */
+  public static boolean isDeferredNamingEnabled() {
+    return DEFERRED_NAMING;
+  }
+
   public static Context init(Context context, Source initialSource) {
+    return init(context, initialSource, DEFERRED_NAMING);
+  }
+
+  // Visible for testing
+  static Context init(Context context, Source initialSource, boolean deferredNaming) {
     ServerSpanNaming serverSpanNaming = context.get(CONTEXT_KEY);
     if (serverSpanNaming != null) {
       // TODO (trask) does this ever happen?
       serverSpanNaming.updatedBySource = initialSource;
       return context;
     }
-    return context.with(CONTEXT_KEY, new ServerSpanNaming(initialSource));
+    return context.with(CONTEXT_KEY, new ServerSpanNaming(initialSource, deferredNaming));
   }
 
   private volatile Source updatedBySource;
   // Length of the currently set name. This is used when setting name from a servlet filter
   // to pick the most descriptive (longest) name.
   private volatile int nameLength;
+  // Names offered while deferred naming is enabled, per source order, in the order they were
+  // offered. Null when deferred naming is disabled.
+  private final DeferredName[] deferredNames;
 
-  private ServerSpanNaming(Source initialSource) {
+  private ServerSpanNaming(Source initialSource, boolean deferredNaming) {
     this.updatedBySource = initialSource;
+    this.deferredNames = deferredNaming ? new DeferredName[Source.MAX_ORDER + 1] : null;
   }
 
   /**
@@ -46,6 +74,11 @@ public final class ServerSpanNaming {
    * <p>If there is a server span in the context, and {@link #init(Context, Source)} has NOT been
    * called to populate a {@code ServerSpanName} into the context, then this method will update the
    * server span name using the provided {@link Supplier} if the value returned from it is non-null.
+   *
+   * <p>When deferred server span naming is enabled, the {@link Supplier} of any {@link Source}
+   * other than {@link Source#FILTER} is only recorded here, and called by {@link
+   * #applyDeferredName(Context)} when the server span ends. The resulting name is the same one
+   * that updating the name right away would have produced.
    */
   public static void updateServerSpanName(
       Context context, Source source, Supplier<String> serverSpanName) {
@@ -65,6 +98,12 @@ public final class ServerSpanNaming {
     // the new name is better and if so use it instead
     boolean onlyIfBetterName =
         !source.useFirst && source.order == serverSpanNaming.updatedBySource.order;
+    if (serverSpanNaming.deferredNames != null && source.useFirst) {
+      if (source.order > serverSpanNaming.updatedBySource.order) {
+        serverSpanNaming.defer(source, serverSpanName);
+      }
+      return;
+    }
     if (source.order > serverSpanNaming.updatedBySource.order || onlyIfBetterName) {
       String name = serverSpanName.get();
       if (name != null
@@ -81,6 +120,67 @@ public final class ServerSpanNaming {
     return name.length() > nameLength;
   }
 
+  private synchronized void defer(Source source, Supplier<String> serverSpanName) {
+    DeferredName deferredName = new DeferredName(serverSpanName);
+    DeferredName last = deferredNames[source.order];
+    if (last == null) {
+      deferredNames[source.order] = deferredName;
+      return;
+    }
+    while (last.next != null) {
+      last = last.next;
+    }
+    last.next = deferredName;
+  }
+
+  /**
+   * Updates the server span name with the name recorded by {@link #updateServerSpanName(Context,
+   * Source, Supplier)} while deferred server span naming is enabled. Must be called right before
+   * the span stored in the passed {@code context} is ended, does nothing unless that span is the
+   * server span.
+   */
+  public static void applyDeferredName(Context context) {
+    ServerSpanNaming serverSpanNaming = context.get(CONTEXT_KEY);
+    if (serverSpanNaming == null || serverSpanNaming.deferredNames == null) {
+      return;
+    }
+    Span serverSpan = ServerSpan.fromContextOrNull(context);
+    if (serverSpan == null || serverSpan != Span.fromContext(context)) {
+      return;
+    }
+    String name = serverSpanNaming.resolveDeferredName();
+    if (name != null) {
+      serverSpan.updateName(name);
+    }
+  }
+
+  // the first non-empty name offered by the source with the highest order wins, which is the name
+  // that the last update would have set if names were computed when they were offered
+  private synchronized String resolveDeferredName() {
+    for (int order = deferredNames.length - 1; order >= 0; order--) {
+      for (DeferredName deferredName = deferredNames[order];
+          deferredName != null;
+          deferredName = deferredName.next) {
+        String name = deferredName.supplier.get();
+        if (name != null && !name.isEmpty()) {
+          Arrays.fill(deferredNames, null);
+          return name;
+        }
+      }
+    }
+    Arrays.fill(deferredNames, null);
+    return null;
+  }
+
+  private static final class DeferredName {
+    final Supplier<String> supplier;
+    DeferredName next;
+
+    DeferredName(Supplier<String> supplier) {
+      this.supplier = supplier;
+    }
+  }
+
   // TODO (trask) migrate the one usage (ServletHttpServerTracer) to ServerSpanNaming.init() once we
   // migrate to new Instrumenters (see
   // https://github.com/open-telemetry/opentelemetry-java-instrumentation/pull/2814#discussion_r617351334
@@ -102,6 +202,8 @@ public final class ServerSpanNaming {
     SERVLET(3),
     CONTROLLER(4);
 
+    private static final int MAX_ORDER = 4;
+
     private final int order;
     private final boolean useFirst;
 
@@ -20,6 +20,7 @@ import io.opentelemetry.context.propagation.TextMapSetter;
 import io.opentelemetry.instrumentation.api.InstrumentationVersion;
 import io.opentelemetry.instrumentation.api.internal.ContextPropagationDebug;
 import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
+import io.opentelemetry.instrumentation.api.servlet.ServerSpanNaming;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.concurrent.CompletionException;
@@ -190,6 +191,9 @@ public abstract class BaseTracer {
    * @param endTimeNanos Explicit nanoseconds timestamp from the epoch.
    */
   public void end(Context context, long endTimeNanos) {
+    if (ServerSpanNaming.isDeferredNamingEnabled()) {
+      ServerSpanNaming.applyDeferredName(context);
+    }
     Span span = Span.fromContext(context);
     if (endTimeNanos > 0) {
       span.end(endTimeNanos, TimeUnit.NANOSECONDS);
@@ -151,6 +151,14 @@ class SqlStatementSanitizerTest extends Specification {
     SqlStatementSanitizer.sanitize(query) == SqlStatementInfo.create(sanitizedQuery, "SELECT", "table")
   }
 
+  def "lexer state doesn't leak into the next statement"() {
+    expect:
+    // truncated in the middle of a comment and a parenthesis
+    AutoSqlSanitizer.sanitize("SELECT (/* " + "x" * AutoSqlSanitizer.LIMIT).getOperation() == "SELECT"
+    AutoSqlSanitizer.sanitize("DELETE FROM table WHERE id = 1") == SqlStatementInfo.create("DELETE FROM table WHERE id = ?", "DELETE", "table")
+    AutoSqlSanitizer.sanitize("SELECT x FROM y") == SqlStatementInfo.create("SELECT x FROM y", "SELECT", "y")
+  }
+
   def "lots and lots of ticks don't cause stack overflow or long runtimes"() {
     setup:
     String s = "'"
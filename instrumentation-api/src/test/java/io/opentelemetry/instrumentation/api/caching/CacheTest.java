@@ -8,6 +8,15 @@ package io.opentelemetry.instrumentation.api.caching;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
@@ -58,6 +67,32 @@ class CacheTest {
       assertThat(caffeineCache.keySet()).hasSize(1);
       assertThat(cache.computeIfAbsent("cat", unused -> "purr")).isEqualTo("purr");
     }
+
+    @Test
+    void resizedWithEvictionListener() {
+      AtomicInteger evictions = new AtomicInteger();
+      Cache<String, String> cache =
+          Cache.newBuilder()
+              .setMaximumSize(2)
+              .setEvictionListener(evictions::incrementAndGet)
+              .build();
+
+      CaffeineCache<?, ?> caffeineCache = ((CaffeineCache<?, ?>) cache);
+      cache.put("cat", "meow");
+      cache.put("dog", "bark");
+      caffeineCache.cleanup();
+      assertThat(caffeineCache.keySet()).hasSize(2);
+      assertThat(evictions.get()).isEqualTo(0);
+
+      cache.setMaximumSize(1);
+      caffeineCache.cleanup();
+      assertThat(caffeineCache.keySet()).hasSize(1);
+      assertThat(evictions.get()).isEqualTo(1);
+
+      cache.remove(caffeineCache.keySet().iterator().next().toString());
+      caffeineCache.cleanup();
+      assertThat(evictions.get()).isEqualTo(1);
+    }
   }
 
   @Nested
@@ -97,6 +132,90 @@ class CacheTest {
       await().untilAsserted(() -> assertThat(weakLockFreeCache.size()).isEqualTo(0));
     }
 
+    @Test
+    void unboundedConcurrentComputeIfAbsent() throws Exception {
+      Cache<Object, Object> cache = Cache.newBuilder().setWeakKeys().build();
+      Object key = new Object();
+      AtomicInteger computations = new AtomicInteger();
+      ExecutorService executor = Executors.newFixedThreadPool(8);
+      try {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+          results.add(
+              executor.submit(
+                  () -> {
+                    start.await();
+                    return cache.computeIfAbsent(
+                        key,
+                        unused -> {
+                          computations.incrementAndGet();
+                          return new Object();
+                        });
+                  }));
+        }
+        start.countDown();
+
+        Object value = results.get(0).get();
+        for (Future<Object> result : results) {
+          assertThat(result.get()).isSameAs(value);
+        }
+        assertThat(computations.get()).isEqualTo(1);
+      } finally {
+        executor.shutdown();
+      }
+    }
+
+    @Test
+    void unboundedCrossReferencingComputeIfAbsent() throws Exception {
+      Cache<Object, Object> cache = Cache.newBuilder().setWeakKeys().build();
+      Object first = new Object();
+      Object second = new Object();
+      // both threads are inside their mapping function before either computes the other's key
+      CyclicBarrier barrier = new CyclicBarrier(2);
+      ExecutorService executor = Executors.newFixedThreadPool(2);
+      try {
+        Future<Object> firstResult =
+            executor.submit(
+                () ->
+                    cache.computeIfAbsent(
+                        first,
+                        unused -> {
+                          awaitBarrier(barrier);
+                          return cache.computeIfAbsent(second, unused2 -> "second");
+                        }));
+        Future<Object> secondResult =
+            executor.submit(
+                () ->
+                    cache.computeIfAbsent(
+                        second,
+                        unused -> {
+                          awaitBarrier(barrier);
+                          return cache.computeIfAbsent(first, unused2 -> "first");
+                        }));
+
+        assertThat(firstResult.get(10, TimeUnit.SECONDS)).isNotNull();
+        assertThat(secondResult.get(10, TimeUnit.SECONDS)).isNotNull();
+        assertThat(cache.get(first)).isNotNull();
+        assertThat(cache.get(second)).isNotNull();
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+
+    @Test
+    void unboundedReentrantComputeIfAbsent() {
+      Cache<String, String> cache = Cache.newBuilder().setWeakKeys().build();
+
+      String value =
+          cache.computeIfAbsent(
+              "outer", unused -> cache.computeIfAbsent("inner", unused2 -> "inner") + "-outer");
+
+      assertThat(value).isEqualTo("inner-outer");
+      assertThat(cache.get("inner")).isEqualTo("inner");
+      assertThat(cache.get("outer")).isEqualTo("inner-outer");
+    }
+
     @Test
     void bounded() {
       Cache<String, String> cache = Cache.newBuilder().setWeakKeys().setMaximumSize(1).build();
@@ -132,4 +251,12 @@ class CacheTest {
               });
     }
   }
+
+  private static void awaitBarrier(CyclicBarrier barrier) {
+    try {
+      barrier.await(10, TimeUnit.SECONDS);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
 }
@@ -9,6 +9,7 @@ import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.asser
 import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.attributeEntry;
 import static org.assertj.core.api.Assertions.entry;
 
+import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanContext;
@@ -29,6 +30,7 @@ import java.time.Instant;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
@@ -163,6 +165,85 @@ class InstrumenterTest {
                                             attributeEntry("resp3", "resp3_value")))));
   }
 
+  @Test
+  void server_writeAttributesDirectly() {
+    Instrumenter<Map<String, String>, Map<String, String>> instrumenter =
+        Instrumenter.<Map<String, String>, Map<String, String>>newBuilder(
+                otelTesting.getOpenTelemetry(), "test", unused -> "span")
+            .addAttributesExtractors(new AttributesExtractor1(), new AttributesExtractor2())
+            .setWriteAttributesDirectly(true)
+            .newServerInstrumenter(new MapGetter());
+
+    Context context = instrumenter.start(Context.root(), REQUEST);
+    SpanContext spanContext = Span.fromContext(context).getSpanContext();
+
+    assertThat(spanContext.isValid()).isTrue();
+
+    instrumenter.end(context, REQUEST, RESPONSE, null);
+
+    otelTesting
+        .assertTraces()
+        .hasTracesSatisfyingExactly(
+            trace ->
+                trace.hasSpansSatisfyingExactly(
+                    span ->
+                        span.hasName("span")
+                            .hasKind(SpanKind.SERVER)
+                            .hasSpanId(spanContext.getSpanId())
+                            .hasAttributesSatisfying(
+                                attributes ->
+                                    assertThat(attributes)
+                                        .containsOnly(
+                                            attributeEntry("req1", "req1_value"),
+                                            attributeEntry("req2", "req2_2_value"),
+                                            attributeEntry("req3", "req3_value"),
+                                            attributeEntry("resp1", "resp1_value"),
+                                            attributeEntry("resp2", "resp2_2_value"),
+                                            attributeEntry("resp3", "resp3_value")))));
+  }
+
+  @Test
+  void server_writeAttributesDirectly_build() {
+    AtomicReference<Attributes> startAttributes = new AtomicReference<>();
+    AtomicReference<Attributes> endAttributes = new AtomicReference<>();
+    AttributesExtractor<Map<String, String>, Map<String, String>> buildingExtractor =
+        new AttributesExtractor<Map<String, String>, Map<String, String>>() {
+          @Override
+          protected void onStart(AttributesBuilder attributes, Map<String, String> request) {
+            startAttributes.set(attributes.build());
+          }
+
+          @Override
+          protected void onEnd(
+              AttributesBuilder attributes,
+              Map<String, String> request,
+              Map<String, String> response) {
+            endAttributes.set(attributes.build());
+          }
+        };
+    Instrumenter<Map<String, String>, Map<String, String>> instrumenter =
+        Instrumenter.<Map<String, String>, Map<String, String>>newBuilder(
+                otelTesting.getOpenTelemetry(), "test", unused -> "span")
+            .addAttributesExtractors(
+                new AttributesExtractor1(), new AttributesExtractor2(), buildingExtractor)
+            .setWriteAttributesDirectly(true)
+            .newServerInstrumenter(new MapGetter());
+
+    Context context = instrumenter.start(Context.root(), REQUEST);
+    instrumenter.end(context, REQUEST, RESPONSE, null);
+
+    assertThat(startAttributes.get())
+        .containsOnly(
+            attributeEntry("req1", "req1_value"),
+            attributeEntry("req2", "req2_2_value"),
+            attributeEntry("req3", "req3_value"));
+    assertThat(endAttributes.get())
+        .containsOnly(
+            attributeEntry("resp1", "resp1_value"),
+            attributeEntry("resp2", "resp2_2_value"),
+            attributeEntry("resp3", "resp3_value"));
+  }
+
   @Test
   void server_error() {
     Instrumenter<Map<String, String>, Map<String, String>> instrumenter =
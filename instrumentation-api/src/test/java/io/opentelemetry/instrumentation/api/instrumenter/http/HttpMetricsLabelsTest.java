@@ -0,0 +1,75 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.instrumentation.api.caching.Cache;
+import org.junit.jupiter.api.Test;
+
+class HttpMetricsLabelsTest {
+
+  @Test
+  void extractsOnlyLabeledAttributes() {
+    Attributes attributes =
+        Attributes.builder()
+            .put("http.method", "GET")
+            .put("http.host", "host")
+            .put("http.scheme", "https")
+            .put("http.status_code", 200)
+            .put("net.host.name", "localhost")
+            .put("net.host.port", 1234)
+            .put("http.url", "https://host/path?q=1")
+            .build();
+
+    HttpMetricsLabels labels = HttpMetricsLabels.extract(attributes);
+
+    assertThat(labels.activeRequestLabels())
+        .isEqualTo(Labels.of("http.host", "host", "http.method", "GET", "http.scheme", "https"));
+    assertThat(labels.durationLabels())
+        .isEqualTo(
+            Labels.builder()
+                .put("http.host", "host")
+                .put("http.method", "GET")
+                .put("http.scheme", "https")
+                .put("http.status_code", "200")
+                .put("net.host.name", "localhost")
+                .put("net.host.port", "1234")
+                .build());
+  }
+
+  @Test
+  void reusesLabelsForSameValues() {
+    Cache<HttpMetricsLabels, Labels> cache = HttpMetricsLabels.newCache();
+
+    Labels first =
+        HttpMetricsLabels.lookup(
+            cache,
+            Attributes.builder().put("http.method", "GET").put("http.url", "/a").build(),
+            HttpMetricsLabels::durationLabels,
+            "hit",
+            "miss");
+    Labels second =
+        HttpMetricsLabels.lookup(
+            cache,
+            Attributes.builder().put("http.method", "GET").put("http.url", "/b").build(),
+            HttpMetricsLabels::durationLabels,
+            "hit",
+            "miss");
+    Labels third =
+        HttpMetricsLabels.lookup(
+            cache,
+            Attributes.builder().put("http.method", "POST").build(),
+            HttpMetricsLabels::durationLabels,
+            "hit",
+            "miss");
+
+    assertThat(second).isSameAs(first);
+    assertThat(third).isNotEqualTo(first);
+  }
+}
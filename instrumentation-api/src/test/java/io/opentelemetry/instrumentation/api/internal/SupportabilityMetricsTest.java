@@ -47,6 +47,8 @@ class SupportabilityMetricsTest {
     metrics.incrementCounter("some counter");
     metrics.incrementCounter("another counter");
     metrics.incrementCounter("some counter");
+    metrics.addToCounter("summed counter", 40);
+    metrics.addToCounter("summed counter", 2);
 
     metrics.report();
 
@@ -56,7 +58,8 @@ class SupportabilityMetricsTest {
             "Suppressed Spans by 'favoriteInstrumentation' (SERVER) : 1",
             "Suppressed Spans by 'otherInstrumentation' (INTERNAL) : 1",
             "Counter 'some counter' : 2",
-            "Counter 'another counter' : 1");
+            "Counter 'another counter' : 1",
+            "Counter 'summed counter' : 42");
   }
 
   @Test
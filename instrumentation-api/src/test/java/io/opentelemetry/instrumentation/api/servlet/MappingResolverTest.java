@@ -0,0 +1,73 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.servlet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+class MappingResolverTest {
+
+  @Test
+  void exactMatch() {
+    MappingResolver resolver = MappingResolver.build(Arrays.asList("/foo", "/foo/bar", ""));
+
+    assertThat(resolver.resolve("/foo", null)).isEqualTo("/foo");
+    assertThat(resolver.resolve("/foo", "/bar")).isEqualTo("/foo/bar");
+    assertThat(resolver.resolve("/foo/bar/", null)).isEqualTo("/foo/bar");
+    assertThat(resolver.resolve("", "/")).isEqualTo("/");
+    assertThat(resolver.resolve("/fo", null)).isNull();
+    assertThat(resolver.resolve("/foo/ba", null)).isNull();
+  }
+
+  @Test
+  void prefixMatch() {
+    MappingResolver resolver = MappingResolver.build(Arrays.asList("/api/*", "/api/v2/*"));
+
+    assertThat(resolver.resolve("/api", null)).isEqualTo("/api/*");
+    assertThat(resolver.resolve("/api", "/")).isEqualTo("/api/*");
+    assertThat(resolver.resolve("/api", "/users/1")).isEqualTo("/api/*");
+    assertThat(resolver.resolve("/api/v2", "/users")).isEqualTo("/api/*");
+    assertThat(resolver.resolve("/apis", null)).isNull();
+    assertThat(resolver.resolve("/ap", null)).isNull();
+  }
+
+  @Test
+  void firstRegisteredWildcardWins() {
+    MappingResolver resolver =
+        MappingResolver.build(Arrays.asList("*.do", "/api/v2/*", "/api/*", "*.json"));
+
+    assertThat(resolver.resolve("/api/v2/users.do", null)).isEqualTo("/*.do");
+    assertThat(resolver.resolve("/api/v2", "/users.json")).isEqualTo("/api/v2/*");
+    assertThat(resolver.resolve("/api", "/users.json")).isEqualTo("/api/*");
+    assertThat(resolver.resolve("/users.json", null)).isEqualTo("/*.json");
+  }
+
+  @Test
+  void suffixMatch() {
+    MappingResolver resolver = MappingResolver.build(Arrays.asList("*.do", "*.tar.gz", "*.jsp"));
+
+    assertThat(resolver.resolve("/login.do", null)).isEqualTo("/*.do");
+    assertThat(resolver.resolve("/files", "/archive.tar.gz")).isEqualTo("/*.tar.gz");
+    assertThat(resolver.resolve("/index.jsp", null)).isEqualTo("/index.jsp");
+    assertThat(resolver.resolve("/login.dox", null)).isNull();
+    assertThat(resolver.resolve("/login.gz", null)).isNull();
+  }
+
+  @Test
+  void defaultMapping() {
+    MappingResolver resolver = MappingResolver.build(Arrays.asList("/", "/foo"));
+
+    assertThat(resolver.resolve("/", null)).isEqualTo("/");
+    assertThat(resolver.resolve("", "/")).isEqualTo("/");
+    assertThat(resolver.resolve("/bar", null)).isEqualTo("/*");
+    assertThat(resolver.resolve(null, null)).isNull();
+    assertThat(MappingResolver.build(Collections.emptyList()).resolve("/bar", null))
+        .isEqualTo("/*");
+  }
+}
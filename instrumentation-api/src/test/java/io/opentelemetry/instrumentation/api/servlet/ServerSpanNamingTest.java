@@ -0,0 +1,127 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.servlet;
+
+import static io.opentelemetry.instrumentation.api.servlet.ServerSpanNaming.Source.CONTAINER;
+import static io.opentelemetry.instrumentation.api.servlet.ServerSpanNaming.Source.CONTROLLER;
+import static io.opentelemetry.instrumentation.api.servlet.ServerSpanNaming.Source.FILTER;
+import static io.opentelemetry.instrumentation.api.servlet.ServerSpanNaming.Source.SERVLET;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.tracer.ServerSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+class ServerSpanNamingTest {
+
+  private final SdkTracerProvider tracerProvider = SdkTracerProvider.builder().build();
+  private final List<String> computedNames = new ArrayList<>();
+
+  @Test
+  void servletFilters() {
+    assertSameName(
+        context -> {
+          ServerSpanNaming.updateServerSpanName(context, FILTER, name("/a"));
+          ServerSpanNaming.updateServerSpanName(context, FILTER, name("/a/longer"));
+          ServerSpanNaming.updateServerSpanName(context, FILTER, name("/b"));
+        },
+        "/a/longer");
+  }
+
+  @Test
+  void servlet() {
+    assertSameName(
+        context -> {
+          ServerSpanNaming.updateServerSpanName(context, FILTER, name("/filter/*"));
+          ServerSpanNaming.updateServerSpanName(context, SERVLET, name("/servlet/*"));
+          ServerSpanNaming.updateServerSpanName(context, SERVLET, name("/forwarded/*"));
+        },
+        "/servlet/*");
+  }
+
+  @Test
+  void spring() {
+    assertSameName(
+        context -> {
+          ServerSpanNaming.updateServerSpanName(context, FILTER, name("/filter/*"));
+          ServerSpanNaming.updateServerSpanName(context, SERVLET, name("/dispatcher/*"));
+          ServerSpanNaming.updateServerSpanName(context, CONTROLLER, name("/users/{id}"));
+          ServerSpanNaming.updateServerSpanName(context, CONTROLLER, name("/other/{id}"));
+        },
+        "/users/{id}");
+  }
+
+  @Test
+  void jaxrs() {
+    assertSameName(
+        context -> {
+          ServerSpanNaming.updateServerSpanName(context, SERVLET, name("/api/*"));
+          ServerSpanNaming.updateServerSpanName(context, CONTROLLER, name(null));
+          ServerSpanNaming.updateServerSpanName(context, CONTROLLER, name(""));
+          ServerSpanNaming.updateServerSpanName(context, CONTROLLER, name("/api/items/{id}"));
+        },
+        "/api/items/{id}");
+  }
+
+  @Test
+  void noNameFromHigherOrderSources() {
+    assertSameName(
+        context -> {
+          ServerSpanNaming.updateServerSpanName(context, CONTAINER, name("/container"));
+          ServerSpanNaming.updateServerSpanName(context, FILTER, name("/filter/*"));
+          ServerSpanNaming.updateServerSpanName(context, SERVLET, name(null));
+          ServerSpanNaming.updateServerSpanName(context, CONTROLLER, name(""));
+        },
+        "/filter/*");
+  }
+
+  @Test
+  void deferredNamingComputesOnlyTheWinningName() {
+    String name =
+        serverSpanName(
+            /* deferredNaming= */ true,
+            context -> {
+              ServerSpanNaming.updateServerSpanName(context, SERVLET, name("/servlet/*"));
+              ServerSpanNaming.updateServerSpanName(context, CONTROLLER, name("/users/{id}"));
+            });
+
+    assertThat(name).isEqualTo("/users/{id}");
+    assertThat(computedNames).containsExactly("/users/{id}");
+  }
+
+  private void assertSameName(Consumer<Context> updates, String expectedName) {
+    assertThat(serverSpanName(/* deferredNaming= */ false, updates)).isEqualTo(expectedName);
+    assertThat(serverSpanName(/* deferredNaming= */ true, updates)).isEqualTo(expectedName);
+  }
+
+  private String serverSpanName(boolean deferredNaming, Consumer<Context> updates) {
+    Span span =
+        tracerProvider.get("test").spanBuilder("initial").setSpanKind(SpanKind.SERVER).startSpan();
+    Context context = ServerSpan.with(Context.root().with(span), span);
+    context = ServerSpanNaming.init(context, CONTAINER, deferredNaming);
+
+    updates.accept(context);
+    ServerSpanNaming.applyDeferredName(context);
+    span.end();
+
+    return ((ReadableSpan) span).getName();
+  }
+
+  private Supplier<String> name(String name) {
+    return () -> {
+      computedNames.add(name);
+      return name;
+    };
+  }
+}
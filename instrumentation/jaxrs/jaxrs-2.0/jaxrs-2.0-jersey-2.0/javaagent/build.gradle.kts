@@ -45,7 +45,20 @@ dependencies {
 }
 
 tasks {
+  // server span names must be the same when they are only computed once the span ends
+  val testDeferredServerSpanNaming by registering(Test::class) {
+    filter {
+      includeTestsMatching("*DeferredServerSpanNamingTest")
+    }
+    systemProperty("testLatestDeps", findProperty("testLatestDeps"))
+    jvmArgs("-Dotel.instrumentation.common.experimental.deferred-server-span-naming.enabled=true")
+  }
+
   named<Test>("test") {
+    dependsOn(testDeferredServerSpanNaming)
+    filter {
+      excludeTestsMatching("*DeferredServerSpanNamingTest")
+    }
     systemProperty("testLatestDeps", findProperty("testLatestDeps"))
   }
 
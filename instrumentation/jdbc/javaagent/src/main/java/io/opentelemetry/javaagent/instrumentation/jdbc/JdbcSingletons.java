@@ -14,13 +14,17 @@ import io.opentelemetry.instrumentation.api.instrumenter.db.DbSpanNameExtractor;
 import io.opentelemetry.instrumentation.jdbc.internal.DbRequest;
 import io.opentelemetry.instrumentation.jdbc.internal.JdbcAttributesExtractor;
 import io.opentelemetry.instrumentation.jdbc.internal.JdbcNetAttributesExtractor;
+import io.opentelemetry.javaagent.instrumentation.api.CallDepth;
 import io.opentelemetry.javaagent.instrumentation.api.instrumenter.PeerServiceAttributesExtractor;
+import java.sql.Statement;
 
 public final class JdbcSingletons {
   private static final String INSTRUMENTATION_NAME = "io.opentelemetry.jdbc";
 
   private static final Instrumenter<DbRequest, Void> INSTRUMENTER;
 
+  private static final int STATEMENT_CALL_DEPTH_SLOT = CallDepth.slotForClass(Statement.class);
+
   static {
     DbAttributesExtractor<DbRequest, Void> dbAttributesExtractor = new JdbcAttributesExtractor();
     SpanNameExtractor<DbRequest> spanName = DbSpanNameExtractor.create(dbAttributesExtractor);
@@ -39,5 +43,9 @@ public final class JdbcSingletons {
     return INSTRUMENTER;
   }
 
+  public static CallDepth statementCallDepth() {
+    return CallDepth.forSlot(STATEMENT_CALL_DEPTH_SLOT);
+  }
+
   private JdbcSingletons() {}
 }
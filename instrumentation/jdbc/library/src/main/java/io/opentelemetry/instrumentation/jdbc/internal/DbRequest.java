@@ -9,6 +9,7 @@ import static io.opentelemetry.instrumentation.jdbc.internal.JdbcUtils.connectio
 import static io.opentelemetry.instrumentation.jdbc.internal.JdbcUtils.extractDbInfo;
 
 import com.google.auto.value.AutoValue;
+import io.opentelemetry.instrumentation.api.db.SqlStatementInfo;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.Statement;
@@ -19,7 +20,12 @@ public abstract class DbRequest {
 
   @Nullable
   public static DbRequest create(PreparedStatement statement) {
-    return create(statement, JdbcMaps.preparedStatements.get(statement));
+    Connection connection = connectionFromStatement(statement);
+    if (connection == null) {
+      return null;
+    }
+
+    return create(extractDbInfo(connection), JdbcMaps.preparedStatements.get(statement));
   }
 
   @Nullable
@@ -33,11 +39,20 @@ public abstract class DbRequest {
   }
 
   public static DbRequest create(DbInfo dbInfo, String statement) {
-    return new AutoValue_DbRequest(dbInfo, statement);
+    return new AutoValue_DbRequest(dbInfo, statement, null);
+  }
+
+  public static DbRequest create(DbInfo dbInfo, @Nullable SqlStatementInfo statementInfo) {
+    String statement = statementInfo == null ? null : statementInfo.getFullStatement();
+    return new AutoValue_DbRequest(dbInfo, statement, statementInfo);
   }
 
   public abstract DbInfo getDbInfo();
 
   @Nullable
   public abstract String getStatement();
+
+  /** Returns the already sanitized statement, if it was sanitized before the request started. */
+  @Nullable
+  public abstract SqlStatementInfo getStatementInfo();
 }
@@ -6,6 +6,7 @@
 package io.opentelemetry.instrumentation.jdbc.internal;
 
 import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.instrumentation.api.db.SqlStatementInfo;
 import io.opentelemetry.instrumentation.api.instrumenter.db.SqlAttributesExtractor;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -46,4 +47,10 @@ public final class JdbcAttributesExtractor extends SqlAttributesExtractor<DbRequ
   protected String rawStatement(DbRequest request) {
     return request.getStatement();
   }
+
+  @Override
+  protected SqlStatementInfo sanitize(DbRequest request) {
+    SqlStatementInfo statementInfo = request.getStatementInfo();
+    return statementInfo != null ? statementInfo : super.sanitize(request);
+  }
 }
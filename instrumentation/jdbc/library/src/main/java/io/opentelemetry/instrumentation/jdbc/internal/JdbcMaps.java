@@ -6,6 +6,7 @@
 package io.opentelemetry.instrumentation.jdbc.internal;
 
 import io.opentelemetry.instrumentation.api.caching.Cache;
+import io.opentelemetry.instrumentation.api.db.SqlStatementInfo;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 
@@ -17,6 +18,7 @@ import java.sql.PreparedStatement;
 public class JdbcMaps {
   public static final Cache<Connection, DbInfo> connectionInfo =
       Cache.newBuilder().setWeakKeys().build();
-  public static final Cache<PreparedStatement, String> preparedStatements =
+  // prepared statements are sanitized once, when they're created, and reused on every execution
+  public static final Cache<PreparedStatement, SqlStatementInfo> preparedStatements =
       Cache.newBuilder().setWeakKeys().build();
 }
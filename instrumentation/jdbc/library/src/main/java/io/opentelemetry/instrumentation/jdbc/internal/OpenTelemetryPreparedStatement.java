@@ -20,6 +20,7 @@
 
 package io.opentelemetry.instrumentation.jdbc.internal;
 
+import io.opentelemetry.instrumentation.api.db.SqlStatementSanitizer;
 import java.io.InputStream;
 import java.io.Reader;
 import java.math.BigDecimal;
@@ -44,23 +45,27 @@ import java.util.Calendar;
 public class OpenTelemetryPreparedStatement<S extends PreparedStatement>
     extends OpenTelemetryStatement<S> implements PreparedStatement {
 
+  // the query never changes, so it is sanitized only once
+  private final DbRequest request;
+
   public OpenTelemetryPreparedStatement(S delegate, DbInfo dbInfo, String query) {
     super(delegate, dbInfo, query);
+    this.request = DbRequest.create(dbInfo, SqlStatementSanitizer.sanitize(query));
   }
 
   @Override
   public ResultSet executeQuery() throws SQLException {
-    return wrapCall(query, delegate::executeQuery);
+    return wrapCall(request, delegate::executeQuery);
   }
 
   @Override
   public int executeUpdate() throws SQLException {
-    return wrapCall(query, delegate::executeUpdate);
+    return wrapCall(request, delegate::executeUpdate);
   }
 
   @Override
   public boolean execute() throws SQLException {
-    return wrapCall(query, delegate::execute);
+    return wrapCall(request, delegate::execute);
   }
 
   @SuppressWarnings("UngroupedOverloads")
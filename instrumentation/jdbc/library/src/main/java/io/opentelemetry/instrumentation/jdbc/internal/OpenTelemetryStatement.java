@@ -274,8 +274,12 @@ public class OpenTelemetryStatement<S extends Statement> implements Statement {
 
   protected <T, E extends Exception> T wrapCall(String sql, ThrowingSupplier<T, E> callable)
       throws E {
+    return wrapCall(DbRequest.create(dbInfo, sql), callable);
+  }
+
+  protected <T, E extends Exception> T wrapCall(
+      DbRequest request, ThrowingSupplier<T, E> callable) throws E {
     Context parentContext = Context.current();
-    DbRequest request = DbRequest.create(dbInfo, sql);
 
     if (!instrumenter().shouldStart(parentContext, request)) {
       return callable.call();
@@ -45,10 +45,38 @@ tasks {
     jvmArgs("-Dotel.instrumentation.kafka.client-propagation.enabled=false")
   }
 
+  val testBatchProcessSpan by registering(Test::class) {
+    filter {
+      includeTestsMatching("KafkaClientBatchProcessSpanTest")
+    }
+    jvmArgs("-Dotel.instrumentation.kafka.experimental-batch-process-span=true")
+  }
+
+  val testBatchProcessSpanPropagationDisabled by registering(Test::class) {
+    filter {
+      includeTestsMatching("KafkaClientBatchProcessSpanPropagationDisabledTest")
+    }
+    jvmArgs("-Dotel.instrumentation.kafka.experimental-batch-process-span=true")
+    jvmArgs("-Dotel.instrumentation.kafka.client-propagation.enabled=false")
+  }
+
+  val testProducerSpanEndOnSend by registering(Test::class) {
+    filter {
+      includeTestsMatching("KafkaClientProducerSpanEndOnSendTest")
+    }
+    jvmArgs("-Dotel.instrumentation.kafka.experimental-producer-span-end-on-send=true")
+  }
+
   named<Test>("test") {
     dependsOn(testPropagationDisabled)
+    dependsOn(testBatchProcessSpan)
+    dependsOn(testBatchProcessSpanPropagationDisabled)
+    dependsOn(testProducerSpanEndOnSend)
     filter {
       excludeTestsMatching("KafkaClientPropagationDisabledTest")
+      excludeTestsMatching("KafkaClientBatchProcessSpanTest")
+      excludeTestsMatching("KafkaClientBatchProcessSpanPropagationDisabledTest")
+      excludeTestsMatching("KafkaClientProducerSpanEndOnSendTest")
     }
   }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.kafkaclients;
+
+import static io.opentelemetry.javaagent.instrumentation.kafkaclients.TextMapExtractAdapter.GETTER;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Extracts the context from the headers of consumer records and reuses the context extracted from
+ * the previous record if the headers that the propagator read are byte-for-byte the same, which is
+ * common for the records of one producer batch. The header values are compared without decoding
+ * them, so reusing a context doesn't allocate.
+ *
+ * <p>The headers that the propagator reads are recorded while it extracts, so this works with any
+ * configured propagator. A context that was extracted after the propagator listed all header keys
+ * depends on headers that aren't known in advance and is not reused.
+ *
+ * <p>This class is not thread-safe, every iterator uses its own instance.
+ */
+public final class ExtractedContextCache implements TextMapGetter<Headers> {
+
+  // the default propagators read three headers: traceparent, tracestate and baggage
+  private static final int MAX_KEYS = 8;
+
+  private final String[] keys = new String[MAX_KEYS];
+  private final byte[][] values = new byte[MAX_KEYS][];
+  private int keyCount;
+  private boolean reusable;
+
+  @Nullable private Context parentContext;
+  @Nullable private Context extractedContext;
+
+  public Context extract(KafkaConsumerTracer tracer, Headers headers) {
+    // the propagator adds the extracted context to the current one
+    Context currentContext = Context.current();
+    if (extractedContext != null && currentContext == parentContext && sameValues(headers)) {
+      return extractedContext;
+    }
+
+    keyCount = 0;
+    reusable = true;
+    Context context = tracer.extract(headers, this);
+    if (reusable) {
+      parentContext = currentContext;
+      extractedContext = context;
+    } else {
+      parentContext = null;
+      extractedContext = null;
+    }
+    return context;
+  }
+
+  private boolean sameValues(Headers headers) {
+    for (int i = 0; i < keyCount; i++) {
+      if (!Arrays.equals(values[i], value(headers, keys[i]))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public Iterable<String> keys(Headers headers) {
+    reusable = false;
+    return GETTER.keys(headers);
+  }
+
+  @Override
+  @Nullable
+  public String get(Headers headers, String key) {
+    byte[] value = value(headers, key);
+    if (keyCount < MAX_KEYS) {
+      keys[keyCount] = key;
+      values[keyCount] = value;
+      keyCount++;
+    } else {
+      reusable = false;
+    }
+    if (value == null) {
+      return null;
+    }
+    return new String(value, StandardCharsets.UTF_8);
+  }
+
+  @Nullable
+  private static byte[] value(Headers headers, String key) {
+    Header header = headers.lastHeader(key);
+    return header != null ? header.value() : null;
+  }
+}
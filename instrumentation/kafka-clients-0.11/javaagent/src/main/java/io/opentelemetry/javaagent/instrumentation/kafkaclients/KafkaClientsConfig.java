@@ -17,6 +17,21 @@ public final class KafkaClientsConfig {
       Config.get()
           .getBooleanProperty("otel.instrumentation.kafka.experimental-span-attributes", false);
 
+  private static final boolean BATCH_PROCESS_SPAN_ENABLED =
+      Config.get()
+          .getBooleanProperty("otel.instrumentation.kafka.experimental-batch-process-span", false);
+
+  private static final int BATCH_PROCESS_SPAN_MAX_LINKS =
+      (int)
+          Config.get()
+              .getLongProperty(
+                  "otel.instrumentation.kafka.experimental-batch-process-span.max-links", 128);
+
+  private static final boolean PRODUCER_SPAN_ENDED_ON_SEND =
+      Config.get()
+          .getBooleanProperty(
+              "otel.instrumentation.kafka.experimental-producer-span-end-on-send", false);
+
   public static boolean isPropagationEnabled() {
     return CLIENT_PROPAGATION_ENABLED;
   }
@@ -25,5 +40,26 @@ public final class KafkaClientsConfig {
     return CAPTURE_EXPERIMENTAL_SPAN_ATTRIBUTES;
   }
 
+  /**
+   * Returns whether the records of a poll batch are processed in one span that links to the
+   * producer spans of the records, instead of one span per record.
+   */
+  public static boolean isBatchProcessSpanEnabled() {
+    return BATCH_PROCESS_SPAN_ENABLED;
+  }
+
+  /** Returns the maximum number of producer spans a batch process span links to. */
+  public static int batchProcessSpanMaxLinks() {
+    return BATCH_PROCESS_SPAN_MAX_LINKS;
+  }
+
+  /**
+   * Returns whether producer spans end when {@code send()} returns, instead of when the record is
+   * acknowledged, so that sends without a callback don't need one to end the span.
+   */
+  public static boolean isProducerSpanEndedOnSend() {
+    return PRODUCER_SPAN_ENDED_ON_SEND;
+  }
+
   private KafkaClientsConfig() {}
 }
@@ -21,6 +21,7 @@ import net.bytebuddy.asm.Advice;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
 
 public class KafkaConsumerInstrumentation implements TypeInstrumentation {
 
@@ -82,9 +83,14 @@ public class KafkaConsumerInstrumentation implements TypeInstrumentation {
 
     @Advice.OnMethodExit(suppress = Throwable.class)
     public static void wrap(
+        @Advice.This ConsumerRecords<?, ?> records,
         @Advice.Return(readOnly = false) Iterator<ConsumerRecord<?, ?>> iterator) {
       if (iterator != null) {
-        iterator = new TracingIterator(iterator, tracer());
+        if (KafkaClientsConfig.isBatchProcessSpanEnabled()) {
+          iterator = new TracingBatchIterator(iterator, records, tracer());
+        } else {
+          iterator = new TracingIterator(iterator, tracer());
+        }
       }
     }
   }
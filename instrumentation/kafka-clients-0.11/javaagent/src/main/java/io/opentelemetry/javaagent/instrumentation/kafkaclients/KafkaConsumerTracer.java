@@ -6,15 +6,17 @@
 package io.opentelemetry.javaagent.instrumentation.kafkaclients;
 
 import static io.opentelemetry.api.trace.SpanKind.CONSUMER;
-import static io.opentelemetry.javaagent.instrumentation.kafkaclients.TextMapExtractAdapter.GETTER;
 
 import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
+import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.tracer.BaseTracer;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
 import java.util.concurrent.TimeUnit;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.record.TimestampType;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class KafkaConsumerTracer extends BaseTracer {
   private static final KafkaConsumerTracer TRACER = new KafkaConsumerTracer();
@@ -23,10 +25,86 @@ public class KafkaConsumerTracer extends BaseTracer {
     return TRACER;
   }
 
-  public Context startSpan(ConsumerRecord<?, ?> record) {
+  public Context startSpan(ConsumerRecord<?, ?> record, ExtractedContextCache contextCache) {
+    return startSpan(extractParent(record, contextCache), record);
+  }
+
+  /**
+   * Starts a span for {@code record} only if the producer span extracted from its headers is
+   * sampled. Returns {@code null} otherwise, and always when propagation is disabled: the record is
+   * already processed in the current batch span.
+   */
+  @Nullable
+  public Context startSpanIfSampled(
+      ConsumerRecord<?, ?> record, ExtractedContextCache contextCache) {
+    if (!KafkaClientsConfig.isPropagationEnabled()) {
+      return null;
+    }
+    // the extracted context never holds the current batch span, only a producer span
+    Context parentContext = contextCache.extract(this, record.headers());
+    if (!Span.fromContext(parentContext).getSpanContext().isSampled()) {
+      return null;
+    }
+    return startSpan(parentContext, record);
+  }
+
+  /**
+   * Starts one span for processing all {@code records} of a poll batch, linked to the producer
+   * spans of up to {@link KafkaClientsConfig#batchProcessSpanMaxLinks()} records.
+   */
+  public Context startBatchSpan(Iterable<? extends ConsumerRecord<?, ?>> records) {
+    Context parentContext = Context.current();
+
+    // Use the topic in the name if all records have the same topic, otherwise use placeholder.
+    String topic = null;
+    long recordCount = 0;
+    for (ConsumerRecord<?, ?> record : records) {
+      if (recordCount++ == 0) {
+        topic = record.topic();
+      } else if (topic != null && !topic.equals(record.topic())) {
+        topic = null;
+      }
+    }
+
+    SpanBuilder span =
+        spanBuilder(
+            parentContext, (topic != null ? topic : "multiple_topics") + " process", CONSUMER);
+    span.setAttribute(SemanticAttributes.MESSAGING_SYSTEM, "kafka");
+    if (topic != null) {
+      span.setAttribute(SemanticAttributes.MESSAGING_DESTINATION, topic);
+    }
+    span.setAttribute(SemanticAttributes.MESSAGING_DESTINATION_KIND, "topic");
+    span.setAttribute(SemanticAttributes.MESSAGING_OPERATION, "process");
+    if (KafkaClientsConfig.captureExperimentalSpanAttributes()) {
+      span.setAttribute("kafka.batch.record_count", recordCount);
+    }
+
+    if (KafkaClientsConfig.isPropagationEnabled()) {
+      ExtractedContextCache contextCache = new ExtractedContextCache();
+      int maxLinks = KafkaClientsConfig.batchProcessSpanMaxLinks();
+      int links = 0;
+      SpanContext previousLink = null;
+      for (ConsumerRecord<?, ?> record : records) {
+        if (links == maxLinks) {
+          break;
+        }
+        SpanContext producerSpanContext =
+            Span.fromContext(contextCache.extract(this, record.headers())).getSpanContext();
+        // records of one producer batch usually share the producer span, link it only once
+        if (producerSpanContext.isValid() && !producerSpanContext.equals(previousLink)) {
+          span.addLink(producerSpanContext);
+          previousLink = producerSpanContext;
+          links++;
+        }
+      }
+    }
+
+    return withConsumerSpan(parentContext, span.startSpan());
+  }
+
+  private Context startSpan(Context parentContext, ConsumerRecord<?, ?> record) {
     long now = System.currentTimeMillis();
 
-    Context parentContext = extractParent(record);
     Span span =
         spanBuilder(parentContext, spanNameOnConsume(record), CONSUMER)
             .setStartTimestamp(now, TimeUnit.MILLISECONDS)
@@ -43,9 +121,9 @@ public class KafkaConsumerTracer extends BaseTracer {
     return withConsumerSpan(parentContext, span);
   }
 
-  private Context extractParent(ConsumerRecord<?, ?> record) {
+  private Context extractParent(ConsumerRecord<?, ?> record, ExtractedContextCache contextCache) {
     if (KafkaClientsConfig.isPropagationEnabled()) {
-      return extract(record.headers(), GETTER);
+      return contextCache.extract(this, record.headers());
     } else {
       return Context.current();
     }
@@ -17,6 +17,7 @@ import io.opentelemetry.context.Scope;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeTransformer;
 import io.opentelemetry.javaagent.instrumentation.api.Java8BytecodeBridge;
+import java.util.concurrent.Future;
 import net.bytebuddy.asm.Advice;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
@@ -57,7 +58,12 @@ public class KafkaProducerInstrumentation implements TypeInstrumentation {
 
       context = tracer().startProducerSpan(parentContext, record);
 
-      callback = new ProducerCallback(callback, parentContext, context);
+      if (!KafkaClientsConfig.isProducerSpanEndedOnSend()) {
+        callback = new ProducerCallback(callback, parentContext, context);
+      } else if (callback != null && parentContext != Java8BytecodeBridge.rootContext()) {
+        // the span ends on exit, the callback only needs to run in the parent context
+        callback = new ProducerCallback(callback, parentContext, null);
+      }
 
       if (tracer().shouldPropagate(apiVersions)) {
         try {
@@ -83,6 +89,7 @@ public class KafkaProducerInstrumentation implements TypeInstrumentation {
     @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
     public static void stopSpan(
         @Advice.Thrown Throwable throwable,
+        @Advice.Return Future<?> future,
         @Advice.Local("otelContext") Context context,
         @Advice.Local("otelScope") Scope scope) {
 
@@ -90,8 +97,10 @@ public class KafkaProducerInstrumentation implements TypeInstrumentation {
 
       if (throwable != null) {
         tracer().endExceptionally(context, throwable);
+      } else if (KafkaClientsConfig.isProducerSpanEndedOnSend()) {
+        tracer().endOnSend(context, future);
       }
-      // span finished by ProducerCallback
+      // otherwise span finished by ProducerCallback
     }
   }
 }
@@ -11,9 +11,13 @@ import io.opentelemetry.api.trace.SpanBuilder;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.tracer.BaseTracer;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import org.apache.kafka.clients.ApiVersions;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.record.RecordBatch;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class KafkaProducerTracer extends BaseTracer {
   private static final KafkaProducerTracer TRACER = new KafkaProducerTracer();
@@ -28,6 +32,28 @@ public class KafkaProducerTracer extends BaseTracer {
     return parentContext.with(span.startSpan());
   }
 
+  /**
+   * Ends the producer span when {@code send()} returns. {@code send()} doesn't throw {@link
+   * org.apache.kafka.common.errors.ApiException}s, it hands them to the callback and returns a
+   * failed future; such a failure is recorded in the span.
+   */
+  public void endOnSend(Context context, @Nullable Future<?> future) {
+    if (future != null && future.isDone()) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        endExceptionally(context, e);
+        return;
+      } catch (InterruptedException e) {
+        // a done future may still check the interrupt flag
+        Thread.currentThread().interrupt();
+      } catch (CancellationException e) {
+        // not a failure of send()
+      }
+    }
+    end(context);
+  }
+
   // Do not inject headers for batch versions below 2
   // This is how similar check is being done in Kafka client itself:
   // https://github.com/apache/kafka/blob/05fcfde8f69b0349216553f711fdfc3f0259c601/clients/src/main/java/org/apache/kafka/common/record/MemoryRecordsBuilder.java#L411-L412
@@ -11,13 +11,19 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.RecordMetadata;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class ProducerCallback implements Callback {
-  private final Callback callback;
+  @Nullable private final Callback callback;
   private final Context parentContext;
-  private final Context context;
+  @Nullable private final Context context;
 
-  public ProducerCallback(Callback callback, Context parentContext, Context context) {
+  /**
+   * Creates a callback that ends the producer span in {@code context}, if it is not {@code null},
+   * and runs {@code callback} in {@code parentContext}.
+   */
+  public ProducerCallback(
+      @Nullable Callback callback, Context parentContext, @Nullable Context context) {
     this.callback = callback;
     this.parentContext = parentContext;
     this.context = context;
@@ -25,10 +31,12 @@ public class ProducerCallback implements Callback {
 
   @Override
   public void onCompletion(RecordMetadata metadata, Exception exception) {
-    if (exception != null) {
-      tracer().endExceptionally(context, exception);
-    } else {
-      tracer().end(context);
+    if (context != null) {
+      if (exception != null) {
+        tracer().endExceptionally(context, exception);
+      } else {
+        tracer().end(context);
+      }
     }
 
     if (callback != null) {
@@ -0,0 +1,116 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.kafkaclients;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.javaagent.instrumentation.api.CallDepth;
+import java.util.Iterator;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Processes all records of a poll batch in one span, which is current while the records are
+ * iterated and ends when the iteration is complete. Records get their own span only when their
+ * producer span is sampled, so that sampled traces still continue into the consumer.
+ */
+public class TracingBatchIterator implements Iterator<ConsumerRecord<?, ?>> {
+
+  private final Iterator<ConsumerRecord<?, ?>> delegateIterator;
+  private final Iterable<? extends ConsumerRecord<?, ?>> batch;
+  private final KafkaConsumerTracer tracer;
+  private final ExtractedContextCache contextCache = new ExtractedContextCache();
+
+  private boolean started;
+
+  /**
+   * Note: this may potentially create problems if this iterator is used from different threads. But
+   * at the moment we cannot do much about this.
+   */
+  @Nullable private Context batchContext;
+
+  @Nullable private Scope batchScope;
+  @Nullable private Context recordContext;
+  @Nullable private Scope recordScope;
+
+  public TracingBatchIterator(
+      Iterator<ConsumerRecord<?, ?>> delegateIterator,
+      Iterable<? extends ConsumerRecord<?, ?>> batch,
+      KafkaConsumerTracer tracer) {
+    this.delegateIterator = delegateIterator;
+    this.batch = batch;
+    this.tracer = tracer;
+  }
+
+  @Override
+  public boolean hasNext() {
+    closeScopeAndEndRecordSpan();
+    boolean hasNext = delegateIterator.hasNext();
+    if (!hasNext) {
+      closeScopeAndEndBatchSpan();
+    }
+    return hasNext;
+  }
+
+  @Override
+  public ConsumerRecord<?, ?> next() {
+    // in case they didn't call hasNext()...
+    closeScopeAndEndRecordSpan();
+    if (!started) {
+      started = true;
+      startBatchSpan();
+    }
+
+    ConsumerRecord<?, ?> next = delegateIterator.next();
+
+    if (next != null && batchContext != null) {
+      recordContext = tracer.startSpanIfSampled(next, contextCache);
+      if (recordContext != null) {
+        recordScope = recordContext.makeCurrent();
+      }
+    }
+    return next;
+  }
+
+  private void startBatchSpan() {
+    // the batch is iterated to collect the links, the batch may be the instrumented
+    // ConsumerRecords itself, whose iterator must not start another batch span
+    CallDepth callDepth = CallDepth.forClass(TracingBatchIterator.class);
+    try {
+      if (callDepth.getAndIncrement() == 0) {
+        batchContext = tracer.startBatchSpan(batch);
+      }
+    } finally {
+      callDepth.decrementAndGet();
+    }
+    if (batchContext != null) {
+      batchScope = batchContext.makeCurrent();
+    }
+  }
+
+  private void closeScopeAndEndRecordSpan() {
+    if (recordScope != null) {
+      recordScope.close();
+      recordScope = null;
+      tracer.end(recordContext);
+      recordContext = null;
+    }
+  }
+
+  private void closeScopeAndEndBatchSpan() {
+    if (batchScope != null) {
+      batchScope.close();
+      batchScope = null;
+      tracer.end(batchContext);
+      batchContext = null;
+    }
+  }
+
+  @Override
+  public void remove() {
+    delegateIterator.remove();
+  }
+}
@@ -25,7 +25,11 @@ public class TracingIterable implements Iterable<ConsumerRecord<?, ?>> {
     // However, this is not thread-safe, but usually the first (hopefully only) traversal of
     // ConsumerRecords is performed in the same thread that called poll()
     if (firstIterator) {
-      it = new TracingIterator(delegate.iterator(), tracer);
+      if (KafkaClientsConfig.isBatchProcessSpanEnabled()) {
+        it = new TracingBatchIterator(delegate.iterator(), delegate, tracer);
+      } else {
+        it = new TracingIterator(delegate.iterator(), tracer);
+      }
       firstIterator = false;
     } else {
       it = delegate.iterator();
@@ -15,6 +15,7 @@ public class TracingIterator implements Iterator<ConsumerRecord<?, ?>> {
 
   private final Iterator<ConsumerRecord<?, ?>> delegateIterator;
   private final KafkaConsumerTracer tracer;
+  private final ExtractedContextCache contextCache = new ExtractedContextCache();
 
   /**
    * Note: this may potentially create problems if this iterator is used from different threads. But
@@ -44,7 +45,7 @@ public class TracingIterator implements Iterator<ConsumerRecord<?, ?>> {
     ConsumerRecord<?, ?> next = delegateIterator.next();
 
     if (next != null) {
-      currentContext = tracer.startSpan(next);
+      currentContext = tracer.startSpan(next, contextCache);
       currentScope = currentContext.makeCurrent();
     }
     return next;
@@ -0,0 +1,133 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+import static io.opentelemetry.api.trace.SpanKind.INTERNAL
+import static io.opentelemetry.api.trace.SpanKind.PRODUCER
+import static io.opentelemetry.api.trace.StatusCode.ERROR
+
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+import org.apache.kafka.clients.producer.KafkaProducer
+import org.apache.kafka.clients.producer.ProducerConfig
+import org.apache.kafka.clients.producer.ProducerRecord
+import org.apache.kafka.common.errors.RecordTooLargeException
+import org.springframework.kafka.test.utils.KafkaTestUtils
+
+class KafkaClientProducerSpanEndOnSendTest extends KafkaClientBaseTest {
+
+  def "test producer span ends on send and callback runs in parent context"() {
+    setup:
+    def senderProps = KafkaTestUtils.senderProps(embeddedKafka.getBrokersAsString())
+    def producer = new KafkaProducer(senderProps)
+    def acknowledged = new CountDownLatch(1)
+
+    when:
+    runWithSpan("parent") {
+      producer.send(new ProducerRecord<Integer, String>(SHARED_TOPIC, "Hello!")) { meta, ex ->
+        runWithSpan("producer callback") {}
+        acknowledged.countDown()
+      }
+    }
+
+    then:
+    acknowledged.await(5, TimeUnit.SECONDS)
+    assertTraces(1) {
+      trace(0, 3) {
+        span(0) {
+          name "parent"
+          kind INTERNAL
+          hasNoParent()
+        }
+        span(1) {
+          name SHARED_TOPIC + " send"
+          kind PRODUCER
+          childOf span(0)
+          attributes {
+            "${SemanticAttributes.MESSAGING_SYSTEM.key}" "kafka"
+            "${SemanticAttributes.MESSAGING_DESTINATION.key}" SHARED_TOPIC
+            "${SemanticAttributes.MESSAGING_DESTINATION_KIND.key}" "topic"
+          }
+        }
+        span(2) {
+          name "producer callback"
+          kind INTERNAL
+          childOf span(0)
+        }
+      }
+    }
+
+    cleanup:
+    producer.close()
+  }
+
+  def "test producer span ends on send without callback"() {
+    setup:
+    def senderProps = KafkaTestUtils.senderProps(embeddedKafka.getBrokersAsString())
+    def producer = new KafkaProducer(senderProps)
+
+    when:
+    producer.send(new ProducerRecord<Integer, String>(SHARED_TOPIC, "Hello!")).get(5, TimeUnit.SECONDS)
+
+    then:
+    assertTraces(1) {
+      trace(0, 1) {
+        span(0) {
+          name SHARED_TOPIC + " send"
+          kind PRODUCER
+          hasNoParent()
+          attributes {
+            "${SemanticAttributes.MESSAGING_SYSTEM.key}" "kafka"
+            "${SemanticAttributes.MESSAGING_DESTINATION.key}" SHARED_TOPIC
+            "${SemanticAttributes.MESSAGING_DESTINATION_KIND.key}" "topic"
+          }
+        }
+      }
+    }
+
+    cleanup:
+    producer.close()
+  }
+
+  def "test producer span records failure handed to the callback"() {
+    setup:
+    def senderProps = KafkaTestUtils.senderProps(embeddedKafka.getBrokersAsString())
+    senderProps.put(ProducerConfig.MAX_REQUEST_SIZE_CONFIG, 1024)
+    def producer = new KafkaProducer(senderProps)
+    def callbackException = null
+
+    when:
+    // send() doesn't throw, it passes the exception to the callback and fails the future
+    def future = producer.send(new ProducerRecord<Integer, String>(SHARED_TOPIC, "x" * 2048)) { meta, ex ->
+      callbackException = ex
+    }
+    future.get(5, TimeUnit.SECONDS)
+
+    then:
+    def thrown = thrown(ExecutionException)
+    thrown.cause instanceof RecordTooLargeException
+    callbackException instanceof RecordTooLargeException
+    assertTraces(1) {
+      trace(0, 1) {
+        span(0) {
+          name SHARED_TOPIC + " send"
+          kind PRODUCER
+          hasNoParent()
+          status ERROR
+          errorEvent(RecordTooLargeException, ~/.*/)
+          attributes {
+            "${SemanticAttributes.MESSAGING_SYSTEM.key}" "kafka"
+            "${SemanticAttributes.MESSAGING_DESTINATION.key}" SHARED_TOPIC
+            "${SemanticAttributes.MESSAGING_DESTINATION_KIND.key}" "topic"
+          }
+        }
+      }
+    }
+
+    cleanup:
+    producer.close()
+  }
+}
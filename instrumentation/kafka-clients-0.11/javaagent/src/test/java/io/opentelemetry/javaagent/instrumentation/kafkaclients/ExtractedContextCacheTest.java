@@ -0,0 +1,177 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.kafkaclients;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+
+class ExtractedContextCacheTest {
+
+  private static final ContextKey<String> KEY = ContextKey.named("key");
+
+  private static final String TRACEPARENT =
+      "00-ff01020304050600ff0a0b0c0d0e0f00-090a0b0c0d0e0f00-01";
+  private static final String OTHER_TRACEPARENT =
+      "00-ff01020304050600ff0a0b0c0d0e0f00-0a0b0c0d0e0f0001-01";
+
+  private final ExtractedContextCache contextCache = new ExtractedContextCache();
+
+  @Test
+  void reusesContextForSameHeaderValues() {
+    TestTracer tracer = new TestTracer(W3CTraceContextPropagator.getInstance());
+
+    Context first = contextCache.extract(tracer, headers("traceparent", TRACEPARENT));
+    // the values are compared byte-for-byte, not by identity
+    Context second = contextCache.extract(tracer, headers("traceparent", TRACEPARENT));
+
+    assertThat(Span.fromContext(first).getSpanContext().getSpanId())
+        .isEqualTo("090a0b0c0d0e0f00");
+    assertThat(second).isSameAs(first);
+    assertThat(tracer.extractions).isEqualTo(1);
+  }
+
+  @Test
+  void ignoresHeadersThatWereNotRead() {
+    TestTracer tracer = new TestTracer(W3CTraceContextPropagator.getInstance());
+
+    Context first =
+        contextCache.extract(tracer, headers("traceparent", TRACEPARENT, "other", "first"));
+    Context second =
+        contextCache.extract(tracer, headers("traceparent", TRACEPARENT, "other", "second"));
+
+    assertThat(second).isSameAs(first);
+    assertThat(tracer.extractions).isEqualTo(1);
+  }
+
+  @Test
+  void extractsAgainWhenReadHeaderChanges() {
+    TestTracer tracer = new TestTracer(W3CTraceContextPropagator.getInstance());
+
+    contextCache.extract(tracer, headers("traceparent", TRACEPARENT));
+    Context second = contextCache.extract(tracer, headers("traceparent", OTHER_TRACEPARENT));
+    Context third = contextCache.extract(tracer, headers());
+
+    assertThat(Span.fromContext(second).getSpanContext().getSpanId())
+        .isEqualTo("0a0b0c0d0e0f0001");
+    assertThat(Span.fromContext(third).getSpanContext().isValid()).isFalse();
+    assertThat(tracer.extractions).isEqualTo(3);
+  }
+
+  @Test
+  void reusesContextWhenAllReadHeadersWereRecorded() {
+    TestTracer tracer = new TestTracer(new ReadingPropagator(8, false));
+
+    Context first = contextCache.extract(tracer, headers());
+    Context second = contextCache.extract(tracer, headers());
+
+    assertThat(second).isSameAs(first);
+    assertThat(tracer.extractions).isEqualTo(1);
+  }
+
+  @Test
+  void doesNotReuseContextAfterTooManyHeadersWereRead() {
+    TestTracer tracer = new TestTracer(new ReadingPropagator(9, false));
+
+    Context first = contextCache.extract(tracer, headers());
+    Context second = contextCache.extract(tracer, headers());
+
+    assertThat(second).isNotSameAs(first);
+    assertThat(tracer.extractions).isEqualTo(2);
+  }
+
+  @Test
+  void doesNotReuseContextAfterKeysWereListed() {
+    TestTracer tracer = new TestTracer(new ReadingPropagator(1, true));
+
+    Context first = contextCache.extract(tracer, headers());
+    Context second = contextCache.extract(tracer, headers());
+
+    assertThat(second).isNotSameAs(first);
+    assertThat(tracer.extractions).isEqualTo(2);
+  }
+
+  @Test
+  void extractsAgainWhenCurrentContextChanges() {
+    TestTracer tracer = new TestTracer(W3CTraceContextPropagator.getInstance());
+
+    contextCache.extract(tracer, headers("traceparent", TRACEPARENT));
+    Context second;
+    try (Scope ignored = Context.root().with(KEY, "value").makeCurrent()) {
+      second = contextCache.extract(tracer, headers("traceparent", TRACEPARENT));
+    }
+
+    assertThat(second.get(KEY)).isEqualTo("value");
+    assertThat(tracer.extractions).isEqualTo(2);
+  }
+
+  private static Headers headers(String... keysAndValues) {
+    Headers headers = new RecordHeaders();
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      headers.add(keysAndValues[i], keysAndValues[i + 1].getBytes(StandardCharsets.UTF_8));
+    }
+    return headers;
+  }
+
+  private static final class TestTracer extends KafkaConsumerTracer {
+    private final TextMapPropagator propagator;
+    private int extractions;
+
+    private TestTracer(TextMapPropagator propagator) {
+      this.propagator = propagator;
+    }
+
+    @Override
+    public <C> Context extract(C carrier, TextMapGetter<C> getter) {
+      extractions++;
+      return propagator.extract(Context.current(), carrier, getter);
+    }
+  }
+
+  // reads the given number of headers and returns a new context every time it extracts
+  private static final class ReadingPropagator implements TextMapPropagator {
+    private final int headerCount;
+    private final boolean listKeys;
+
+    private ReadingPropagator(int headerCount, boolean listKeys) {
+      this.headerCount = headerCount;
+      this.listKeys = listKeys;
+    }
+
+    @Override
+    public Collection<String> fields() {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public <C> void inject(Context context, @Nullable C carrier, TextMapSetter<C> setter) {}
+
+    @Override
+    public <C> Context extract(Context context, @Nullable C carrier, TextMapGetter<C> getter) {
+      if (listKeys) {
+        getter.keys(carrier).forEach(key -> {});
+      }
+      for (int i = 0; i < headerCount; i++) {
+        getter.get(carrier, "header" + i);
+      }
+      return context.with(KEY, "extracted");
+    }
+  }
+}
@@ -18,3 +18,31 @@ dependencies {
 
   latestDepTestLibrary("org.apache.logging.log4j:log4j-core:2.13.1")
 }
+
+tasks {
+  // the garbage-free thread context map returns its internal string map as context data, which is
+  // frozen and therefore decorated instead of being copied
+  val testGarbageFreeThreadContextMap by registering(Test::class) {
+    filter {
+      includeTestsMatching("*GarbageFreeThreadContextMapTest")
+    }
+    jvmArgs("-Dlog4j2.garbagefree.threadContextMap=true")
+  }
+
+  // the default thread context map copies its entries into the reusable context data of the event
+  val testDefaultThreadContextMap by registering(Test::class) {
+    filter {
+      includeTestsMatching("*DefaultThreadContextMapTest")
+    }
+    jvmArgs("-Dlog4j2.threadContextMap=org.apache.logging.log4j.spi.DefaultThreadContextMap")
+  }
+
+  named<Test>("test") {
+    dependsOn(testGarbageFreeThreadContextMap)
+    dependsOn(testDefaultThreadContextMap)
+    filter {
+      excludeTestsMatching("*GarbageFreeThreadContextMapTest")
+      excludeTestsMatching("*DefaultThreadContextMapTest")
+    }
+  }
+}
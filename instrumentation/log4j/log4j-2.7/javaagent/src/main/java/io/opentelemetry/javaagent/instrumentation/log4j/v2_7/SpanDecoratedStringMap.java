@@ -0,0 +1,186 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.log4j.v2_7;
+
+import static io.opentelemetry.instrumentation.api.log.LoggingContextConstants.SPAN_ID;
+import static io.opentelemetry.instrumentation.api.log.LoggingContextConstants.TRACE_FLAGS;
+import static io.opentelemetry.instrumentation.api.log.LoggingContextConstants.TRACE_ID;
+
+import io.opentelemetry.api.trace.SpanContext;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.logging.log4j.util.BiConsumer;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+import org.apache.logging.log4j.util.StringMap;
+import org.apache.logging.log4j.util.TriConsumer;
+
+/**
+ * A frozen view that adds the trace id, span id and trace flags of a span context to context data
+ * without copying it. Like {@link org.apache.logging.log4j.util.SortedArrayStringMap}, entries are
+ * iterated in key order, assuming the context data iterates its own entries in key order; the
+ * context data must not contain any of the trace context keys.
+ */
+public final class SpanDecoratedStringMap implements StringMap {
+  private static final long serialVersionUID = 1L;
+
+  // the trace context keys in iteration order
+  private static final String[] KEYS = sortedKeys();
+
+  private final ReadOnlyStringMap delegate;
+  private final String traceId;
+  private final String spanId;
+  private final String traceFlags;
+
+  SpanDecoratedStringMap(ReadOnlyStringMap delegate, SpanContext spanContext) {
+    this.delegate = delegate;
+    this.traceId = spanContext.getTraceId();
+    this.spanId = spanContext.getSpanId();
+    this.traceFlags = spanContext.getTraceFlags().asHex();
+  }
+
+  private static String[] sortedKeys() {
+    String[] keys = {TRACE_ID, SPAN_ID, TRACE_FLAGS};
+    Arrays.sort(keys);
+    return keys;
+  }
+
+  /** Returns whether {@code contextData} can be decorated without hiding any of its entries. */
+  static boolean canDecorate(ReadOnlyStringMap contextData) {
+    return !contextData.containsKey(SPAN_ID) && !contextData.containsKey(TRACE_FLAGS);
+  }
+
+  @Override
+  public Map<String, String> toMap() {
+    Map<String, String> map = new HashMap<>(delegate.toMap());
+    map.put(TRACE_ID, traceId);
+    map.put(SPAN_ID, spanId);
+    map.put(TRACE_FLAGS, traceFlags);
+    return map;
+  }
+
+  @Override
+  public boolean containsKey(String key) {
+    return TRACE_ID.equals(key)
+        || SPAN_ID.equals(key)
+        || TRACE_FLAGS.equals(key)
+        || delegate.containsKey(key);
+  }
+
+  @Override
+  public <V> void forEach(BiConsumer<String, ? super V> action) {
+    int[] next = {0};
+    delegate.forEach(
+        (String key, V value) -> {
+          for (; next[0] < KEYS.length && precedes(KEYS[next[0]], key); next[0]++) {
+            action.accept(KEYS[next[0]], this.<V>getValue(KEYS[next[0]]));
+          }
+          action.accept(key, value);
+        });
+    for (int i = next[0]; i < KEYS.length; i++) {
+      action.accept(KEYS[i], this.<V>getValue(KEYS[i]));
+    }
+  }
+
+  @Override
+  public <V, S> void forEach(TriConsumer<String, ? super V, S> action, S state) {
+    int[] next = {0};
+    delegate.forEach(
+        (String key, V value, S s) -> {
+          for (; next[0] < KEYS.length && precedes(KEYS[next[0]], key); next[0]++) {
+            action.accept(KEYS[next[0]], this.<V>getValue(KEYS[next[0]]), s);
+          }
+          action.accept(key, value, s);
+        },
+        state);
+    for (int i = next[0]; i < KEYS.length; i++) {
+      action.accept(KEYS[i], this.<V>getValue(KEYS[i]), state);
+    }
+  }
+
+  // SortedArrayStringMap orders the null key first
+  private static boolean precedes(String traceContextKey, String key) {
+    return key != null && traceContextKey.compareTo(key) < 0;
+  }
+
+  @Override
+  @SuppressWarnings({"unchecked", "TypeParameterUnusedInFormals"})
+  public <V> V getValue(String key) {
+    if (TRACE_ID.equals(key)) {
+      return (V) traceId;
+    }
+    if (SPAN_ID.equals(key)) {
+      return (V) spanId;
+    }
+    if (TRACE_FLAGS.equals(key)) {
+      return (V) traceFlags;
+    }
+    return delegate.getValue(key);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return false;
+  }
+
+  @Override
+  public int size() {
+    return delegate.size() + 3;
+  }
+
+  @Override
+  public void clear() {
+    throw frozen();
+  }
+
+  @Override
+  public void freeze() {}
+
+  @Override
+  public boolean isFrozen() {
+    return true;
+  }
+
+  @Override
+  public void putAll(ReadOnlyStringMap source) {
+    throw frozen();
+  }
+
+  @Override
+  public void putValue(String key, Object value) {
+    throw frozen();
+  }
+
+  @Override
+  public void remove(String key) {
+    throw frozen();
+  }
+
+  private static UnsupportedOperationException frozen() {
+    return new UnsupportedOperationException("Frozen collection cannot be modified");
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof ReadOnlyStringMap)) {
+      return false;
+    }
+    return toMap().equals(((ReadOnlyStringMap) obj).toMap());
+  }
+
+  @Override
+  public int hashCode() {
+    return toMap().hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return toMap().toString();
+  }
+}
@@ -39,6 +39,19 @@ public final class SpanDecoratingContextDataInjector implements ContextDataInjec
       return contextData;
     }
 
+    if (contextData == stringMap && !contextData.isFrozen()) {
+      // the reusable map passed by the log event, which is also reused in garbage-free mode
+      contextData.putValue(TRACE_ID, currentContext.getTraceId());
+      contextData.putValue(SPAN_ID, currentContext.getSpanId());
+      contextData.putValue(TRACE_FLAGS, currentContext.getTraceFlags().asHex());
+      return contextData;
+    }
+
+    if (SpanDecoratedStringMap.canDecorate(contextData)) {
+      // e.g. the frozen thread context map, which is shared and must not be modified
+      return new SpanDecoratedStringMap(contextData, currentContext);
+    }
+
     StringMap newContextData = new SortedArrayStringMap(contextData);
     newContextData.putValue(TRACE_ID, currentContext.getTraceId());
     newContextData.putValue(SPAN_ID, currentContext.getSpanId());
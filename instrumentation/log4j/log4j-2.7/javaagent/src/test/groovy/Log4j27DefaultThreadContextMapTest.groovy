@@ -0,0 +1,7 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+class Log4j27DefaultThreadContextMapTest extends Log4j27Test {
+}
@@ -3,7 +3,61 @@
  * SPDX-License-Identifier: Apache-2.0
  */
 
+import io.opentelemetry.api.trace.Span
+import io.opentelemetry.instrumentation.log4j.v2_13_2.ListAppender
 import io.opentelemetry.instrumentation.test.AgentTestTrait
+import org.apache.logging.log4j.LogManager
+import org.apache.logging.log4j.ThreadContext
+import org.apache.logging.log4j.core.impl.ContextDataInjectorFactory
+import org.apache.logging.log4j.util.BiConsumer
+import org.apache.logging.log4j.util.SortedArrayStringMap
+import org.apache.logging.log4j.util.TriConsumer
 
 class Log4j27Test extends Log4j2Test implements AgentTestTrait {
+
+  def "ids are added to thread context data"() {
+    given:
+    def logger = LogManager.getLogger("TestLogger")
+
+    when:
+    ThreadContext.put("user", "alice")
+    Span span = runWithSpan("test") {
+      logger.info("log message")
+      Span.current()
+    }
+    ThreadContext.remove("user")
+
+    def events = ListAppender.get().getEvents()
+
+    then:
+    events.size() == 1
+    events[0].contextData["user"] == "alice"
+    events[0].contextData["trace_id"] == span.spanContext.traceId
+    events[0].contextData["span_id"] == span.spanContext.spanId
+    events[0].contextData["trace_flags"] == "01"
+  }
+
+  def "thread context data is iterated in key order"() {
+    given:
+    def injector = ContextDataInjectorFactory.createInjector()
+
+    when:
+    ThreadContext.put("user", "alice")
+    ThreadContext.put("tenant", "acme")
+    def keys = []
+    def keysWithState = []
+    runWithSpan("test") {
+      // the garbage-free thread context map returns context data that changes with the thread
+      // context
+      def contextData = injector.injectContextData(null, new SortedArrayStringMap())
+      contextData.forEach({ key, value -> keys.add(key) } as BiConsumer)
+      contextData.forEach({ key, value, state -> state.add(key) } as TriConsumer, keysWithState)
+    }
+    ThreadContext.remove("user")
+    ThreadContext.remove("tenant")
+
+    then:
+    keys == ["span_id", "tenant", "trace_flags", "trace_id", "user"]
+    keysWithState == keys
+  }
 }
@@ -5,8 +5,6 @@
 
 package io.opentelemetry.javaagent.instrumentation.logback.v1_0;
 
-import static io.opentelemetry.instrumentation.api.log.LoggingContextConstants.SPAN_ID;
-import static io.opentelemetry.instrumentation.api.log.LoggingContextConstants.TRACE_FLAGS;
 import static io.opentelemetry.instrumentation.api.log.LoggingContextConstants.TRACE_ID;
 import static io.opentelemetry.javaagent.extension.matcher.AgentElementMatchers.hasClassesNamed;
 import static io.opentelemetry.javaagent.extension.matcher.AgentElementMatchers.implementsInterface;
@@ -18,12 +16,12 @@ import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import io.opentelemetry.api.trace.Span;
-import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.instrumentation.logback.v1_0.internal.SpanContextData;
 import io.opentelemetry.instrumentation.logback.v1_0.internal.UnionMap;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeTransformer;
+import io.opentelemetry.javaagent.instrumentation.api.ContextStore;
 import io.opentelemetry.javaagent.instrumentation.api.InstrumentationContext;
-import java.util.HashMap;
 import java.util.Map;
 import net.bytebuddy.asm.Advice;
 import net.bytebuddy.description.type.TypeDescription;
@@ -63,22 +61,37 @@ public class LoggingEventInstrumentation implements TypeInstrumentation {
         return;
       }
 
-      Span currentSpan = InstrumentationContext.get(ILoggingEvent.class, Span.class).get(event);
-      if (currentSpan == null || !currentSpan.getSpanContext().isValid()) {
-        return;
+      // the span context data is computed once per event, appenders and encoders may read the MDC
+      // several times
+      ContextStore<ILoggingEvent, SpanContextData> spanContextDataStore =
+          InstrumentationContext.get(ILoggingEvent.class, SpanContextData.class);
+      SpanContextData spanContextData = spanContextDataStore.get(event);
+      if (spanContextData == null) {
+        Span currentSpan = InstrumentationContext.get(ILoggingEvent.class, Span.class).get(event);
+        if (currentSpan == null || !currentSpan.getSpanContext().isValid()) {
+          return;
+        }
+        spanContextData = new SpanContextData(currentSpan.getSpanContext());
+        spanContextDataStore.put(event, spanContextData);
       }
 
-      Map<String, String> spanContextData = new HashMap<>();
-      SpanContext spanContext = currentSpan.getSpanContext();
-      spanContextData.put(TRACE_ID, spanContext.getTraceId());
-      spanContextData.put(SPAN_ID, spanContext.getSpanId());
-      spanContextData.put(TRACE_FLAGS, spanContext.getTraceFlags().asHex());
-
-      if (contextData == null) {
+      if (contextData == null || contextData.isEmpty()) {
         contextData = spanContextData;
-      } else {
-        contextData = new UnionMap<>(contextData, spanContextData);
+        return;
+      }
+
+      // the MDC property map of an event can't change once it was read, so the union is cached too
+      @SuppressWarnings("rawtypes")
+      ContextStore<ILoggingEvent, UnionMap> unionMapStore =
+          InstrumentationContext.get(ILoggingEvent.class, UnionMap.class);
+      @SuppressWarnings("unchecked")
+      Map<String, String> unionMap = unionMapStore.get(event);
+      if (unionMap == null) {
+        UnionMap<String, String> newUnionMap = new UnionMap<>(contextData, spanContextData);
+        unionMapStore.put(event, newUnionMap);
+        unionMap = newUnionMap;
       }
+      contextData = unionMap;
     }
   }
 }
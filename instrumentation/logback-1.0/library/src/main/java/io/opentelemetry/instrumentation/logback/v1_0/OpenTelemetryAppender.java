@@ -5,8 +5,6 @@
 
 package io.opentelemetry.instrumentation.logback.v1_0;
 
-import static io.opentelemetry.instrumentation.api.log.LoggingContextConstants.SPAN_ID;
-import static io.opentelemetry.instrumentation.api.log.LoggingContextConstants.TRACE_FLAGS;
 import static io.opentelemetry.instrumentation.api.log.LoggingContextConstants.TRACE_ID;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
@@ -15,9 +13,8 @@ import ch.qos.logback.core.UnsynchronizedAppenderBase;
 import ch.qos.logback.core.spi.AppenderAttachable;
 import ch.qos.logback.core.spi.AppenderAttachableImpl;
 import io.opentelemetry.api.trace.Span;
-import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.instrumentation.logback.v1_0.internal.SpanContextData;
 import io.opentelemetry.instrumentation.logback.v1_0.internal.UnionMap;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
@@ -38,13 +35,9 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
       return event;
     }
 
-    Map<String, String> contextData = new HashMap<>();
-    SpanContext spanContext = currentSpan.getSpanContext();
-    contextData.put(TRACE_ID, spanContext.getTraceId());
-    contextData.put(SPAN_ID, spanContext.getSpanId());
-    contextData.put(TRACE_FLAGS, spanContext.getTraceFlags().asHex());
+    Map<String, String> contextData = new SpanContextData(currentSpan.getSpanContext());
 
-    if (eventContext == null) {
+    if (eventContext == null || eventContext.isEmpty()) {
       eventContext = contextData;
     } else {
       eventContext = new UnionMap<>(eventContext, contextData);
@@ -0,0 +1,85 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.logback.v1_0.internal;
+
+import static io.opentelemetry.instrumentation.api.log.LoggingContextConstants.SPAN_ID;
+import static io.opentelemetry.instrumentation.api.log.LoggingContextConstants.TRACE_FLAGS;
+import static io.opentelemetry.instrumentation.api.log.LoggingContextConstants.TRACE_ID;
+
+import io.opentelemetry.api.trace.SpanContext;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An immutable map with the trace id, span id and trace flags of a span context, keyed like the
+ * MDC entries that are added to logging events. The values are computed once when the map is
+ * created, lookups don't allocate. The map is serializable like the MDC maps of logging events,
+ * which are serialized e.g. by socket appenders.
+ */
+public final class SpanContextData extends AbstractMap<String, String> implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String traceId;
+  private final String spanId;
+  private final String traceFlags;
+  @Nullable private transient Set<Entry<String, String>> entrySet;
+
+  public SpanContextData(SpanContext spanContext) {
+    this.traceId = spanContext.getTraceId();
+    this.spanId = spanContext.getSpanId();
+    this.traceFlags = spanContext.getTraceFlags().asHex();
+  }
+
+  @Override
+  public int size() {
+    return 3;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return false;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return TRACE_ID.equals(key) || SPAN_ID.equals(key) || TRACE_FLAGS.equals(key);
+  }
+
+  @Override
+  @Nullable
+  public String get(Object key) {
+    if (TRACE_ID.equals(key)) {
+      return traceId;
+    }
+    if (SPAN_ID.equals(key)) {
+      return spanId;
+    }
+    if (TRACE_FLAGS.equals(key)) {
+      return traceFlags;
+    }
+    return null;
+  }
+
+  @Override
+  public Set<Entry<String, String>> entrySet() {
+    if (entrySet != null) {
+      return entrySet;
+    }
+    return entrySet =
+        Collections.unmodifiableSet(
+            new LinkedHashSet<>(
+                Arrays.asList(
+                    new SimpleImmutableEntry<>(TRACE_ID, traceId),
+                    new SimpleImmutableEntry<>(SPAN_ID, spanId),
+                    new SimpleImmutableEntry<>(TRACE_FLAGS, traceFlags))));
+  }
+}
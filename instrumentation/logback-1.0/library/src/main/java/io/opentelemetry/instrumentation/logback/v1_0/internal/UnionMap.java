@@ -5,6 +5,7 @@
 
 package io.opentelemetry.instrumentation.logback.v1_0.internal;
 
+import java.io.Serializable;
 import java.util.AbstractMap;
 import java.util.AbstractSet;
 import java.util.Collection;
@@ -13,17 +14,21 @@ import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * An immutable view over two maps, with keys resolving from the first map first, or otherwise the
- * second if not present in the first.
+ * second if not present in the first. The view is serializable if both maps are, since it's
+ * returned as the MDC map of logging events.
  */
-public final class UnionMap<K, V> extends AbstractMap<K, V> {
+public final class UnionMap<K, V> extends AbstractMap<K, V> implements Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   private final Map<K, V> first;
   private final Map<K, V> second;
   private int size = -1;
-  private Set<Entry<K, V>> entrySet;
+  @Nullable private transient Set<Entry<K, V>> entrySet;
 
   public UnionMap(Map<K, V> first, Map<K, V> second) {
     this.first = first;
@@ -0,0 +1,78 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.logback.v1_0.internal
+
+import io.opentelemetry.api.trace.SpanContext
+import io.opentelemetry.api.trace.TraceFlags
+import io.opentelemetry.api.trace.TraceState
+import spock.lang.Specification
+
+class SpanContextDataTest extends Specification {
+
+  def "span context data"() {
+    when:
+    def data = new SpanContextData(SpanContext.create(
+      "ff01020304050600ff0a0b0c0d0e0f00",
+      "090a0b0c0d0e0f00",
+      TraceFlags.getSampled(),
+      TraceState.getDefault()))
+
+    then:
+    data['trace_id'] == "ff01020304050600ff0a0b0c0d0e0f00"
+    data['span_id'] == "090a0b0c0d0e0f00"
+    data['trace_flags'] == "01"
+    data['cat'] == null
+
+    !data.isEmpty()
+    data.size() == 3
+    data.containsKey('trace_id')
+    !data.containsKey('cat')
+    data == [trace_id: "ff01020304050600ff0a0b0c0d0e0f00", span_id: "090a0b0c0d0e0f00", trace_flags: "01"]
+
+    def union = new UnionMap([cat: 'meow'], data)
+    union.size() == 4
+    union['span_id'] == "090a0b0c0d0e0f00"
+  }
+
+  def "span context data is immutable"() {
+    setup:
+    def data = new SpanContextData(SpanContext.getInvalid())
+
+    when:
+    data.put('cat', 'meow')
+
+    then:
+    thrown(UnsupportedOperationException)
+
+    when:
+    data.entrySet().clear()
+
+    then:
+    thrown(UnsupportedOperationException)
+  }
+
+  def "span context data is serializable"() {
+    setup:
+    def data = new SpanContextData(SpanContext.create(
+      "ff01020304050600ff0a0b0c0d0e0f00",
+      "090a0b0c0d0e0f00",
+      TraceFlags.getSampled(),
+      TraceState.getDefault()))
+    // computes the cached entry set, which is not serialized
+    data.entrySet()
+
+    when:
+    def bytes = new ByteArrayOutputStream()
+    new ObjectOutputStream(bytes).withCloseable { it.writeObject(data) }
+    def deserialized = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))
+      .withCloseable { it.readObject() }
+
+    then:
+    deserialized instanceof SpanContextData
+    deserialized == [trace_id: "ff01020304050600ff0a0b0c0d0e0f00", span_id: "090a0b0c0d0e0f00", trace_flags: "01"]
+    deserialized.entrySet().size() == 3
+  }
+}
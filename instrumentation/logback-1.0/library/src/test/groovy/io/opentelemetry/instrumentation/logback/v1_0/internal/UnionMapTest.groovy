@@ -78,4 +78,23 @@ class UnionMapTest extends Specification {
     [cat: 'meow']          | Collections.emptyMap()
     Collections.emptyMap() | [cat: 'meow']
   }
+
+  def "union map is serializable"() {
+    setup:
+    def union = new UnionMap([cat: 'meow'], [dog: 'bark'])
+    // computes the cached entry set, which is not serialized
+    union.entrySet()
+
+    when:
+    def bytes = new ByteArrayOutputStream()
+    new ObjectOutputStream(bytes).withCloseable { it.writeObject(union) }
+    def deserialized = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))
+      .withCloseable { it.readObject() }
+
+    then:
+    deserialized instanceof UnionMap
+    deserialized == [cat: 'meow', dog: 'bark']
+    deserialized.size() == 2
+    deserialized.entrySet().size() == 2
+  }
 }
@@ -11,6 +11,7 @@ import io.opentelemetry.api.trace.Span
 import io.opentelemetry.instrumentation.test.InstrumentationSpecification
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
+import org.slf4j.MDC
 import spock.lang.Shared
 
 abstract class AbstractLogbackTest extends InstrumentationSpecification {
@@ -90,4 +91,41 @@ abstract class AbstractLogbackTest extends InstrumentationSpecification {
     events[2].getMDCPropertyMap().get("span_id") == span2.spanContext.spanId
     events[2].getMDCPropertyMap().get("trace_flags") == "01"
   }
+
+  def "mdc of event with span is serializable"() {
+    when:
+    Span span = runWithSpan("test") {
+      logger.info("log message 1")
+      MDC.put("key", "value")
+      try {
+        logger.info("log message 2")
+      } finally {
+        MDC.remove("key")
+      }
+      Span.current()
+    }
+
+    def events = listAppender.list
+
+    then:
+    events.size() == 2
+    serializeAndDeserialize(events[0].getMDCPropertyMap()) == [
+      trace_id   : span.spanContext.traceId,
+      span_id    : span.spanContext.spanId,
+      trace_flags: "01"
+    ]
+    serializeAndDeserialize(events[1].getMDCPropertyMap()) == [
+      key        : "value",
+      trace_id   : span.spanContext.traceId,
+      span_id    : span.spanContext.spanId,
+      trace_flags: "01"
+    ]
+  }
+
+  private static Object serializeAndDeserialize(Object object) {
+    def bytes = new ByteArrayOutputStream()
+    new ObjectOutputStream(bytes).withCloseable { it.writeObject(object) }
+    return new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))
+      .withCloseable { it.readObject() }
+  }
 }
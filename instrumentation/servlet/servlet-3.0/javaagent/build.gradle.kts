@@ -36,3 +36,20 @@ dependencies {
   latestDepTestLibrary("org.apache.tomcat.embed:tomcat-embed-core:9.+")
   latestDepTestLibrary("org.apache.tomcat.embed:tomcat-embed-jasper:9.+")
 }
+
+tasks {
+  // server span names must be the same when they are only computed once the span ends
+  val testDeferredServerSpanNaming by registering(Test::class) {
+    filter {
+      includeTestsMatching("*DeferredServerSpanNamingTest")
+    }
+    jvmArgs("-Dotel.instrumentation.common.experimental.deferred-server-span-naming.enabled=true")
+  }
+
+  named<Test>("test") {
+    dependsOn(testDeferredServerSpanNaming)
+    filter {
+      excludeTestsMatching("*DeferredServerSpanNamingTest")
+    }
+  }
+}
@@ -0,0 +1,12 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+// run by the testDeferredServerSpanNaming task: server span names must be the same when they are
+// only computed once the span ends
+class TomcatServlet3DeferredServerSpanNamingTest extends TomcatServlet3TestSync {
+}
+
+class TomcatServlet3MappingDeferredServerSpanNamingTest extends TomcatServlet3MappingTest {
+}
@@ -63,3 +63,20 @@ tasks.withType<Test>().configureEach {
   // TODO run tests both with and without experimental span attributes
   jvmArgs("-Dotel.instrumentation.spring-webmvc.experimental-span-attributes=true")
 }
+
+tasks {
+  // server span names must be the same when they are only computed once the span ends
+  val testDeferredServerSpanNaming by registering(Test::class) {
+    filter {
+      includeTestsMatching("*DeferredServerSpanNamingTest")
+    }
+    jvmArgs("-Dotel.instrumentation.common.experimental.deferred-server-span-naming.enabled=true")
+  }
+
+  named<Test>("test") {
+    dependsOn(testDeferredServerSpanNaming)
+    filter {
+      excludeTestsMatching("*DeferredServerSpanNamingTest")
+    }
+  }
+}
@@ -0,0 +1,11 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package test.boot
+
+// run by the testDeferredServerSpanNaming task: server span names must be the same when they are
+// only computed once the span ends
+class SpringBootDeferredServerSpanNamingTest extends SpringBootBasedTest {
+}
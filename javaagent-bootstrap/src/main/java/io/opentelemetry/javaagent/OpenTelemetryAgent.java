@@ -45,10 +45,11 @@ public final class OpenTelemetryAgent {
   }
 
   public static void agentmain(String agentArgs, Instrumentation inst) {
+    long startNanos = System.nanoTime();
     try {
       File javaagentFile = installBootstrapJar(inst);
       InstrumentationHolder.setInstrumentation(inst);
-      AgentInitializer.initialize(inst, javaagentFile);
+      AgentInitializer.initialize(inst, javaagentFile, startNanos);
     } catch (Throwable ex) {
       // Don't rethrow.  We don't have a log manager here, so just print.
       System.err.println("ERROR " + OpenTelemetryAgent.class.getName());
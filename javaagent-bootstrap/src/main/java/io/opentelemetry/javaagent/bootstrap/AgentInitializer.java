@@ -25,10 +25,20 @@ public final class AgentInitializer {
   // fields must be managed under class lock
   @Nullable private static ClassLoader agentClassLoader = null;
 
+  // System.nanoTime() timestamps of the bootstrap phases, read by the agent startup profiler
+  private static long premainStartNanos;
+  private static long initializeStartNanos;
+  private static long agentClassLoaderCreatedNanos;
+
   // called via reflection in the OpenTelemetryAgent class
-  public static void initialize(Instrumentation inst, File javaagentFile) throws Exception {
+  // premainStartNanos is the System.nanoTime() at which the agent premain started
+  public static void initialize(Instrumentation inst, File javaagentFile, long premainStartNanos)
+      throws Exception {
     if (agentClassLoader == null) {
+      AgentInitializer.premainStartNanos = premainStartNanos;
+      initializeStartNanos = System.nanoTime();
       agentClassLoader = createAgentClassLoader("inst", javaagentFile);
+      agentClassLoaderCreatedNanos = System.nanoTime();
 
       Class<?> agentInstallerClass =
           agentClassLoader.loadClass("io.opentelemetry.javaagent.tooling.AgentInstaller");
@@ -44,6 +54,18 @@ public final class AgentInitializer {
     }
   }
 
+  public static long getPremainStartNanos() {
+    return premainStartNanos;
+  }
+
+  public static long getInitializeStartNanos() {
+    return initializeStartNanos;
+  }
+
+  public static long getAgentClassLoaderCreatedNanos() {
+    return agentClassLoaderCreatedNanos;
+  }
+
   // TODO misleading name
   public static synchronized ClassLoader getAgentClassLoader() {
     return agentClassLoader;
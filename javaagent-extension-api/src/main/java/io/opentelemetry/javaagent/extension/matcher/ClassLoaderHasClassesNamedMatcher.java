@@ -12,7 +12,7 @@ import net.bytebuddy.matcher.ElementMatcher;
 
 class ClassLoaderHasClassesNamedMatcher extends ElementMatcher.Junction.AbstractBase<ClassLoader> {
 
-  private final Cache<ClassLoader, Boolean> cache =
+  private final Cache<ClassLoader, Result> cache =
       Cache.newBuilder().setWeakKeys().setMaximumSize(25).build();
 
   private final String[] resources;
@@ -22,7 +22,6 @@ class ClassLoaderHasClassesNamedMatcher extends ElementMatcher.Junction.Abstract
     for (int i = 0; i < resources.length; i++) {
       resources[i] = resources[i].replace(".", "/") + ".class";
     }
-    ClassLoaderMatcherCacheHolder.addCache(cache);
   }
 
   @Override
@@ -31,7 +30,15 @@ class ClassLoaderHasClassesNamedMatcher extends ElementMatcher.Junction.Abstract
       // Can't match the bootstrap classloader.
       return false;
     }
-    return cache.computeIfAbsent(cl, this::hasResources);
+    // read the generation before computing the result, so that an invalidation that happens
+    // during the computation makes the result stale
+    int generation = ClassLoaderMatcherCacheHolder.getGeneration(cl);
+    Result result = cache.get(cl);
+    if (result == null || result.generation != generation) {
+      result = new Result(hasResources(cl), generation);
+      cache.put(cl, result);
+    }
+    return result.matches;
   }
 
   private boolean hasResources(ClassLoader cl) {
@@ -47,4 +54,15 @@ class ClassLoaderHasClassesNamedMatcher extends ElementMatcher.Junction.Abstract
     }
     return true;
   }
+
+  private static final class Result {
+    final boolean matches;
+    // the class loader generation the result was computed for, see ClassLoaderMatcherCacheHolder
+    final int generation;
+
+    Result(boolean matches, int generation) {
+      this.matches = matches;
+      this.generation = generation;
+    }
+  }
 }
@@ -5,14 +5,11 @@
 
 package io.opentelemetry.javaagent.extension.matcher;
 
-import static io.opentelemetry.javaagent.extension.matcher.SafeHasSuperTypeMatcher.safeGetSuperClass;
 import static net.bytebuddy.matcher.ElementMatchers.hasSignature;
 
-import java.util.HashSet;
-import java.util.Set;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDefinition;
-import net.bytebuddy.description.type.TypeList;
+import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
 
 /**
@@ -37,36 +34,34 @@ class HasSuperMethodMatcher<T extends MethodDescription>
     }
     Junction<MethodDescription> signatureMatcher = hasSignature(target.asSignatureToken());
     TypeDefinition declaringType = target.getDeclaringType();
-    Set<TypeDefinition> checkedInterfaces = new HashSet<>(8);
+    if (declaringType == null) {
+      return false;
+    }
+    if (matchesDeclaredMethods(declaringType, signatureMatcher)) {
+      return true;
+    }
 
-    while (declaringType != null) {
-      for (MethodDescription methodDescription : declaringType.getDeclaredMethods()) {
-        if (signatureMatcher.matches(methodDescription) && matcher.matches(methodDescription)) {
-          return true;
-        }
+    // the hierarchy of the declaring type is memoized and shared with the type matchers, the super
+    // types are generic so that their methods take and return the actual type arguments
+    TypeDescription declaringTypeErasure = declaringType.asErasure();
+    for (TypeDescription.Generic superClass : SuperTypes.superClasses(declaringTypeErasure)) {
+      if (matchesDeclaredMethods(superClass, signatureMatcher)) {
+        return true;
       }
-      if (matchesInterface(declaringType.getInterfaces(), signatureMatcher, checkedInterfaces)) {
+    }
+    for (TypeDescription.Generic interfaceType : SuperTypes.interfaces(declaringTypeErasure)) {
+      if (matchesDeclaredMethods(interfaceType, signatureMatcher)) {
         return true;
       }
-      declaringType = safeGetSuperClass(declaringType);
     }
     return false;
   }
 
-  private boolean matchesInterface(
-      TypeList.Generic interfaces,
-      Junction<MethodDescription> signatureMatcher,
-      Set<TypeDefinition> checkedInterfaces) {
-    for (TypeDefinition type : interfaces) {
-      if (checkedInterfaces.add(type)) {
-        for (MethodDescription methodDescription : type.getDeclaredMethods()) {
-          if (signatureMatcher.matches(methodDescription) && matcher.matches(methodDescription)) {
-            return true;
-          }
-        }
-        if (matchesInterface(type.getInterfaces(), signatureMatcher, checkedInterfaces)) {
-          return true;
-        }
+  private boolean matchesDeclaredMethods(
+      TypeDefinition type, Junction<MethodDescription> signatureMatcher) {
+    for (MethodDescription methodDescription : type.getDeclaredMethods()) {
+      if (signatureMatcher.matches(methodDescription) && matcher.matches(methodDescription)) {
+        return true;
       }
     }
     return false;
@@ -5,18 +5,8 @@
 
 package io.opentelemetry.javaagent.extension.matcher;
 
-import static io.opentelemetry.javaagent.extension.matcher.SafeErasureMatcher.safeAsErasure;
-import static io.opentelemetry.javaagent.extension.matcher.Utils.safeTypeDefinitionName;
-
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Set;
-import net.bytebuddy.description.type.TypeDefinition;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
-import org.checkerframework.checker.nullness.qual.Nullable;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * An element matcher that matches a super type. This is different from {@link
@@ -33,12 +23,13 @@ import org.slf4j.LoggerFactory;
  * failSafe(hasSuperType(...))} does) which means the code is more resilient to classpath
  * inconsistencies
  *
+ * <p>The hierarchy of the matched type is memoized by {@link SuperTypes}, so it is walked only once
+ * for all instrumentations that match the same type.
+ *
  * @see net.bytebuddy.matcher.HasSuperTypeMatcher
  */
 class SafeHasSuperTypeMatcher extends ElementMatcher.Junction.AbstractBase<TypeDescription> {
 
-  private static final Logger logger = LoggerFactory.getLogger(SafeHasSuperTypeMatcher.class);
-
   /** The matcher to apply to any super type of the matched type. */
   private final ElementMatcher<TypeDescription.Generic> matcher;
 
@@ -57,60 +48,23 @@ class SafeHasSuperTypeMatcher extends ElementMatcher.Junction.AbstractBase<TypeD
 
   @Override
   public boolean matches(TypeDescription target) {
-    Set<TypeDescription> checkedInterfaces = new HashSet<>(8);
-    // We do not use foreach loop and iterator interface here because we need to catch exceptions
-    // in {@code getSuperClass} calls
-    TypeDefinition typeDefinition = target;
-    while (typeDefinition != null) {
-      if (((!interfacesOnly || typeDefinition.isInterface())
-              && matcher.matches(typeDefinition.asGenericType()))
-          || hasInterface(typeDefinition, checkedInterfaces)) {
-        return true;
-      }
-      typeDefinition = safeGetSuperClass(typeDefinition);
+    if ((!interfacesOnly || target.isInterface()) && matcher.matches(target.asGenericType())) {
+      return true;
     }
-    return false;
-  }
-
-  /**
-   * Matches a type's interfaces against the provided matcher.
-   *
-   * @param typeDefinition The type for which to check all implemented interfaces.
-   * @param checkedInterfaces The interfaces that have already been checked.
-   * @return {@code true} if any interface matches the supplied matcher.
-   */
-  private boolean hasInterface(
-      TypeDefinition typeDefinition, Set<TypeDescription> checkedInterfaces) {
-    for (TypeDefinition interfaceType : safeGetInterfaces(typeDefinition)) {
-      TypeDescription erasure = safeAsErasure(interfaceType);
-      if (erasure != null) {
-        if (checkedInterfaces.add(interfaceType.asErasure())
-            && (matcher.matches(interfaceType.asGenericType())
-                || hasInterface(interfaceType, checkedInterfaces))) {
+    // super classes are never interfaces
+    if (!interfacesOnly) {
+      for (TypeDescription.Generic superClass : SuperTypes.superClasses(target)) {
+        if (matcher.matches(superClass)) {
           return true;
         }
       }
     }
-    return false;
-  }
-
-  private static Iterable<TypeDefinition> safeGetInterfaces(TypeDefinition typeDefinition) {
-    return new SafeInterfaceIterator(typeDefinition);
-  }
-
-  static TypeDefinition safeGetSuperClass(TypeDefinition typeDefinition) {
-    try {
-      return typeDefinition.getSuperClass();
-    } catch (Throwable e) {
-      if (logger.isDebugEnabled()) {
-        logger.debug(
-            "{} trying to get super class for target {}: {}",
-            e.getClass().getSimpleName(),
-            safeTypeDefinitionName(typeDefinition),
-            e.getMessage());
+    for (TypeDescription.Generic interfaceType : SuperTypes.interfaces(target)) {
+      if (matcher.matches(interfaceType)) {
+        return true;
       }
-      return null;
     }
+    return false;
   }
 
   @Override
@@ -134,71 +88,4 @@ class SafeHasSuperTypeMatcher extends ElementMatcher.Junction.AbstractBase<TypeD
   public int hashCode() {
     return matcher.hashCode();
   }
-
-  /**
-   * TypeDefinition#getInterfaces() produces an iterator which may throw an exception during
-   * iteration if an interface is absent from the classpath.
-   *
-   * <p>The caller MUST call hasNext() before calling next().
-   *
-   * <p>This wrapper exists to allow getting interfaces even if the lookup on one fails.
-   */
-  // Private class, let's save the allocation
-  @SuppressWarnings("IterableAndIterator")
-  private static class SafeInterfaceIterator
-      implements Iterator<TypeDefinition>, Iterable<TypeDefinition> {
-    private final TypeDefinition typeDefinition;
-    @Nullable private final Iterator<TypeDescription.Generic> it;
-    private TypeDefinition next;
-
-    private SafeInterfaceIterator(TypeDefinition typeDefinition) {
-      this.typeDefinition = typeDefinition;
-      Iterator<TypeDescription.Generic> it = null;
-      try {
-        it = typeDefinition.getInterfaces().iterator();
-      } catch (Throwable e) {
-        logException(typeDefinition, e);
-      }
-      this.it = it;
-    }
-
-    @Override
-    public boolean hasNext() {
-      if (null != it && it.hasNext()) {
-        try {
-          next = it.next();
-          return true;
-        } catch (Throwable e) {
-          logException(typeDefinition, e);
-          return false;
-        }
-      }
-      return false;
-    }
-
-    @Override
-    public TypeDefinition next() {
-      return next;
-    }
-
-    @Override
-    public void remove() {
-      throw new UnsupportedOperationException();
-    }
-
-    @Override
-    public Iterator<TypeDefinition> iterator() {
-      return this;
-    }
-
-    private static void logException(TypeDefinition typeDefinition, Throwable e) {
-      if (logger.isDebugEnabled()) {
-        logger.debug(
-            "{} trying to get interfaces for target {}: {}",
-            e.getClass().getSimpleName(),
-            safeTypeDefinitionName(typeDefinition),
-            e.getMessage());
-      }
-    }
-  }
 }
@@ -0,0 +1,267 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.extension.matcher;
+
+import static io.opentelemetry.javaagent.extension.matcher.SafeErasureMatcher.safeAsErasure;
+import static io.opentelemetry.javaagent.extension.matcher.Utils.safeTypeDefinitionName;
+
+import io.opentelemetry.instrumentation.api.caching.Cache;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import net.bytebuddy.description.type.TypeDefinition;
+import net.bytebuddy.description.type.TypeDescription;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Memoizes the super classes and interfaces of types, shared by all hierarchy matchers in {@link
+ * AgentElementMatchers}.
+ *
+ * <p>All matchers of all instrumentations are applied to the same type description when a class is
+ * loaded, and the type descriptions of super types are shared between their subtypes by the
+ * agent's type pool, which is per class loader. Keying the memo on type description identity makes
+ * every matcher after the first one reuse the hierarchy of the loaded class, and every subtype
+ * reuse the hierarchy of its super types that aren't parameterized; the hierarchy of a
+ * parameterized super type depends on its type arguments and is walked again. The super classes
+ * and the interfaces are computed separately, so that matchers that only walk super classes never
+ * resolve interfaces.
+ *
+ * <p>Failures to resolve a part of the hierarchy are logged and the part is left out, the rest of
+ * the hierarchy is still walked.
+ */
+final class SuperTypes {
+
+  private static final Logger logger = LoggerFactory.getLogger(SuperTypes.class);
+
+  private static final int MAX_SIZE = 8192;
+  private static final TypeDescription.Generic[] NO_CLASSES = new TypeDescription.Generic[0];
+  private static final TypeDescription.Generic[] NO_INTERFACES = new TypeDescription.Generic[0];
+
+  // the values may reference their own key, e.g. the interface Comparable<X> of a class X, such
+  // entries are only collected once they are evicted
+  private static final Cache<TypeDescription, Entry> cache =
+      Cache.newBuilder().setWeakKeys().setMaximumSize(MAX_SIZE).build();
+
+  /**
+   * Returns the generic super classes of {@code type}, starting with its direct super class. Type
+   * arguments are resolved against {@code type}, e.g. a class {@code Foo extends Base<String>}
+   * gets {@code Base<String>}, whose methods take and return {@code String}s.
+   */
+  static TypeDescription.Generic[] superClasses(TypeDescription type) {
+    Entry entry = entry(type);
+    TypeDescription.Generic[] superClasses = entry.superClasses;
+    if (superClasses == null) {
+      superClasses = computeSuperClasses(type);
+      entry.superClasses = superClasses;
+    }
+    return superClasses;
+  }
+
+  /**
+   * Returns the generic interfaces that {@code type} and its super classes implement directly or
+   * indirectly, each erasure once. Type arguments are resolved like for {@link #superClasses}.
+   */
+  static TypeDescription.Generic[] interfaces(TypeDescription type) {
+    return interfaces(type, new Walk());
+  }
+
+  private static TypeDescription.Generic[] interfaces(TypeDescription type, Walk walk) {
+    Entry entry = entry(type);
+    TypeDescription.Generic[] interfaces = entry.interfaces;
+    if (interfaces == null) {
+      if (!walk.visiting.add(type)) {
+        // cyclic hierarchy, the interfaces are collected by the type that started the cycle
+        walk.cycleCuts++;
+        return NO_INTERFACES;
+      }
+      int cycleCuts = walk.cycleCuts;
+      interfaces = computeInterfaces(type, walk);
+      walk.visiting.remove(type);
+      // a result that was cut short by a cycle misses the interfaces of the rest of the cycle
+      if (walk.cycleCuts == cycleCuts) {
+        entry.interfaces = interfaces;
+      }
+    }
+    return interfaces;
+  }
+
+  private static Entry entry(TypeDescription type) {
+    Entry entry = cache.get(type);
+    if (entry == null) {
+      // the entries are computed lazily and recursively, so computeIfAbsent() can't be used
+      entry = new Entry();
+      cache.put(type, entry);
+    }
+    return entry;
+  }
+
+  private static TypeDescription.Generic[] computeSuperClasses(TypeDefinition type) {
+    TypeDescription.Generic superClass = safeGetSuperClass(type);
+    if (superClass == null) {
+      return NO_CLASSES;
+    }
+    // the hierarchy of a super class without type arguments is the same for all its subtypes
+    TypeDescription erasure = isNonGeneric(superClass) ? safeAsErasure(superClass) : null;
+    TypeDescription.Generic[] rest =
+        erasure != null ? superClasses(erasure) : computeSuperClasses(superClass);
+    TypeDescription.Generic[] superClasses = new TypeDescription.Generic[rest.length + 1];
+    superClasses[0] = superClass;
+    System.arraycopy(rest, 0, superClasses, 1, rest.length);
+    return superClasses;
+  }
+
+  private static TypeDescription.Generic[] computeInterfaces(TypeDescription type, Walk walk) {
+    // keyed by erasure
+    Map<TypeDescription, TypeDescription.Generic> interfaces = new LinkedHashMap<>();
+    addInterfaces(type, interfaces, walk);
+    for (TypeDescription.Generic superClass : superClasses(type)) {
+      TypeDescription erasure = isNonGeneric(superClass) ? safeAsErasure(superClass) : null;
+      if (erasure != null) {
+        // the interfaces of the rest of the hierarchy are memoized for the super class
+        addAll(interfaces, interfaces(erasure, walk));
+        break;
+      }
+      addInterfaces(superClass, interfaces, walk);
+    }
+    return interfaces.values().toArray(NO_INTERFACES);
+  }
+
+  private static void addInterfaces(
+      TypeDefinition type, Map<TypeDescription, TypeDescription.Generic> interfaces, Walk walk) {
+    for (TypeDefinition interfaceType : new SafeInterfaceIterator(type)) {
+      TypeDescription erasure = safeAsErasure(interfaceType);
+      if (erasure != null && !interfaces.containsKey(erasure)) {
+        interfaces.put(erasure, interfaceType.asGenericType());
+        if (isNonGeneric(interfaceType)) {
+          addAll(interfaces, interfaces(erasure, walk));
+        } else {
+          // the super interfaces depend on the type arguments
+          addInterfaces(interfaceType, interfaces, walk);
+        }
+      }
+    }
+  }
+
+  private static void addAll(
+      Map<TypeDescription, TypeDescription.Generic> interfaces,
+      TypeDescription.Generic[] interfaceTypes) {
+    for (TypeDescription.Generic interfaceType : interfaceTypes) {
+      TypeDescription erasure = safeAsErasure(interfaceType);
+      if (erasure != null) {
+        interfaces.putIfAbsent(erasure, interfaceType);
+      }
+    }
+  }
+
+  private static boolean isNonGeneric(TypeDefinition typeDefinition) {
+    try {
+      return typeDefinition.getSort() == TypeDefinition.Sort.NON_GENERIC;
+    } catch (Throwable e) {
+      // walked as a generic type, which doesn't use the memoized hierarchy
+      return false;
+    }
+  }
+
+  @Nullable
+  private static TypeDescription.Generic safeGetSuperClass(TypeDefinition typeDefinition) {
+    try {
+      return typeDefinition.getSuperClass();
+    } catch (Throwable e) {
+      if (logger.isDebugEnabled()) {
+        logger.debug(
+            "{} trying to get super class for target {}: {}",
+            e.getClass().getSimpleName(),
+            safeTypeDefinitionName(typeDefinition),
+            e.getMessage());
+      }
+      return null;
+    }
+  }
+
+  // the state of a single interfaces() call
+  private static final class Walk {
+    final Set<TypeDescription> visiting = new HashSet<>();
+    int cycleCuts;
+  }
+
+  private static final class Entry {
+    @Nullable volatile TypeDescription.Generic[] superClasses;
+    @Nullable volatile TypeDescription.Generic[] interfaces;
+  }
+
+  /**
+   * TypeDefinition#getInterfaces() produces an iterator which may throw an exception during
+   * iteration if an interface is absent from the classpath.
+   *
+   * <p>The caller MUST call hasNext() before calling next().
+   *
+   * <p>This wrapper exists to allow getting interfaces even if the lookup on one fails.
+   */
+  // Private class, let's save the allocation
+  @SuppressWarnings("IterableAndIterator")
+  private static class SafeInterfaceIterator
+      implements Iterator<TypeDefinition>, Iterable<TypeDefinition> {
+    private final TypeDefinition typeDefinition;
+    @Nullable private final Iterator<TypeDescription.Generic> it;
+    private TypeDefinition next;
+
+    private SafeInterfaceIterator(TypeDefinition typeDefinition) {
+      this.typeDefinition = typeDefinition;
+      Iterator<TypeDescription.Generic> it = null;
+      try {
+        it = typeDefinition.getInterfaces().iterator();
+      } catch (Throwable e) {
+        logException(typeDefinition, e);
+      }
+      this.it = it;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (null != it && it.hasNext()) {
+        try {
+          next = it.next();
+          return true;
+        } catch (Throwable e) {
+          logException(typeDefinition, e);
+          return false;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public TypeDefinition next() {
+      return next;
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<TypeDefinition> iterator() {
+      return this;
+    }
+
+    private static void logException(TypeDefinition typeDefinition, Throwable e) {
+      if (logger.isDebugEnabled()) {
+        logger.debug(
+            "{} trying to get interfaces for target {}: {}",
+            e.getClass().getSimpleName(),
+            safeTypeDefinitionName(typeDefinition),
+            e.getMessage());
+      }
+    }
+  }
+
+  private SuperTypes() {}
+}
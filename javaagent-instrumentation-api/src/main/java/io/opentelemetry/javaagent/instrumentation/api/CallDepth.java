@@ -38,6 +38,34 @@ public final class CallDepth {
     return CallDepthThreadLocalMap.getCallDepth(cls);
   }
 
+  /**
+   * Return the slot assigned to a given class, assigning one on the first call. Instrumentations on
+   * hot paths can look the slot up once, e.g. in a static field of a helper class, and then use
+   * {@link #forSlot(int)}, which skips the per-class lookup that {@link #forClass(Class)} does on
+   * every call.
+   *
+   * <p>The slot is the same for all callers using the same class, so {@code
+   * forSlot(slotForClass(cls))} and {@code forClass(cls)} track the same call depth. Slots are
+   * never reclaimed, so they should only be assigned to a bounded set of classes, e.g. JDK
+   * interfaces like {@code java.sql.Statement}, and not to application classes that may be loaded
+   * again.
+   */
+  public static int slotForClass(Class<?> cls) {
+    return CallDepthThreadLocalMap.getSlot(cls);
+  }
+
+  /**
+   * Return the current call depth for a slot obtained from {@link #slotForClass(Class)}.
+   *
+   * <p>The returned instance is unique per given slot and per thread.
+   *
+   * @throws IllegalArgumentException if {@code slot} wasn't returned by {@link
+   *     #slotForClass(Class)}
+   */
+  public static CallDepth forSlot(int slot) {
+    return CallDepthThreadLocalMap.getCallDepth(slot);
+  }
+
   /**
    * Increment the current call depth and return the previous value. This method will always return
    * 0 if it's the first (outermost) call.
@@ -5,6 +5,14 @@
 
 package io.opentelemetry.javaagent.instrumentation.api;
 
+import java.util.Arrays;
+
+/**
+ * Every class used as a key gets its own {@link ThreadLocal}, which goes away together with the
+ * class. Keys that are looked up on hot paths can be assigned a slot on request; each thread keeps
+ * the {@link CallDepth} instances of those keys in an array indexed by the slot, which grows as
+ * slots are assigned. Slots are never reclaimed.
+ */
 final class CallDepthThreadLocalMap {
 
   private static final ClassValue<ThreadLocalDepth> TLS =
@@ -15,15 +23,84 @@ final class CallDepthThreadLocalMap {
         }
       };
 
+  private static final Object slotLock = new Object();
+
+  // the keys slots were assigned to, indexed by slot
+  private static volatile ThreadLocalDepth[] slotKeys = new ThreadLocalDepth[0];
+
+  private static final ThreadLocal<CallDepth[]> SLOTS =
+      new ThreadLocal<CallDepth[]>() {
+        @Override
+        protected CallDepth[] initialValue() {
+          return new CallDepth[slotKeys.length];
+        }
+      };
+
+  static int getSlot(Class<?> k) {
+    return TLS.get(k).slot();
+  }
+
   static CallDepth getCallDepth(Class<?> k) {
     return TLS.get(k).get();
   }
 
+  static CallDepth getCallDepth(int slot) {
+    CallDepth[] callDepths = SLOTS.get();
+    if (slot < 0 || slot >= callDepths.length) {
+      ThreadLocalDepth[] keys = slotKeys;
+      if (slot < 0 || slot >= keys.length) {
+        throw new IllegalArgumentException("No call depth slot " + slot + " was assigned");
+      }
+      callDepths = Arrays.copyOf(callDepths, keys.length);
+      SLOTS.set(callDepths);
+    }
+    CallDepth callDepth = callDepths[slot];
+    if (callDepth == null) {
+      callDepth = slotKeys[slot].removeThreadLocalDepth();
+      callDepths[slot] = callDepth;
+    }
+    return callDepth;
+  }
+
   private static final class ThreadLocalDepth extends ThreadLocal<CallDepth> {
+    private volatile int slot = -1;
+
     @Override
     protected CallDepth initialValue() {
       return new CallDepth();
     }
+
+    @Override
+    public CallDepth get() {
+      int slot = this.slot;
+      return slot < 0 ? super.get() : getCallDepth(slot);
+    }
+
+    int slot() {
+      int slot = this.slot;
+      if (slot >= 0) {
+        return slot;
+      }
+      synchronized (slotLock) {
+        slot = this.slot;
+        if (slot < 0) {
+          ThreadLocalDepth[] keys = Arrays.copyOf(slotKeys, slotKeys.length + 1);
+          slot = keys.length - 1;
+          keys[slot] = this;
+          slotKeys = keys;
+          this.slot = slot;
+        }
+        return slot;
+      }
+    }
+
+    // moves the call depth this thread tracked before the slot was assigned into the slot, so that
+    // calls that are in progress while the slot is assigned still see their depth
+    CallDepth removeThreadLocalDepth() {
+      CallDepth callDepth = super.get();
+      remove();
+      return callDepth;
+    }
   }
 
   private CallDepthThreadLocalMap() {}
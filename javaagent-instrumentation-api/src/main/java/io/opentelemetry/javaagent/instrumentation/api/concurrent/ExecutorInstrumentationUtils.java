@@ -5,7 +5,11 @@
 
 package io.opentelemetry.javaagent.instrumentation.api.concurrent;
 
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.config.Config;
 import io.opentelemetry.instrumentation.api.internal.ContextPropagationDebug;
 import io.opentelemetry.javaagent.instrumentation.api.ContextStore;
 import io.opentelemetry.javaagent.instrumentation.api.internal.InstrumentedTaskClasses;
@@ -13,6 +17,15 @@ import io.opentelemetry.javaagent.instrumentation.api.internal.InstrumentedTaskC
 /** Utils for concurrent instrumentations. */
 public final class ExecutorInstrumentationUtils {
 
+  // When enabled, tasks submitted while the current span is valid but neither sampled nor recording
+  // only get that span propagated, unless the context also carries baggage. This keeps the parent
+  // of the spans created by the task, and thus the sampling decision, without retaining the rest of
+  // the context, e.g. instrumentation specific context entries, for as long as the task is queued.
+  private static final boolean SKIP_NON_RECORDING_CONTEXT =
+      Config.get()
+          .getBooleanProperty(
+              "otel.javaagent.experimental.executors.skip-non-recording-context.enabled", false);
+
   /**
    * Checks if given task should get state attached.
    *
@@ -33,6 +46,23 @@ public final class ExecutorInstrumentationUtils {
     return InstrumentedTaskClasses.canInstrumentTaskClass(task.getClass());
   }
 
+  // Visible for testing
+  static Context contextToPropagate(Context context, boolean skipNonRecordingContext) {
+    if (!skipNonRecordingContext) {
+      return context;
+    }
+    Span span = Span.fromContext(context);
+    SpanContext spanContext = span.getSpanContext();
+    // contexts without a span or with baggage are always propagated as they are
+    if (spanContext.isValid()
+        && !spanContext.isSampled()
+        && !span.isRecording()
+        && Baggage.fromContextOrNull(context) == null) {
+      return Context.root().with(span);
+    }
+    return context;
+  }
+
   /**
    * Create task state given current scope.
    *
@@ -44,6 +74,7 @@ public final class ExecutorInstrumentationUtils {
    */
   public static <T> State setupState(ContextStore<T, State> contextStore, T task, Context context) {
     State state = contextStore.putIfAbsent(task, State.FACTORY);
+    context = contextToPropagate(context, SKIP_NON_RECORDING_CONTEXT);
     if (ContextPropagationDebug.isThreadPropagationDebuggerEnabled()) {
       context =
           ContextPropagationDebug.appendLocations(context, new Exception().getStackTrace(), task);
@@ -7,33 +7,40 @@ package io.opentelemetry.javaagent.instrumentation.api.internal;
 
 import io.opentelemetry.instrumentation.api.caching.Cache;
 import java.net.URL;
-import java.util.ArrayList;
-import java.util.List;
-import org.checkerframework.checker.lock.qual.GuardedBy;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * A holder of all ClassLoaderMatcher caches. We store them in the bootstrap classloader so that
- * instrumentation can invalidate the ClassLoaderMatcher for a particular ClassLoader, e.g. when
- * {@link java.net.URLClassLoader#addURL(URL)} is called.
+ * Keeps track of invalidations of ClassLoaderMatcher caches. We store it in the bootstrap
+ * classloader so that instrumentation can invalidate the ClassLoaderMatcher caches for a particular
+ * ClassLoader, e.g. when {@link java.net.URLClassLoader#addURL(URL)} is called.
+ *
+ * <p>Every class loader has a generation, which starts at 0 and is incremented each time the caches
+ * for that class loader are invalidated. Caches store the generation that a result was computed for
+ * next to the result, and compute it again when the generation of the class loader has changed
+ * since. Invalidation is therefore a single increment that doesn't need to know about the caches.
  */
 public final class ClassLoaderMatcherCacheHolder {
 
-  @GuardedBy("allCaches")
-  private static final List<Cache<ClassLoader, Boolean>> allCaches = new ArrayList<>();
+  // only contains class loaders that were invalidated at least once
+  private static final Cache<ClassLoader, AtomicInteger> generations =
+      Cache.newBuilder().setWeakKeys().build();
 
   private ClassLoaderMatcherCacheHolder() {}
 
-  public static void addCache(Cache<ClassLoader, Boolean> cache) {
-    synchronized (allCaches) {
-      allCaches.add(cache);
-    }
+  /**
+   * Returns the current generation of {@code loader}. Results computed for an older generation must
+   * not be used.
+   */
+  public static int getGeneration(ClassLoader loader) {
+    AtomicInteger generation = generations.get(loader);
+    return generation == null ? 0 : generation.get();
   }
 
   public static void invalidateAllCachesForClassLoader(ClassLoader loader) {
-    synchronized (allCaches) {
-      for (Cache<ClassLoader, Boolean> cache : allCaches) {
-        cache.remove(loader);
-      }
+    AtomicInteger generation = generations.get(loader);
+    if (generation == null) {
+      generation = generations.computeIfAbsent(loader, l -> new AtomicInteger());
     }
+    generation.incrementAndGet();
   }
 }
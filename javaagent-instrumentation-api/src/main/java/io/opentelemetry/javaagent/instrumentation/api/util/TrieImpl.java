@@ -5,58 +5,80 @@
 
 package io.opentelemetry.javaagent.instrumentation.api.util;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import org.checkerframework.checker.nullness.qual.Nullable;
+import java.util.TreeMap;
 
+/**
+ * A trie compiled into flat arrays. Nodes are numbered in breadth-first order and the outgoing
+ * edges of each node are stored contiguously, sorted by character, in {@link #edgeChars} and
+ * {@link #edgeTargets}. Transitions from the root, which every lookup takes, are dispatched through
+ * a direct lookup table for ASCII characters.
+ */
 final class TrieImpl<V> implements Trie<V> {
 
-  private final Node<V> root;
-
-  private TrieImpl(Node<V> root) {
-    this.root = root;
+  private static final int NO_NODE = -1;
+  private static final int ROOT = 0;
+  private static final int ROOT_TABLE_SIZE = 128;
+  // nodes with at most this many edges are scanned linearly instead of binary searched
+  private static final int LINEAR_SCAN_THRESHOLD = 8;
+
+  private final int[] rootTable;
+  // edges of node n are at indices [edgeStart[n], edgeStart[n + 1])
+  private final int[] edgeStart;
+  private final char[] edgeChars;
+  private final int[] edgeTargets;
+  private final Object[] values;
+
+  private TrieImpl(
+      int[] rootTable, int[] edgeStart, char[] edgeChars, int[] edgeTargets, Object[] values) {
+    this.rootTable = rootTable;
+    this.edgeStart = edgeStart;
+    this.edgeChars = edgeChars;
+    this.edgeTargets = edgeTargets;
+    this.values = values;
   }
 
   @Override
+  @SuppressWarnings("unchecked")
   public V getOrDefault(CharSequence str, V defaultValue) {
-    Node<V> node = root;
+    int node = ROOT;
     V lastMatchedValue = defaultValue;
 
     for (int i = 0; i < str.length(); ++i) {
       char c = str.charAt(i);
-      Node<V> next = node.getNext(c);
-      if (next == null) {
+      int next = node == ROOT && c < ROOT_TABLE_SIZE ? rootTable[c] : getNext(node, c);
+      if (next == NO_NODE) {
         return lastMatchedValue;
       }
       node = next;
       // next node matched, use its value if it's defined
-      lastMatchedValue = next.value != null ? next.value : lastMatchedValue;
+      Object value = values[next];
+      lastMatchedValue = value != null ? (V) value : lastMatchedValue;
     }
 
     return lastMatchedValue;
   }
 
-  static final class Node<V> {
-    final char[] chars;
-    final Node<V>[] children;
-    final V value;
-
-    Node(char[] chars, Node<V>[] children, V value) {
-      this.chars = chars;
-      this.children = children;
-      this.value = value;
-    }
-
-    @Nullable
-    Node<V> getNext(char c) {
-      int index = Arrays.binarySearch(chars, c);
-      if (index < 0) {
-        return null;
+  private int getNext(int node, char c) {
+    int from = edgeStart[node];
+    int to = edgeStart[node + 1];
+    if (to - from <= LINEAR_SCAN_THRESHOLD) {
+      for (int i = from; i < to; ++i) {
+        char edgeChar = edgeChars[i];
+        if (edgeChar == c) {
+          return edgeTargets[i];
+        }
+        if (edgeChar > c) {
+          break;
+        }
       }
-      return children[index];
+      return NO_NODE;
     }
+    int index = Arrays.binarySearch(edgeChars, from, to, c);
+    return index < 0 ? NO_NODE : edgeTargets[index];
   }
 
   static final class BuilderImpl<V> implements Builder<V> {
@@ -65,45 +87,59 @@ final class TrieImpl<V> implements Trie<V> {
 
     @Override
     public Builder<V> put(CharSequence str, V value) {
-      put(root, str, 0, value);
-      return this;
-    }
-
-    private void put(NodeBuilder<V> node, CharSequence str, int i, V value) {
-      if (str.length() == i) {
-        node.value = value;
-        return;
+      NodeBuilder<V> node = root;
+      for (int i = 0; i < str.length(); ++i) {
+        node = node.children.computeIfAbsent(str.charAt(i), k -> new NodeBuilder<>());
       }
-      char c = str.charAt(i);
-      NodeBuilder<V> next = node.children.computeIfAbsent(c, k -> new NodeBuilder<>());
-      put(next, str, i + 1, value);
+      node.value = value;
+      return this;
     }
 
     @Override
     public Trie<V> build() {
-      return new TrieImpl<>(root.build());
+      // number the nodes in breadth-first order, so that the children of every node are numbered
+      // consecutively in the order of their characters
+      List<NodeBuilder<V>> nodes = new ArrayList<>();
+      nodes.add(root);
+      for (int i = 0; i < nodes.size(); ++i) {
+        nodes.addAll(nodes.get(i).children.values());
+      }
+
+      int nodeCount = nodes.size();
+      int edgeCount = nodeCount - 1;
+      int[] edgeStart = new int[nodeCount + 1];
+      char[] edgeChars = new char[edgeCount];
+      int[] edgeTargets = new int[edgeCount];
+      Object[] values = new Object[nodeCount];
+
+      int edge = 0;
+      for (int i = 0; i < nodeCount; ++i) {
+        NodeBuilder<V> node = nodes.get(i);
+        edgeStart[i] = edge;
+        values[i] = node.value;
+        for (Character c : node.children.keySet()) {
+          edgeChars[edge] = c;
+          // the root isn't the target of any edge, so edge n leads to node n + 1
+          edgeTargets[edge] = edge + 1;
+          ++edge;
+        }
+      }
+      edgeStart[nodeCount] = edge;
+
+      int[] rootTable = new int[ROOT_TABLE_SIZE];
+      Arrays.fill(rootTable, NO_NODE);
+      for (int i = edgeStart[ROOT]; i < edgeStart[ROOT + 1]; ++i) {
+        if (edgeChars[i] < ROOT_TABLE_SIZE) {
+          rootTable[edgeChars[i]] = edgeTargets[i];
+        }
+      }
+
+      return new TrieImpl<>(rootTable, edgeStart, edgeChars, edgeTargets, values);
     }
   }
 
   static final class NodeBuilder<V> {
-    final Map<Character, NodeBuilder<V>> children = new HashMap<>();
+    final Map<Character, NodeBuilder<V>> children = new TreeMap<>();
     V value;
-
-    Node<V> build() {
-      int size = children.size();
-      char[] chars = new char[size];
-      Node<V>[] nodes = new Node[size];
-
-      int i = 0;
-      Iterator<Map.Entry<Character, NodeBuilder<V>>> it =
-          this.children.entrySet().stream().sorted(Map.Entry.comparingByKey()).iterator();
-      while (it.hasNext()) {
-        Map.Entry<Character, NodeBuilder<V>> e = it.next();
-        chars[i] = e.getKey();
-        nodes[i++] = e.getValue().build();
-      }
-
-      return new Node<>(chars, nodes, value);
-    }
   }
 }
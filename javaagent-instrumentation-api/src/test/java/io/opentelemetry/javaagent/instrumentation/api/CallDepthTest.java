@@ -6,7 +6,10 @@
 package io.opentelemetry.javaagent.instrumentation.api;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 
 class CallDepthTest {
@@ -39,4 +42,59 @@ class CallDepthTest {
     assertThat(CallDepth.forClass(Double.class).getAndIncrement()).isZero();
     assertThat(CallDepth.forClass(Double.class).decrementAndGet()).isZero();
   }
+
+  @Test
+  void slotSharesDepthWithClass() {
+    int slot = CallDepth.slotForClass(Statement.class);
+    assertThat(CallDepth.slotForClass(Statement.class)).isEqualTo(slot);
+
+    assertThat(CallDepth.forSlot(slot).getAndIncrement()).isZero();
+    assertThat(CallDepth.forClass(Statement.class).getAndIncrement()).isOne();
+    assertThat(CallDepth.forClass(Short.class).getAndIncrement()).isZero();
+
+    assertThat(CallDepth.forClass(Statement.class).decrementAndGet()).isOne();
+    assertThat(CallDepth.forSlot(slot).decrementAndGet()).isZero();
+    assertThat(CallDepth.forClass(Short.class).decrementAndGet()).isZero();
+  }
+
+  @Test
+  void slotAssignedWhileCallIsInProgress() {
+    assertThat(CallDepth.forClass(Long.class).getAndIncrement()).isZero();
+
+    int slot = CallDepth.slotForClass(Long.class);
+    assertThat(CallDepth.forSlot(slot).getAndIncrement()).isOne();
+    assertThat(CallDepth.forClass(Long.class).decrementAndGet()).isOne();
+    assertThat(CallDepth.forSlot(slot).decrementAndGet()).isZero();
+  }
+
+  @Test
+  void slotsAreAssignedToAnyClass() throws InterruptedException {
+    int statementSlot = CallDepth.slotForClass(Statement.class);
+    int slot = CallDepth.slotForClass(Byte.class);
+    assertThat(slot).isNotEqualTo(statementSlot);
+
+    // a thread that used slots before another slot was assigned
+    assertThat(CallDepth.forSlot(statementSlot).getAndIncrement()).isZero();
+    int otherSlot = CallDepth.slotForClass(Character.class);
+    assertThat(CallDepth.forSlot(otherSlot).getAndIncrement()).isZero();
+    assertThat(CallDepth.forSlot(otherSlot).decrementAndGet()).isZero();
+    assertThat(CallDepth.forSlot(statementSlot).decrementAndGet()).isZero();
+
+    // call depths are tracked per thread
+    assertThat(CallDepth.forSlot(slot).getAndIncrement()).isZero();
+    AtomicInteger otherThreadDepth = new AtomicInteger(-1);
+    Thread thread =
+        new Thread(() -> otherThreadDepth.set(CallDepth.forSlot(slot).getAndIncrement()));
+    thread.start();
+    thread.join();
+    assertThat(otherThreadDepth).hasValue(0);
+    assertThat(CallDepth.forSlot(slot).decrementAndGet()).isZero();
+  }
+
+  @Test
+  void unknownSlot() {
+    assertThatThrownBy(() -> CallDepth.forSlot(-1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> CallDepth.forSlot(Integer.MAX_VALUE))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.api.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import org.junit.jupiter.api.Test;
+
+class ExecutorInstrumentationUtilsTest {
+
+  private static final ContextKey<String> KEY = ContextKey.named("key");
+
+  private static final Span UNSAMPLED_SPAN = span(TraceFlags.getDefault());
+  private static final Span SAMPLED_SPAN = span(TraceFlags.getSampled());
+
+  @Test
+  void propagatesContextWithUnsampledSpanByDefault() {
+    Context context = Context.root().with(UNSAMPLED_SPAN).with(KEY, "value");
+
+    assertThat(ExecutorInstrumentationUtils.contextToPropagate(context, false)).isSameAs(context);
+  }
+
+  @Test
+  void propagatesOnlyUnsampledSpan() {
+    Context context = Context.root().with(UNSAMPLED_SPAN).with(KEY, "value");
+
+    Context propagated = ExecutorInstrumentationUtils.contextToPropagate(context, true);
+
+    // the parent span is kept so that spans created by the task follow its sampling decision
+    assertThat(Span.fromContext(propagated)).isSameAs(UNSAMPLED_SPAN);
+    assertThat(propagated.get(KEY)).isNull();
+  }
+
+  @Test
+  void propagatesContextWithSampledSpan() {
+    Context context = Context.root().with(SAMPLED_SPAN).with(KEY, "value");
+
+    assertThat(ExecutorInstrumentationUtils.contextToPropagate(context, true)).isSameAs(context);
+  }
+
+  @Test
+  void propagatesContextWithoutSpan() {
+    Context context = Context.root().with(KEY, "value");
+
+    assertThat(ExecutorInstrumentationUtils.contextToPropagate(context, true)).isSameAs(context);
+  }
+
+  @Test
+  void propagatesContextWithUnsampledSpanAndBaggage() {
+    Context context =
+        Context.root()
+            .with(UNSAMPLED_SPAN)
+            .with(Baggage.builder().put("key", "value").build());
+
+    assertThat(ExecutorInstrumentationUtils.contextToPropagate(context, true)).isSameAs(context);
+  }
+
+  private static Span span(TraceFlags traceFlags) {
+    return Span.wrap(
+        SpanContext.create(
+            "ff01020304050600ff0a0b0c0d0e0f00",
+            "090a0b0c0d0e0f00",
+            traceFlags,
+            TraceState.getDefault()));
+  }
+}
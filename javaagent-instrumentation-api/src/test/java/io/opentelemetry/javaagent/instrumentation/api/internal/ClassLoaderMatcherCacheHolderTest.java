@@ -0,0 +1,78 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.api.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ClassLoaderMatcherCacheHolderTest {
+
+  @Test
+  void invalidationIncrementsGeneration() {
+    ClassLoader loader = new URLClassLoader(new URL[0], null);
+    ClassLoader otherLoader = new URLClassLoader(new URL[0], null);
+
+    assertThat(ClassLoaderMatcherCacheHolder.getGeneration(loader)).isEqualTo(0);
+
+    ClassLoaderMatcherCacheHolder.invalidateAllCachesForClassLoader(loader);
+    ClassLoaderMatcherCacheHolder.invalidateAllCachesForClassLoader(loader);
+
+    assertThat(ClassLoaderMatcherCacheHolder.getGeneration(loader)).isEqualTo(2);
+    assertThat(ClassLoaderMatcherCacheHolder.getGeneration(otherLoader)).isEqualTo(0);
+  }
+
+  @Test
+  void concurrentInvalidationOfManyClassLoaders() throws Exception {
+    int threads = 8;
+    int loadersPerThread = 1000;
+    int invalidationsPerLoader = 3;
+    // one loader shared by all threads, the others are created and discarded by each thread
+    ClassLoader sharedLoader = new URLClassLoader(new URL[0], null);
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  for (int i = 0; i < loadersPerThread; i++) {
+                    ClassLoader loader = new URLClassLoader(new URL[0], null);
+                    for (int j = 0; j < invalidationsPerLoader; j++) {
+                      int generation = ClassLoaderMatcherCacheHolder.getGeneration(loader);
+                      ClassLoaderMatcherCacheHolder.invalidateAllCachesForClassLoader(loader);
+                      assertThat(ClassLoaderMatcherCacheHolder.getGeneration(loader))
+                          .isEqualTo(generation + 1);
+                    }
+                    ClassLoaderMatcherCacheHolder.invalidateAllCachesForClassLoader(sharedLoader);
+                  }
+                  return null;
+                }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(ClassLoaderMatcherCacheHolder.getGeneration(sharedLoader))
+        .isEqualTo(threads * loadersPerThread);
+  }
+}
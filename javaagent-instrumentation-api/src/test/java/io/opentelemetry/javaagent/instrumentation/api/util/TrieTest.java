@@ -46,4 +46,29 @@ class TrieTest {
 
     assertEquals(-1, trie.getOrDefault("acdc", -1));
   }
+
+  @Test
+  void shouldMatchNodesWithManyChildren() {
+    Trie.Builder<Integer> builder = Trie.newBuilder();
+    for (char c = 'a'; c <= 'z'; ++c) {
+      builder.put("x" + c, (int) c);
+    }
+    Trie<Integer> trie = builder.build();
+
+    for (char c = 'a'; c <= 'z'; ++c) {
+      assertEquals((int) c, trie.getOrNull("x" + c + "yz"));
+    }
+    assertNull(trie.getOrNull("x0"));
+    assertNull(trie.getOrNull("x{"));
+  }
+
+  @Test
+  void shouldMatchNonAsciiCharacters() {
+    Trie<Integer> trie =
+        Trie.<Integer>newBuilder().put("\u00e9t\u00e9", 1).put("a\u00e9", 2).build();
+
+    assertEquals(1, trie.getOrNull("\u00e9t\u00e9s"));
+    assertEquals(2, trie.getOrNull("a\u00e9"));
+    assertNull(trie.getOrNull("\u00e8"));
+  }
 }
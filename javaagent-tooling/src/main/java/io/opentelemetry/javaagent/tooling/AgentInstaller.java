@@ -22,6 +22,8 @@ import io.opentelemetry.javaagent.instrumentation.api.internal.BootstrapPackageP
 import io.opentelemetry.javaagent.instrumentation.api.internal.InstrumentedTaskClasses;
 import io.opentelemetry.javaagent.tooling.asyncannotationsupport.WeakRefAsyncOperationEndStrategies;
 import io.opentelemetry.javaagent.tooling.bootstrap.BootstrapPackagesBuilderImpl;
+import io.opentelemetry.javaagent.tooling.bytebuddy.PersistentTypeMatchingCache;
+import io.opentelemetry.javaagent.tooling.bytebuddy.TypeDescriptionPrefetcher;
 import io.opentelemetry.javaagent.tooling.config.ConfigInitializer;
 import io.opentelemetry.javaagent.tooling.context.FieldBackedProvider;
 import io.opentelemetry.javaagent.tooling.ignore.IgnoredClassLoadersMatcher;
@@ -32,8 +34,10 @@ import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.stream.Stream;
@@ -44,6 +48,7 @@ import net.bytebuddy.description.type.TypeDefinition;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.utility.JavaModule;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,6 +65,13 @@ public class AgentInstaller {
   private static final String FORCE_SYNCHRONOUS_AGENT_LISTENERS_CONFIG =
       "otel.javaagent.experimental.force-synchronous-agent-listeners";
 
+  // Resolves type descriptions of already loaded classes on multiple threads before retransforming
+  // them, which speeds up attaching to an application that has loaded many classes already
+  private static final String PARALLEL_RETRANSFORMATION_CONFIG =
+      "otel.javaagent.experimental.parallel-retransformation.enabled";
+  private static final String PARALLEL_RETRANSFORMATION_PARALLELISM_CONFIG =
+      "otel.javaagent.experimental.parallel-retransformation.parallelism";
+
   private static final Map<String, List<Runnable>> CLASS_LOAD_CALLBACKS = new HashMap<>();
 
   static {
@@ -91,6 +103,7 @@ public class AgentInstaller {
   public static void installBytebuddyAgent(Instrumentation inst) {
     logVersionInfo();
     Config config = Config.get();
+    StartupProfiler.start(config);
     if (config.getBooleanProperty(JAVAAGENT_ENABLED_CONFIG, true)) {
       List<AgentListener> agentListeners = loadOrdered(AgentListener.class);
       installBytebuddyAgent(inst, agentListeners);
@@ -109,21 +122,40 @@ public class AgentInstaller {
   public static ResettableClassFileTransformer installBytebuddyAgent(
       Instrumentation inst, Iterable<AgentListener> agentListeners) {
 
+    long startNanos = System.nanoTime();
     WeakRefAsyncOperationEndStrategies.initialize();
 
     Config config = Config.get();
 
     setBootstrapPackages(config);
+    StartupProfiler.recordPhase("bootstrap packages configuration", startNanos);
 
     runBeforeAgentListeners(agentListeners, config);
 
+    startNanos = System.nanoTime();
     FieldBackedProvider.resetContextMatchers();
 
+    TypeDescriptionPrefetcher prefetcher = null;
+    if (config.getBooleanProperty(PARALLEL_RETRANSFORMATION_CONFIG, false)) {
+      int parallelism =
+          (int)
+              config.getLongProperty(
+                  PARALLEL_RETRANSFORMATION_PARALLELISM_CONFIG,
+                  Runtime.getRuntime().availableProcessors());
+      prefetcher =
+          new TypeDescriptionPrefetcher(
+              AgentTooling.poolStrategy(),
+              AgentTooling.locationStrategy(Utils.getBootstrapProxy()),
+              Math.max(1, parallelism));
+    }
+    RedefinitionDiscoveryStrategy redefinitionDiscoveryStrategy =
+        new RedefinitionDiscoveryStrategy(prefetcher);
+
     AgentBuilder agentBuilder =
         new AgentBuilder.Default()
             .disableClassFormatChanges()
             .with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
-            .with(new RedefinitionDiscoveryStrategy())
+            .with(redefinitionDiscoveryStrategy)
             .with(AgentBuilder.DescriptionStrategy.Default.POOL_ONLY)
             .with(AgentTooling.poolStrategy())
             .with(new ClassLoadListener())
@@ -132,13 +164,22 @@ public class AgentInstaller {
     // https://github.com/raphw/byte-buddy/issues/558
     // .with(AgentBuilder.LambdaInstrumentationStrategy.ENABLED)
 
-    agentBuilder = configureIgnoredTypes(config, agentBuilder);
+    PersistentTypeMatchingCache typeMatchingCache = PersistentTypeMatchingCache.create(config);
+    if (typeMatchingCache != null) {
+      agentBuilder = agentBuilder.with(typeMatchingCache);
+    }
+
+    StartupProfiler.recordPhase("agent builder setup", startNanos);
+
+    startNanos = System.nanoTime();
+    agentBuilder = configureIgnoredTypes(config, agentBuilder, typeMatchingCache);
+    StartupProfiler.recordPhase("ignored types configuration", startNanos);
 
     if (logger.isDebugEnabled()) {
       agentBuilder =
           agentBuilder
               .with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
-              .with(new RedefinitionDiscoveryStrategy())
+              .with(redefinitionDiscoveryStrategy)
               .with(new RedefinitionLoggingListener())
               .with(new TransformLoggingListener());
     }
@@ -150,7 +191,10 @@ public class AgentInstaller {
           agentExtension.extensionName(),
           agentExtension.getClass().getName());
       try {
+        long extensionStartNanos = System.nanoTime();
         agentBuilder = agentExtension.extend(agentBuilder);
+        StartupProfiler.recordPhase(
+            "extension " + agentExtension.extensionName(), extensionStartNanos);
         numberOfLoadedExtensions++;
       } catch (Exception | LinkageError e) {
         logger.error(
@@ -162,8 +206,16 @@ public class AgentInstaller {
     }
     logger.debug("Installed {} extension(s)", numberOfLoadedExtensions);
 
+    startNanos = System.nanoTime();
     ResettableClassFileTransformer resettableClassFileTransformer = agentBuilder.installOn(inst);
+    if (prefetcher != null) {
+      // already loaded classes are retransformed by installOn()
+      prefetcher.shutdown();
+    }
+    StartupProfiler.recordPhase("installation and retransformation", startNanos);
+
     runAfterAgentListeners(agentListeners, config);
+    StartupProfiler.finish(config);
     return resettableClassFileTransformer;
   }
 
@@ -178,11 +230,16 @@ public class AgentInstaller {
   private static void runBeforeAgentListeners(
       Iterable<AgentListener> agentListeners, Config config) {
     for (AgentListener agentListener : agentListeners) {
+      long startNanos = System.nanoTime();
       agentListener.beforeAgent(config);
+      StartupProfiler.recordPhase("beforeAgent " + agentListener.getClass().getName(), startNanos);
     }
   }
 
-  private static AgentBuilder configureIgnoredTypes(Config config, AgentBuilder agentBuilder) {
+  private static AgentBuilder configureIgnoredTypes(
+      Config config,
+      AgentBuilder agentBuilder,
+      @Nullable PersistentTypeMatchingCache typeMatchingCache) {
     IgnoredTypesBuilderImpl builder = new IgnoredTypesBuilderImpl();
     for (IgnoredTypesConfigurer configurer : loadOrdered(IgnoredTypesConfigurer.class)) {
       configurer.configure(config, builder);
@@ -190,9 +247,15 @@ public class AgentInstaller {
 
     InstrumentedTaskClasses.setIgnoredTaskClasses(builder.buildIgnoredTasksTrie());
 
-    return agentBuilder
-        .ignore(any(), new IgnoredClassLoadersMatcher(builder.buildIgnoredClassLoadersTrie()))
-        .or(new IgnoredTypesMatcher(builder.buildIgnoredTypesTrie()));
+    AgentBuilder.Ignored ignored =
+        agentBuilder
+            .ignore(any(), new IgnoredClassLoadersMatcher(builder.buildIgnoredClassLoadersTrie()))
+            .or(new IgnoredTypesMatcher(builder.buildIgnoredTypesTrie()));
+    // must be last: it records the types that are not ignored by the matchers above
+    if (typeMatchingCache != null) {
+      ignored = ignored.or(typeMatchingCache);
+    }
+    return ignored;
   }
 
   private static void runAfterAgentListeners(
@@ -223,7 +286,9 @@ public class AgentInstaller {
           "java.util.logging.LogManager", new DelayedAfterAgentCallback(config, agentListeners));
     } else {
       for (AgentListener agentListener : agentListeners) {
+        long startNanos = System.nanoTime();
         agentListener.afterAgent(config);
+        StartupProfiler.recordPhase("afterAgent " + agentListener.getClass().getName(), startNanos);
       }
     }
   }
@@ -411,13 +476,24 @@ public class AgentInstaller {
     private static final AgentBuilder.RedefinitionStrategy.DiscoveryStrategy delegate =
         AgentBuilder.RedefinitionStrategy.DiscoveryStrategy.Reiterating.INSTANCE;
 
+    @Nullable private final TypeDescriptionPrefetcher prefetcher;
+
+    RedefinitionDiscoveryStrategy(@Nullable TypeDescriptionPrefetcher prefetcher) {
+      this.prefetcher = prefetcher;
+    }
+
     @Override
     public Iterable<Iterable<Class<?>>> resolve(Instrumentation instrumentation) {
       // filter out our agent classes and injected helper classes
-      return () ->
-          streamOf(delegate.resolve(instrumentation))
-              .map(RedefinitionDiscoveryStrategy::filterClasses)
-              .iterator();
+      Iterable<Iterable<Class<?>>> classes =
+          () ->
+              streamOf(delegate.resolve(instrumentation))
+                  .map(RedefinitionDiscoveryStrategy::filterClasses)
+                  .iterator();
+      if (prefetcher == null) {
+        return classes;
+      }
+      return () -> new PrefetchingIterator(classes.iterator(), prefetcher);
     }
 
     private static Iterable<Class<?>> filterClasses(Iterable<Class<?>> classes) {
@@ -428,6 +504,44 @@ public class AgentInstaller {
       return StreamSupport.stream(iterable.spliterator(), false);
     }
 
+    /**
+     * Splits the discovered classes into batches and prefetches the type descriptions of each batch
+     * right before it is handed to byte buddy for matching and retransformation.
+     */
+    private static class PrefetchingIterator implements Iterator<Iterable<Class<?>>> {
+      private final Iterator<Iterable<Class<?>>> delegate;
+      private final TypeDescriptionPrefetcher prefetcher;
+      private Iterator<Class<?>> current = Collections.emptyIterator();
+
+      private PrefetchingIterator(
+          Iterator<Iterable<Class<?>>> delegate, TypeDescriptionPrefetcher prefetcher) {
+        this.delegate = delegate;
+        this.prefetcher = prefetcher;
+      }
+
+      @Override
+      public boolean hasNext() {
+        while (!current.hasNext() && delegate.hasNext()) {
+          current = delegate.next().iterator();
+        }
+        return current.hasNext();
+      }
+
+      @Override
+      public Iterable<Class<?>> next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        int batchSize = prefetcher.batchSize();
+        List<Class<?>> batch = new ArrayList<>(batchSize);
+        while (batch.size() < batchSize && current.hasNext()) {
+          batch.add(current.next());
+        }
+        prefetcher.prefetch(batch);
+        return batch;
+      }
+    }
+
     private static boolean isIgnored(Class<?> c) {
       ClassLoader cl = c.getClassLoader();
       if (cl instanceof AgentClassLoader || cl instanceof ExtensionClassLoader) {
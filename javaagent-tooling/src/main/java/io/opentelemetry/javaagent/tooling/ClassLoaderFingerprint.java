@@ -0,0 +1,192 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import io.opentelemetry.instrumentation.api.caching.Cache;
+import io.opentelemetry.javaagent.bootstrap.AgentClassLoader.BootstrapClassLoaderProxy;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Identifies the classes a class loader can see across JVM restarts, for the persistent caches. A
+ * class loader is identified by a digest of its class path and the class paths of its parents,
+ * including the last modification time and size of every jar, and of every file in every directory
+ * on them.
+ *
+ * <p>Fingerprints are cached per class loader, and computed again when urls were added to the
+ * class loader or its parents since.
+ */
+public final class ClassLoaderFingerprint {
+
+  private static final Logger logger = LoggerFactory.getLogger(ClassLoaderFingerprint.class);
+
+  /** Returned for class loaders whose class path can't be determined. */
+  public static final String NOT_CACHEABLE = "";
+
+  private final Cache<ClassLoader, Entry> fingerprints = Cache.newBuilder().setWeakKeys().build();
+
+  /**
+   * Returns the fingerprint of {@code classLoader}, or {@link #NOT_CACHEABLE} if its class path
+   * can't be determined.
+   */
+  public String get(ClassLoader classLoader) {
+    int classPathSize = classPathSize(classLoader);
+    Entry entry = fingerprints.get(classLoader);
+    if (entry == null || entry.classPathSize != classPathSize) {
+      entry = new Entry(classPathSize, compute(classLoader));
+      fingerprints.put(classLoader, entry);
+    }
+    return entry.fingerprint;
+  }
+
+  // URLClassLoader.addURL() is the only way to change the class path of a class loader that is
+  // fingerprinted, and it can only append urls
+  private static int classPathSize(ClassLoader classLoader) {
+    int size = 0;
+    for (ClassLoader cl = classLoader; cl != null; cl = cl.getParent()) {
+      if (cl instanceof URLClassLoader) {
+        size += ((URLClassLoader) cl).getURLs().length;
+      }
+    }
+    return size;
+  }
+
+  // Visible for testing
+  static String compute(ClassLoader classLoader) {
+    StringBuilder fingerprint = new StringBuilder();
+    try {
+      ClassLoader systemClassLoader = ClassLoader.getSystemClassLoader();
+      ClassLoader platformClassLoader = systemClassLoader.getParent();
+      for (ClassLoader cl = classLoader; cl != null; cl = cl.getParent()) {
+        fingerprint.append(cl.getClass().getName()).append('[');
+        // the classes of the platform class loader and the bootstrap proxy are determined by the
+        // jvm, which is part of the bootstrap entry below
+        if (cl == systemClassLoader) {
+          for (String path : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            appendFile(fingerprint, new File(path));
+          }
+        } else if (cl instanceof URLClassLoader) {
+          for (URL url : ((URLClassLoader) cl).getURLs()) {
+            appendUrl(fingerprint, url);
+          }
+        } else if (cl != platformClassLoader && !(cl instanceof BootstrapClassLoaderProxy)) {
+          return NOT_CACHEABLE;
+        }
+        fingerprint.append(']');
+      }
+    } catch (RuntimeException e) {
+      logger.debug("Failed to compute the class path of {}", classLoader, e);
+      return NOT_CACHEABLE;
+    }
+    fingerprint
+        .append("bootstrap[")
+        .append(System.getProperty("java.home"))
+        .append(' ')
+        .append(System.getProperty("java.version"))
+        .append(' ')
+        .append(System.getProperty("sun.boot.class.path"))
+        .append(' ')
+        .append(System.getProperty("jdk.boot.class.path.append"))
+        .append(']');
+    return digest(fingerprint.toString());
+  }
+
+  /** Appends the path, last modification time and size of a {@code file:} url. */
+  public static void appendUrl(StringBuilder fingerprint, URL url) {
+    if ("file".equals(url.getProtocol())) {
+      try {
+        appendFile(fingerprint, new File(url.toURI()));
+        return;
+      } catch (URISyntaxException | IllegalArgumentException e) {
+        // the url alone identifies the entry
+      }
+    }
+    fingerprint.append(' ').append(url);
+  }
+
+  private static void appendFile(StringBuilder fingerprint, File file) {
+    fingerprint.append(' ').append(file.getAbsolutePath());
+    if (file.isDirectory()) {
+      // classes in a directory can change without changing the modification time of the directory
+      appendDirectory(fingerprint, file.toPath());
+    } else {
+      fingerprint.append(':').append(file.lastModified()).append(':').append(file.length());
+    }
+  }
+
+  private static void appendDirectory(StringBuilder fingerprint, Path directory) {
+    List<String> files = new ArrayList<>();
+    try {
+      Files.walkFileTree(
+          directory,
+          new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+              files.add(
+                  directory.relativize(file)
+                      + ":"
+                      + attributes.lastModifiedTime().toMillis()
+                      + ":"
+                      + attributes.size());
+              return FileVisitResult.CONTINUE;
+            }
+          });
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    // the order in which files are visited isn't specified
+    Collections.sort(files);
+    for (String file : files) {
+      fingerprint.append(' ').append(file);
+    }
+  }
+
+  private static String digest(String value) {
+    try {
+      return hex(
+          MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      return NOT_CACHEABLE;
+    }
+  }
+
+  static String hex(byte[] bytes) {
+    StringBuilder hex = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      hex.append(Character.forDigit((b >> 4) & 0xf, 16));
+      hex.append(Character.forDigit(b & 0xf, 16));
+    }
+    return hex.toString();
+  }
+
+  private static final class Entry {
+    // the number of urls on the class path when the fingerprint was computed
+    final int classPathSize;
+    final String fingerprint;
+
+    Entry(int classPathSize, String fingerprint) {
+      this.classPathSize = classPathSize;
+      this.fingerprint = fingerprint;
+    }
+  }
+}
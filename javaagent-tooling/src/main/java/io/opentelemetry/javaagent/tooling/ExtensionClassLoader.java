@@ -16,8 +16,10 @@ import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import net.bytebuddy.dynamic.loading.MultipleParentClassLoader;
@@ -42,6 +44,9 @@ public class ExtensionClassLoader extends URLClassLoader {
     ClassLoader.registerAsParallelCapable();
   }
 
+  // the files of the loaded extensions, in the order they were added
+  private static final List<File> extensionFiles = new CopyOnWriteArrayList<>();
+
   public static ClassLoader getInstance(ClassLoader parent, File javaagentFile) {
     List<URL> extensions = new ArrayList<>();
 
@@ -102,6 +107,11 @@ public class ExtensionClassLoader extends URLClassLoader {
     }
   }
 
+  /** Returns the jar files of all extensions loaded by {@link #getInstance}. */
+  static List<File> getExtensionFiles() {
+    return Collections.unmodifiableList(extensionFiles);
+  }
+
   private static File ensureTempDirectoryExists(File tempDirectory) throws IOException {
     if (tempDirectory == null) {
       tempDirectory = Files.createTempDirectory("otel-extensions").toFile();
@@ -141,6 +151,7 @@ public class ExtensionClassLoader extends URLClassLoader {
     try {
       URL wrappedUrl = new URL("otel", null, -1, "/", new RemappingUrlStreamHandler(file));
       result.add(wrappedUrl);
+      extensionFiles.add(file);
     } catch (MalformedURLException ignored) {
       System.err.println("Ignoring " + file);
     }
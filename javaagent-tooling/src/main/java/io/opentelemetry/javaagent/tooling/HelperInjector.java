@@ -6,10 +6,12 @@
 package io.opentelemetry.javaagent.tooling;
 
 import io.opentelemetry.instrumentation.api.caching.Cache;
+import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
 import io.opentelemetry.javaagent.bootstrap.HelperResources;
 import java.io.File;
 import java.io.IOException;
 import java.lang.instrument.Instrumentation;
+import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
 import java.net.URL;
 import java.nio.file.Files;
@@ -23,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import net.bytebuddy.agent.builder.AgentBuilder.Transformer;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.ClassFileLocator;
@@ -60,13 +63,23 @@ public class HelperInjector implements Transformer {
   private static final Cache<Class<?>, Boolean> injectedClasses =
       Cache.newBuilder().setWeakKeys().build();
 
+  private static final SupportabilityMetrics supportability = SupportabilityMetrics.instance();
+
+  // the directory that jars with bootstrap helper classes are written to, shared by all injectors
+  @Nullable private static volatile File bootstrapTempDir;
+
   private final String requestingName;
+  private final String injectedClassesCounter;
+  private final String injectionTimeCounter;
 
   private final Set<String> helperClassNames;
   private final Set<String> helperResourceNames;
   @Nullable private final ClassLoader helpersSource;
   @Nullable private final Instrumentation instrumentation;
   private final Map<String, byte[]> dynamicTypeMap = new LinkedHashMap<>();
+  // helper class bytes read from helpersSource, kept while memory allows so that injecting into
+  // many class loaders doesn't read them from the agent jar again every time
+  private volatile SoftReference<Map<String, byte[]>> helperClassBytes = new SoftReference<>(null);
 
   private final Cache<ClassLoader, Boolean> injectedClassLoaders =
       Cache.newBuilder().setWeakKeys().build();
@@ -91,6 +104,8 @@ public class HelperInjector implements Transformer {
       ClassLoader helpersSource,
       Instrumentation instrumentation) {
     this.requestingName = requestingName;
+    this.injectedClassesCounter = "Helper classes injected by " + requestingName;
+    this.injectionTimeCounter = "Helper injection time (us) by " + requestingName;
 
     this.helperClassNames = new LinkedHashSet<>(helperClassNames);
     this.helperResourceNames = new LinkedHashSet<>(helperResourceNames);
@@ -106,6 +121,8 @@ public class HelperInjector implements Transformer {
   private HelperInjector(
       String requestingName, Map<String, byte[]> helperMap, Instrumentation instrumentation) {
     this.requestingName = requestingName;
+    this.injectedClassesCounter = "Helper classes injected by " + requestingName;
+    this.injectionTimeCounter = "Helper injection time (us) by " + requestingName;
 
     this.helperClassNames = helperMap.keySet();
     this.dynamicTypeMap.putAll(helperMap);
@@ -128,7 +145,11 @@ public class HelperInjector implements Transformer {
 
   private Map<String, byte[]> getHelperMap() throws IOException {
     if (dynamicTypeMap.isEmpty()) {
-      Map<String, byte[]> classnameToBytes = new LinkedHashMap<>();
+      Map<String, byte[]> classnameToBytes = helperClassBytes.get();
+      if (classnameToBytes != null) {
+        return classnameToBytes;
+      }
+      classnameToBytes = new LinkedHashMap<>();
 
       ClassFileLocator locator = ClassFileLocator.ForClassLoader.of(helpersSource);
 
@@ -137,6 +158,7 @@ public class HelperInjector implements Transformer {
         classnameToBytes.put(helperClassName, classBytes);
       }
 
+      helperClassBytes = new SoftReference<>(classnameToBytes);
       return classnameToBytes;
     } else {
       return dynamicTypeMap;
@@ -186,6 +208,7 @@ public class HelperInjector implements Transformer {
           try {
             logger.debug("Injecting classes onto classloader {} -> {}", cl, helperClassNames);
 
+            long startNanos = System.nanoTime();
             Map<String, byte[]> classnameToBytes = getHelperMap();
             Map<String, Class<?>> classes;
             if (cl == BOOTSTRAP_CLASSLOADER_PLACEHOLDER) {
@@ -193,6 +216,7 @@ public class HelperInjector implements Transformer {
             } else {
               classes = injectClassLoader(cl, classnameToBytes);
             }
+            recordInjection(classes.size(), System.nanoTime() - startNanos);
 
             classes.values().forEach(c -> injectedClasses.put(c, Boolean.TRUE));
 
@@ -219,22 +243,42 @@ public class HelperInjector implements Transformer {
     return classLoader;
   }
 
+  private void recordInjection(int classCount, long durationNanos) {
+    if (supportability.isEnabled()) {
+      supportability.addToCounter(injectedClassesCounter, classCount);
+      supportability.addToCounter(
+          injectionTimeCounter, TimeUnit.NANOSECONDS.toMicros(durationNanos));
+    }
+    StartupProfiler.recordModuleTime(
+        requestingName, StartupProfiler.ModuleTime.HELPER_INJECTION, durationNanos);
+  }
+
   private Map<String, Class<?>> injectBootstrapClassLoader(Map<String, byte[]> classnameToBytes)
       throws IOException {
-    // Mar 2020: Since we're proactively cleaning up tempDirs, we cannot share dirs per thread.
-    // If this proves expensive, we could do a per-process tempDir with
-    // a reference count -- but for now, starting simple.
+    // All injections write their jars into one directory per process instead of creating and
+    // deleting a directory for every injection.
 
     // Failures to create a tempDir are propagated as IOException and handled by transform
-    File tempDir = createTempDir();
-    try {
-      return ClassInjector.UsingInstrumentation.of(
-              tempDir, ClassInjector.UsingInstrumentation.Target.BOOTSTRAP, instrumentation)
-          .injectRaw(classnameToBytes);
-    } finally {
-      // Delete fails silently
-      deleteTempDir(tempDir);
+    return ClassInjector.UsingInstrumentation.of(
+            getBootstrapTempDir(),
+            ClassInjector.UsingInstrumentation.Target.BOOTSTRAP,
+            instrumentation)
+        .injectRaw(classnameToBytes);
+  }
+
+  private static File getBootstrapTempDir() throws IOException {
+    File tempDir = bootstrapTempDir;
+    if (tempDir == null) {
+      synchronized (HelperInjector.class) {
+        tempDir = bootstrapTempDir;
+        if (tempDir == null) {
+          tempDir = createTempDir();
+          tempDir.deleteOnExit();
+          bootstrapTempDir = tempDir;
+        }
+      }
     }
+    return tempDir;
   }
 
   private static Map<String, Class<?>> injectClassLoader(
@@ -272,16 +316,6 @@ public class HelperInjector implements Transformer {
     return Files.createTempDirectory("opentelemetry-temp-jars").toFile();
   }
 
-  private static void deleteTempDir(File file) {
-    // Not using Files.delete for deleting the directory because failures
-    // create Exceptions which may prove expensive.  Instead using the
-    // older File API which simply returns a boolean.
-    boolean deleted = file.delete();
-    if (!deleted) {
-      file.deleteOnExit();
-    }
-  }
-
   public static boolean isInjectedClass(Class<?> c) {
     return Boolean.TRUE.equals(injectedClasses.get(c));
   }
@@ -0,0 +1,199 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import io.opentelemetry.instrumentation.api.InstrumentationVersion;
+import io.opentelemetry.instrumentation.api.config.Config;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A file in the persistent cache directory that survives JVM restarts. Every file starts with a
+ * magic number, a format version and a fingerprint of the agent version and configuration; files
+ * whose header doesn't match are ignored. Files are memory-mapped for reading and replaced
+ * atomically when written.
+ */
+public final class PersistentCacheFile {
+
+  private static final Logger logger = LoggerFactory.getLogger(PersistentCacheFile.class);
+
+  public static final String TYPE_MATCHING_CACHE_DIRECTORY_CONFIG =
+      "otel.javaagent.experimental.type-matching-cache.directory";
+  public static final String MUZZLE_CACHE_DIRECTORY_CONFIG =
+      "otel.javaagent.experimental.muzzle-cache.directory";
+
+  /** Reads the content of a cache file that follows the header. */
+  public interface Reader<T> {
+    T read(ByteBuffer buffer);
+  }
+
+  /** Writes the content of a cache file that follows the header. */
+  public interface Writer {
+    void write(DataOutputStream out) throws IOException;
+  }
+
+  private final Path file;
+  private final int magic;
+  private final int formatVersion;
+  private final String fingerprint;
+
+  public PersistentCacheFile(Path file, int magic, int formatVersion, String fingerprint) {
+    this.file = file;
+    this.magic = magic;
+    this.formatVersion = formatVersion;
+    this.fingerprint = fingerprint;
+  }
+
+  /**
+   * Returns the cache directory configured by {@code property}, or {@code null} if that cache is
+   * disabled.
+   */
+  @Nullable
+  public static Path directory(Config config, String property) {
+    String directory = config.getProperty(property);
+    if (directory == null || directory.isEmpty()) {
+      return null;
+    }
+    return Paths.get(directory);
+  }
+
+  /**
+   * Returns a fingerprint of the agent version, of the configuration properties that can change
+   * which classes are instrumented, and of the content of the loaded extensions.
+   */
+  public static String fingerprint(Config config) {
+    return fingerprint(config, ExtensionClassLoader.getExtensionFiles());
+  }
+
+  // Visible for testing
+  static String fingerprint(Config config, List<File> extensionFiles) {
+    // exporter or resource properties can't change matching outcomes, and neither can the location
+    // of the caches
+    Map<String, String> properties = new TreeMap<>();
+    config
+        .getAllProperties()
+        .forEach(
+            (name, value) -> {
+              if ((name.startsWith("otel.instrumentation.") || name.startsWith("otel.javaagent."))
+                  && !name.equals(TYPE_MATCHING_CACHE_DIRECTORY_CONFIG)
+                  && !name.equals(MUZZLE_CACHE_DIRECTORY_CONFIG)) {
+                properties.put(name, value);
+              }
+            });
+    return InstrumentationVersion.VERSION
+        + ":"
+        + properties.hashCode()
+        + ":"
+        + extensionsDigest(extensionFiles);
+  }
+
+  // extensions embedded in the agent jar are extracted to a new temporary file on every start, so
+  // extensions are identified by their content instead of their path
+  private static String extensionsDigest(List<File> extensionFiles) {
+    if (extensionFiles.isEmpty()) {
+      return "";
+    }
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      for (File extensionFile : extensionFiles) {
+        digest.update(Files.readAllBytes(extensionFile.toPath()));
+      }
+      return ClassLoaderFingerprint.hex(digest.digest());
+    } catch (IOException | NoSuchAlgorithmException e) {
+      logger.debug("Failed to read the extensions, cache files won't be reused", e);
+      // a random value makes sure that no cache file written by another run is read
+      return UUID.randomUUID().toString();
+    }
+  }
+
+  /** Runs {@code save} in a thread named {@code threadName} when the JVM shuts down. */
+  public static void saveOnShutdown(Runnable save, String threadName) {
+    Thread saveThread = new Thread(save, threadName);
+    saveThread.setContextClassLoader(null);
+    Runtime.getRuntime().addShutdownHook(saveThread);
+  }
+
+  public Path path() {
+    return file;
+  }
+
+  /**
+   * Reads the content of this file with {@code reader}, or returns {@code empty} if the file
+   * doesn't exist, can't be read, or was written by another format or configuration.
+   */
+  public <T> T load(Reader<T> reader, T empty) {
+    if (!Files.isRegularFile(file)) {
+      return empty;
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.getInt() != magic || buffer.getInt() != formatVersion) {
+        logger.debug("Ignoring cache file {} with unknown format", file);
+        return empty;
+      }
+      if (!fingerprint.equals(readString(buffer))) {
+        logger.debug("Ignoring cache file {} written by another configuration", file);
+        return empty;
+      }
+      return reader.read(buffer);
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Failed to read cache file {}", file, e);
+      return empty;
+    }
+  }
+
+  /** Replaces this file with the header followed by the content written by {@code writer}. */
+  public void save(Writer writer) {
+    try {
+      Files.createDirectories(file.getParent());
+      Path tempFile =
+          Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+      try (OutputStream fileOut = Files.newOutputStream(tempFile);
+          DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+        out.writeInt(magic);
+        out.writeInt(formatVersion);
+        writeString(out, fingerprint);
+        writer.write(out);
+      }
+      Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      logger.warn("Failed to write cache file {}", file, e);
+    }
+  }
+
+  public static void writeString(DataOutputStream out, String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  public static String readString(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.getInt()];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import io.opentelemetry.instrumentation.api.config.Config;
+import io.opentelemetry.javaagent.bootstrap.AgentInitializer;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records how long the phases of the agent startup take and how much time every instrumentation
+ * module spends in its registration, type and class loader matchers, muzzle checks and helper
+ * injections until the agent is installed. The phases are always recorded, which costs a few
+ * {@link System#nanoTime()} calls; the module times are only recorded when the profile is enabled.
+ *
+ * <p>When enabled, the profile is logged and written as JSON to the configured file once the agent
+ * is installed. Matchers and transformations of classes that are loaded later, after the
+ * application {@code main} started, are not part of the profile.
+ */
+public final class StartupProfiler {
+
+  private static final Logger logger = LoggerFactory.getLogger(StartupProfiler.class);
+
+  private static final String ENABLED_CONFIG =
+      "otel.javaagent.experimental.startup-profile.enabled";
+  private static final String FILE_CONFIG = "otel.javaagent.experimental.startup-profile.file";
+  private static final String DEFAULT_FILE_NAME = "opentelemetry-javaagent-startup-profile.json";
+
+  // number of the most expensive modules that are logged, the file contains all of them
+  private static final int LOGGED_MODULE_COUNT = 10;
+
+  private static final List<Phase> phases = new ArrayList<>();
+  private static final Map<String, ModuleTimes> moduleTimes = new ConcurrentHashMap<>();
+  private static volatile boolean recording = false;
+
+  /** The kinds of work that are accounted to an instrumentation module. */
+  public enum ModuleTime {
+    REGISTRATION,
+    MATCHER,
+    MUZZLE,
+    HELPER_INJECTION,
+    TRANSFORM
+  }
+
+  /**
+   * Starts recording module times if the startup profile is enabled and records the bootstrap
+   * phases that ran before the agent configuration was available.
+   */
+  static void start(Config config) {
+    recording = config.getBooleanProperty(ENABLED_CONFIG, false);
+
+    long premainStart = AgentInitializer.getPremainStartNanos();
+    long initializeStart = AgentInitializer.getInitializeStartNanos();
+    long agentClassLoaderCreated = AgentInitializer.getAgentClassLoaderCreatedNanos();
+    // the timestamps aren't set when the agent is installed directly, e.g. in tests
+    if (premainStart != 0) {
+      recordPhase("bootstrap jar installation", premainStart, initializeStart);
+      recordPhase("agent class loader creation", initializeStart, agentClassLoaderCreated);
+      recordPhase("agent installer initialization", agentClassLoaderCreated, System.nanoTime());
+    }
+  }
+
+  /** Returns whether module times are recorded. */
+  public static boolean isRecording() {
+    return recording;
+  }
+
+  /** Records a startup phase that started at {@code startNanos} and ends now. */
+  static void recordPhase(String name, long startNanos) {
+    recordPhase(name, startNanos, System.nanoTime());
+  }
+
+  private static void recordPhase(String name, long startNanos, long endNanos) {
+    synchronized (phases) {
+      phases.add(new Phase(name, startNanos, endNanos - startNanos));
+    }
+  }
+
+  /** Accounts {@code nanos} of {@code kind} to the instrumentation module {@code moduleName}. */
+  public static void recordModuleTime(String moduleName, ModuleTime kind, long nanos) {
+    if (recording) {
+      moduleTimes.computeIfAbsent(moduleName, k -> new ModuleTimes()).add(kind, nanos);
+    }
+  }
+
+  /** Stops recording and reports the profile if it is enabled. */
+  static void finish(Config config) {
+    boolean enabled = recording;
+    recording = false;
+    List<Phase> recordedPhases;
+    synchronized (phases) {
+      recordedPhases = new ArrayList<>(phases);
+      phases.clear();
+    }
+    List<Map.Entry<String, ModuleTimes>> modules = new ArrayList<>(moduleTimes.entrySet());
+    moduleTimes.clear();
+    if (!enabled || recordedPhases.isEmpty()) {
+      return;
+    }
+
+    modules.sort(
+        Comparator.comparingLong((Map.Entry<String, ModuleTimes> e) -> e.getValue().total())
+            .reversed());
+    long startNanos = recordedPhases.get(0).startNanos;
+    long totalNanos = System.nanoTime() - startNanos;
+
+    logger.info(summary(totalNanos, recordedPhases, modules));
+
+    Path file =
+        Paths.get(
+            config.getProperty(
+                FILE_CONFIG,
+                Paths.get(System.getProperty("java.io.tmpdir"), DEFAULT_FILE_NAME).toString()));
+    try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      writer.write(toJson(totalNanos, recordedPhases, modules));
+    } catch (IOException e) {
+      logger.warn("Failed to write the agent startup profile to {}", file, e);
+    }
+  }
+
+  private static String summary(
+      long totalNanos, List<Phase> phases, List<Map.Entry<String, ModuleTimes>> modules) {
+    StringBuilder summary =
+        new StringBuilder("Agent startup took ").append(millis(totalNanos)).append(" ms:");
+    for (Phase phase : phases) {
+      summary.append(' ').append(phase.name).append(' ').append(millis(phase.nanos)).append(" ms,");
+    }
+    summary.setLength(summary.length() - 1);
+    if (!modules.isEmpty()) {
+      summary.append("; most expensive instrumentation modules:");
+      for (int i = 0; i < Math.min(LOGGED_MODULE_COUNT, modules.size()); i++) {
+        Map.Entry<String, ModuleTimes> module = modules.get(i);
+        summary
+            .append(i == 0 ? " " : ", ")
+            .append(module.getKey())
+            .append(' ')
+            .append(millis(module.getValue().total()))
+            .append(" ms");
+      }
+    }
+    return summary.toString();
+  }
+
+  private static String toJson(
+      long totalNanos, List<Phase> phases, List<Map.Entry<String, ModuleTimes>> modules) {
+    StringBuilder json = new StringBuilder("{\n  \"totalMillis\": ").append(millis(totalNanos));
+    json.append(",\n  \"phases\": [");
+    for (int i = 0; i < phases.size(); i++) {
+      Phase phase = phases.get(i);
+      json.append(i == 0 ? "\n" : ",\n")
+          .append("    { \"name\": \"")
+          .append(phase.name)
+          .append("\", \"millis\": ")
+          .append(millis(phase.nanos))
+          .append(" }");
+    }
+    json.append("\n  ],\n  \"instrumentationModules\": [");
+    for (int i = 0; i < modules.size(); i++) {
+      ModuleTimes times = modules.get(i).getValue();
+      json.append(i == 0 ? "\n" : ",\n")
+          .append("    { \"name\": \"")
+          .append(modules.get(i).getKey())
+          .append("\", \"totalMillis\": ")
+          .append(millis(times.total()));
+      for (ModuleTime kind : ModuleTime.values()) {
+        json.append(", \"")
+            .append(jsonName(kind))
+            .append("Millis\": ")
+            .append(millis(times.nanos(kind)));
+      }
+      json.append(", \"matcherCalls\": ").append(times.matcherCalls.sum()).append(" }");
+    }
+    return json.append("\n  ]\n}\n").toString();
+  }
+
+  // REGISTRATION -> registration, HELPER_INJECTION -> helperInjection
+  private static String jsonName(ModuleTime kind) {
+    String[] words = kind.name().toLowerCase(Locale.ROOT).split("_");
+    StringBuilder name = new StringBuilder(words[0]);
+    for (int i = 1; i < words.length; i++) {
+      name.append(Character.toUpperCase(words[i].charAt(0))).append(words[i], 1, words[i].length());
+    }
+    return name.toString();
+  }
+
+  private static String millis(long nanos) {
+    return String.format(Locale.ROOT, "%.3f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+  }
+
+  private static final class Phase {
+    final String name;
+    final long startNanos;
+    final long nanos;
+
+    Phase(String name, long startNanos, long nanos) {
+      this.name = name;
+      this.startNanos = startNanos;
+      this.nanos = nanos;
+    }
+  }
+
+  private static final class ModuleTimes {
+    private final LongAdder[] nanos = new LongAdder[ModuleTime.values().length];
+    final LongAdder matcherCalls = new LongAdder();
+
+    ModuleTimes() {
+      for (int i = 0; i < nanos.length; i++) {
+        nanos[i] = new LongAdder();
+      }
+    }
+
+    void add(ModuleTime kind, long value) {
+      nanos[kind.ordinal()].add(value);
+      if (kind == ModuleTime.MATCHER) {
+        matcherCalls.increment();
+      }
+    }
+
+    long nanos(ModuleTime kind) {
+      return nanos[kind.ordinal()].sum();
+    }
+
+    long total() {
+      long total = 0;
+      for (LongAdder value : nanos) {
+        total += value.sum();
+      }
+      return total;
+    }
+  }
+
+  private StartupProfiler() {}
+}
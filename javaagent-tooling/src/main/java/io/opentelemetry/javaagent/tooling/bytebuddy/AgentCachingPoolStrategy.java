@@ -5,8 +5,15 @@
 
 package io.opentelemetry.javaagent.tooling.bytebuddy;
 
+import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.TYPE_RESOLUTION_CACHE_EVICTION;
+import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.TYPE_RESOLUTION_CACHE_HIT;
+import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.TYPE_RESOLUTION_CACHE_MISS;
+
 import io.opentelemetry.instrumentation.api.caching.Cache;
+import io.opentelemetry.instrumentation.api.config.Config;
+import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
 import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicLong;
 import net.bytebuddy.agent.builder.AgentBuilder;
 import net.bytebuddy.description.annotation.AnnotationList;
 import net.bytebuddy.description.method.MethodDescription;
@@ -29,17 +36,29 @@ import net.bytebuddy.pool.TypePool;
  * <p>This design was chosen to create a single limited size cache that can be adjusted for the
  * entire application -- without having to create a large number of WeakReference objects.
  *
- * <p>Eviction is handled through a size restriction
+ * <p>Eviction is handled through a size restriction. The cache starts with {@value
+ * #DEFAULT_TYPE_CAPACITY} entries and doubles its capacity, up to a configurable maximum, every
+ * time all of its entries have been evicted since the last resize - this happens when classes are
+ * loaded faster than the cache can hold on to their resolutions, e.g. during startup of large
+ * applications.
  */
 public class AgentCachingPoolStrategy implements AgentBuilder.PoolStrategy {
 
   // Many things are package visible for testing purposes --
   // others to avoid creation of synthetic accessors
 
-  static final int TYPE_CAPACITY = 64;
+  static final int DEFAULT_TYPE_CAPACITY = 64;
+  static final int DEFAULT_MAX_TYPE_CAPACITY = 8192;
 
   static final int BOOTSTRAP_HASH = 7236344; // Just a random number
 
+  private static final String TYPE_CAPACITY_CONFIG =
+      "otel.javaagent.experimental.type-resolution-cache.initial-size";
+  private static final String MAX_TYPE_CAPACITY_CONFIG =
+      "otel.javaagent.experimental.type-resolution-cache.max-size";
+
+  private static final SupportabilityMetrics supportability = SupportabilityMetrics.instance();
+
   /**
    * Cache of recent ClassLoader WeakReferences; used to...
    *
@@ -54,15 +73,91 @@ public class AgentCachingPoolStrategy implements AgentBuilder.PoolStrategy {
   /**
    * Single shared Type.Resolution cache -- uses a composite key -- conceptually of loader & name
    */
-  final Cache<TypeCacheKey, TypePool.Resolution> sharedResolutionCache =
-      Cache.newBuilder().setMaximumSize(TYPE_CAPACITY).build();
+  final Cache<TypeCacheKey, TypePool.Resolution> sharedResolutionCache;
 
   // fast path for bootstrap
-  final SharedResolutionCacheAdapter bootstrapCacheProvider =
-      new SharedResolutionCacheAdapter(BOOTSTRAP_HASH, null, sharedResolutionCache);
+  final SharedResolutionCacheAdapter bootstrapCacheProvider;
+
+  private final long maxTypeCapacity;
+  private final AtomicLong typeCapacity;
+  private final AtomicLong evictionsSinceResize = new AtomicLong();
+  private volatile boolean resizePending;
+
+  public AgentCachingPoolStrategy() {
+    this(
+        Config.get().getLongProperty(TYPE_CAPACITY_CONFIG, DEFAULT_TYPE_CAPACITY),
+        Config.get().getLongProperty(MAX_TYPE_CAPACITY_CONFIG, DEFAULT_MAX_TYPE_CAPACITY));
+  }
+
+  AgentCachingPoolStrategy(long initialTypeCapacity, long maxTypeCapacity) {
+    this.maxTypeCapacity = Math.max(initialTypeCapacity, maxTypeCapacity);
+    this.typeCapacity = new AtomicLong(initialTypeCapacity);
+    this.sharedResolutionCache =
+        Cache.newBuilder()
+            .setMaximumSize(initialTypeCapacity)
+            .setEvictionListener(this::onEviction)
+            .build();
+    this.bootstrapCacheProvider =
+        new SharedResolutionCacheAdapter(BOOTSTRAP_HASH, null, sharedResolutionCache);
+  }
+
+  private void onEviction() {
+    supportability.incrementCounter(TYPE_RESOLUTION_CACHE_EVICTION);
+
+    long capacity = typeCapacity.get();
+    if (capacity >= maxTypeCapacity || evictionsSinceResize.incrementAndGet() < capacity) {
+      return;
+    }
+    // the whole cache was replaced since the last resize, it's too small for the current rate of
+    // class loading; the cache itself is resized outside of the eviction listener
+    long newCapacity = Math.min(capacity * 2, maxTypeCapacity);
+    if (typeCapacity.compareAndSet(capacity, newCapacity)) {
+      evictionsSinceResize.set(0);
+      resizePending = true;
+    }
+  }
+
+  // Visible for testing
+  void resizeIfNeeded() {
+    if (resizePending) {
+      resizePending = false;
+      sharedResolutionCache.setMaximumSize(typeCapacity.get());
+    }
+  }
+
+  /**
+   * Grows the shared resolution cache to hold at least {@code capacity} entries, but no more than
+   * the maximum capacity, and returns its resulting capacity. Used before resolving many types at
+   * once, whose resolutions would otherwise evict each other before they are used.
+   */
+  long ensureTypeCapacity(long capacity) {
+    long target = Math.min(capacity, maxTypeCapacity);
+    while (true) {
+      long current = typeCapacity.get();
+      if (current >= target) {
+        return current;
+      }
+      if (typeCapacity.compareAndSet(current, target)) {
+        evictionsSinceResize.set(0);
+        sharedResolutionCache.setMaximumSize(target);
+        return target;
+      }
+    }
+  }
+
+  long maxTypeCapacity() {
+    return maxTypeCapacity;
+  }
+
+  // Visible for testing
+  long typeCapacity() {
+    return typeCapacity.get();
+  }
 
   @Override
   public final TypePool typePool(ClassFileLocator classFileLocator, ClassLoader classLoader) {
+    resizeIfNeeded();
+
     if (classLoader == null) {
       return createCachingTypePool(bootstrapCacheProvider, classFileLocator);
     }
@@ -213,6 +308,7 @@ public class AgentCachingPoolStrategy implements AgentBuilder.PoolStrategy {
       TypePool.Resolution existingResolution =
           sharedResolutionCache.get(new TypeCacheKey(loaderHash, loaderRef, className));
       if (existingResolution != null) {
+        supportability.incrementCounter(TYPE_RESOLUTION_CACHE_HIT);
         return existingResolution;
       }
 
@@ -220,6 +316,7 @@ public class AgentCachingPoolStrategy implements AgentBuilder.PoolStrategy {
         return OBJECT_RESOLUTION;
       }
 
+      supportability.incrementCounter(TYPE_RESOLUTION_CACHE_MISS);
       return null;
     }
 
@@ -0,0 +1,112 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.bytebuddy;
+
+import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
+import io.opentelemetry.javaagent.tooling.StartupProfiler;
+import io.opentelemetry.javaagent.tooling.StartupProfiler.ModuleTime;
+import net.bytebuddy.matcher.ElementMatcher;
+
+/**
+ * A matcher that accounts the invocations, the time spent and the positive matches of a delegate
+ * matcher to the instrumentation module and type instrumentation it belongs to.
+ *
+ * <p>The counters are reported by {@link SupportabilityMetrics} when agent debug logging is
+ * enabled. The time is also accounted to the module in the {@link StartupProfiler startup profile}
+ * while it is being recorded. When neither is enabled the delegate matcher is used directly.
+ *
+ * @param <T> The type of the matched entity.
+ */
+public final class CostAccountingMatcher<T> extends ElementMatcher.Junction.AbstractBase<T> {
+
+  private final SupportabilityMetrics supportability;
+  private final ElementMatcher<T> matcher;
+  private final String instrumentationName;
+  private final String callsCounter;
+  private final String timeCounter;
+  private final String matchesCounter;
+
+  /**
+   * Returns a matcher that accounts the cost of {@code matcher}.
+   *
+   * @param matcher The delegate matcher.
+   * @param matcherName The kind of the matcher, e.g. {@code "Type matcher"}.
+   * @param instrumentationName The name of the instrumentation module the matcher belongs to.
+   * @param typeInstrumentationClass The type instrumentation the matcher belongs to.
+   */
+  public static <T> ElementMatcher<T> create(
+      ElementMatcher<T> matcher,
+      String matcherName,
+      String instrumentationName,
+      Class<?> typeInstrumentationClass) {
+    return create(
+        matcher,
+        matcherName,
+        instrumentationName,
+        typeInstrumentationClass,
+        SupportabilityMetrics.instance());
+  }
+
+  // visible for testing
+  static <T> ElementMatcher<T> create(
+      ElementMatcher<T> matcher,
+      String matcherName,
+      String instrumentationName,
+      Class<?> typeInstrumentationClass,
+      SupportabilityMetrics supportability) {
+    if (!supportability.isEnabled() && !StartupProfiler.isRecording()) {
+      return matcher;
+    }
+    return new CostAccountingMatcher<>(
+        matcher, matcherName, instrumentationName, typeInstrumentationClass, supportability);
+  }
+
+  private CostAccountingMatcher(
+      ElementMatcher<T> matcher,
+      String matcherName,
+      String instrumentationName,
+      Class<?> typeInstrumentationClass,
+      SupportabilityMetrics supportability) {
+    this.supportability = supportability;
+    this.matcher = matcher;
+    this.instrumentationName = instrumentationName;
+    // the counter names are built once, the counters are incremented on every match
+    String source = " by " + instrumentationName + " [" + typeInstrumentationClass.getName() + "]";
+    this.callsCounter = matcherName + " calls" + source;
+    this.timeCounter = matcherName + " time (ns)" + source;
+    this.matchesCounter = matcherName + " matches" + source;
+  }
+
+  @Override
+  public boolean matches(T target) {
+    boolean supportabilityEnabled = supportability.isEnabled();
+    if (!supportabilityEnabled && !StartupProfiler.isRecording()) {
+      return matcher.matches(target);
+    }
+
+    long startNanos = System.nanoTime();
+    boolean matches = false;
+    try {
+      matches = matcher.matches(target);
+      return matches;
+    } finally {
+      long nanos = System.nanoTime() - startNanos;
+      StartupProfiler.recordModuleTime(instrumentationName, ModuleTime.MATCHER, nanos);
+      if (supportabilityEnabled) {
+        supportability.incrementCounter(callsCounter);
+        supportability.addToCounter(timeCounter, nanos);
+        if (matches) {
+          supportability.incrementCounter(matchesCounter);
+        }
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return matcher.toString();
+  }
+}
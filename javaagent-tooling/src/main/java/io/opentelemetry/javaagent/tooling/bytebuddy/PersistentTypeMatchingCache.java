@@ -0,0 +1,361 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.bytebuddy;
+
+import static io.opentelemetry.javaagent.tooling.PersistentCacheFile.readString;
+import static io.opentelemetry.javaagent.tooling.PersistentCacheFile.writeString;
+
+import io.opentelemetry.instrumentation.api.config.Config;
+import io.opentelemetry.javaagent.tooling.ClassLoaderFingerprint;
+import io.opentelemetry.javaagent.tooling.PersistentCacheFile;
+import java.io.File;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.utility.JavaModule;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Opt-in cache of type matching outcomes that survives JVM restarts.
+ *
+ * <p>Classes loaded from a jar file that were not transformed by any transformation registered on
+ * the agent builder are recorded per jar and class loader. A jar is identified by its path, last
+ * modification time and size, and a class loader by its {@link ClassLoaderFingerprint}: class
+ * loader matchers and muzzle depend on what else the class loader can see, so a class ignored by
+ * one class loader may well be transformed when the same jar is loaded by another one. The recorded
+ * outcomes are written to {@value #CACHE_FILE_NAME} in the configured directory when the JVM shuts
+ * down, and memory-mapped on the next startup: classes recorded for an unchanged jar and class
+ * loader are then ignored without resolving their type description or evaluating any matchers.
+ *
+ * <p>Classes whose type hierarchy can't be fully resolved are not recorded, since matchers treat
+ * missing super types as not matching and those may become resolvable later. The whole file is
+ * discarded when the agent version, any instrumentation or agent configuration property, or any
+ * extension changes.
+ */
+public final class PersistentTypeMatchingCache
+    implements AgentBuilder.RawMatcher, AgentBuilder.Listener {
+
+  private static final Logger logger = LoggerFactory.getLogger(PersistentTypeMatchingCache.class);
+
+  static final String CACHE_FILE_NAME = "type-matching-cache.bin";
+
+  private static final int MAGIC = 0x4f54544d; // "OTTM"
+  private static final int FORMAT_VERSION = 2;
+
+  // marks code sources that can't be cached, e.g. directories or non-file URLs
+  private static final JarLocation NOT_CACHEABLE = new JarLocation("", 0, 0);
+
+  private final PersistentCacheFile cacheFile;
+  private final Map<Origin, Set<String>> persistedIgnoredTypes;
+  private final ConcurrentHashMap<Origin, Set<String>> ignoredTypes = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<URL, JarLocation> jarLocations = new ConcurrentHashMap<>();
+  private final ClassLoaderFingerprint classLoaderFingerprints = new ClassLoaderFingerprint();
+  // the class currently being matched on this thread, used to attribute listener events to a jar
+  private static final ThreadLocal<PendingType> pendingType = new ThreadLocal<>();
+
+  /**
+   * Returns a new {@link PersistentTypeMatchingCache} if a cache directory is configured, {@code
+   * null} otherwise. The returned cache is saved when the JVM shuts down.
+   */
+  @Nullable
+  public static PersistentTypeMatchingCache create(Config config) {
+    Path directory =
+        PersistentCacheFile.directory(
+            config, PersistentCacheFile.TYPE_MATCHING_CACHE_DIRECTORY_CONFIG);
+    if (directory == null) {
+      return null;
+    }
+    PersistentTypeMatchingCache cache =
+        new PersistentTypeMatchingCache(directory, PersistentCacheFile.fingerprint(config));
+    PersistentCacheFile.saveOnShutdown(cache::save, "otel-type-matching-cache-writer");
+    return cache;
+  }
+
+  // Visible for testing
+  PersistentTypeMatchingCache(Path directory, String fingerprint) {
+    this.cacheFile =
+        new PersistentCacheFile(
+            directory.resolve(CACHE_FILE_NAME), MAGIC, FORMAT_VERSION, fingerprint);
+    this.persistedIgnoredTypes =
+        cacheFile.load(PersistentTypeMatchingCache::read, Collections.emptyMap());
+  }
+
+  @Override
+  public boolean matches(
+      TypeDescription typeDescription,
+      ClassLoader classLoader,
+      JavaModule module,
+      Class<?> classBeingRedefined,
+      ProtectionDomain protectionDomain) {
+    JarLocation location = jarLocation(protectionDomain);
+    if (location == NOT_CACHEABLE) {
+      pendingType.remove();
+      return false;
+    }
+    String classLoaderFingerprint = classLoaderFingerprint(classLoader);
+    if (classLoaderFingerprint.isEmpty()) {
+      pendingType.remove();
+      return false;
+    }
+    Origin origin = new Origin(location, classLoaderFingerprint);
+    String typeName = typeDescription.getName();
+    Set<String> persisted = persistedIgnoredTypes.get(origin);
+    if (persisted != null && persisted.contains(typeName)) {
+      return true;
+    }
+    pendingType.set(new PendingType(typeName, origin));
+    return false;
+  }
+
+  private String classLoaderFingerprint(@Nullable ClassLoader classLoader) {
+    if (classLoader == null) {
+      // bootstrap classes are not cached
+      return ClassLoaderFingerprint.NOT_CACHEABLE;
+    }
+    return classLoaderFingerprints.get(classLoader);
+  }
+
+  private JarLocation jarLocation(ProtectionDomain protectionDomain) {
+    if (protectionDomain == null) {
+      return NOT_CACHEABLE;
+    }
+    CodeSource codeSource = protectionDomain.getCodeSource();
+    if (codeSource == null || codeSource.getLocation() == null) {
+      return NOT_CACHEABLE;
+    }
+    return jarLocations.computeIfAbsent(codeSource.getLocation(), JarLocation::forUrl);
+  }
+
+  @Override
+  public void onIgnored(
+      TypeDescription typeDescription,
+      ClassLoader classLoader,
+      JavaModule module,
+      boolean loaded) {
+    PendingType pending = pendingType.get();
+    if (pending != null
+        && pending.typeName.equals(typeDescription.getName())
+        && isFullyResolved(typeDescription)) {
+      ignoredTypes
+          .computeIfAbsent(pending.origin, k -> ConcurrentHashMap.newKeySet())
+          .add(pending.typeName);
+    }
+  }
+
+  // Visible for testing
+  static boolean isFullyResolved(TypeDescription typeDescription) {
+    Set<String> visited = new HashSet<>();
+    Deque<TypeDescription> pending = new ArrayDeque<>();
+    pending.add(typeDescription);
+    try {
+      while (!pending.isEmpty()) {
+        TypeDescription type = pending.poll();
+        if (!visited.add(type.getName())) {
+          continue;
+        }
+        TypeDescription.Generic superClass = type.getSuperClass();
+        if (superClass != null) {
+          pending.add(superClass.asErasure());
+        }
+        for (TypeDescription.Generic interfaceType : type.getInterfaces()) {
+          pending.add(interfaceType.asErasure());
+        }
+      }
+      return true;
+    } catch (RuntimeException e) {
+      // the type pool throws IllegalStateException for super types it can't find
+      return false;
+    }
+  }
+
+  @Override
+  public void onComplete(
+      String typeName, ClassLoader classLoader, JavaModule module, boolean loaded) {
+    pendingType.remove();
+  }
+
+  @Override
+  public void onDiscovery(
+      String typeName, ClassLoader classLoader, JavaModule module, boolean loaded) {}
+
+  @Override
+  public void onTransformation(
+      TypeDescription typeDescription,
+      ClassLoader classLoader,
+      JavaModule module,
+      boolean loaded,
+      DynamicType dynamicType) {
+    // transformed by some registration, so it must not be recorded as ignored
+    pendingType.remove();
+  }
+
+  @Override
+  public void onError(
+      String typeName,
+      ClassLoader classLoader,
+      JavaModule module,
+      boolean loaded,
+      Throwable throwable) {
+    pendingType.remove();
+  }
+
+  /** Writes the persisted outcomes that are still valid together with the newly recorded ones. */
+  // Visible for testing
+  void save() {
+    Map<Origin, Set<String>> merged = new HashMap<>();
+    persistedIgnoredTypes.forEach(
+        (origin, typeNames) -> {
+          // only keep jars that haven't changed, or were removed, since the cache was loaded
+          JarLocation location = origin.location;
+          if (location.equals(JarLocation.forFile(new File(location.path)))) {
+            merged.put(origin, new HashSet<>(typeNames));
+          }
+        });
+    ignoredTypes.forEach(
+        (origin, typeNames) ->
+            merged.computeIfAbsent(origin, k -> new HashSet<>()).addAll(typeNames));
+
+    cacheFile.save(
+        out -> {
+          out.writeInt(merged.size());
+          for (Map.Entry<Origin, Set<String>> entry : merged.entrySet()) {
+            Origin origin = entry.getKey();
+            writeString(out, origin.location.path);
+            out.writeLong(origin.location.lastModified);
+            out.writeLong(origin.location.size);
+            writeString(out, origin.classLoaderFingerprint);
+            out.writeInt(entry.getValue().size());
+            for (String typeName : entry.getValue()) {
+              writeString(out, typeName);
+            }
+          }
+        });
+  }
+
+  private static Map<Origin, Set<String>> read(ByteBuffer buffer) {
+    int originCount = buffer.getInt();
+    Map<Origin, Set<String>> result = new HashMap<>(originCount * 2);
+    for (int i = 0; i < originCount; i++) {
+      JarLocation location =
+          new JarLocation(readString(buffer), buffer.getLong(), buffer.getLong());
+      Origin origin = new Origin(location, readString(buffer));
+      int typeCount = buffer.getInt();
+      Set<String> typeNames = new HashSet<>(typeCount * 2);
+      for (int j = 0; j < typeCount; j++) {
+        typeNames.add(readString(buffer));
+      }
+      result.put(origin, typeNames);
+    }
+    logger.debug("Loaded type matching cache for {} jars", originCount);
+    return result;
+  }
+
+  private static final class PendingType {
+    final String typeName;
+    final Origin origin;
+
+    PendingType(String typeName, Origin origin) {
+      this.typeName = typeName;
+      this.origin = origin;
+    }
+  }
+
+  /** A jar loaded by a class loader with a given class path. */
+  private static final class Origin {
+    final JarLocation location;
+    final String classLoaderFingerprint;
+
+    Origin(JarLocation location, String classLoaderFingerprint) {
+      this.location = location;
+      this.classLoaderFingerprint = classLoaderFingerprint;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (!(obj instanceof Origin)) {
+        return false;
+      }
+      Origin other = (Origin) obj;
+      return location.equals(other.location)
+          && classLoaderFingerprint.equals(other.classLoaderFingerprint);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * location.hashCode() + classLoaderFingerprint.hashCode();
+    }
+  }
+
+  static final class JarLocation {
+    final String path;
+    final long lastModified;
+    final long size;
+
+    JarLocation(String path, long lastModified, long size) {
+      this.path = path;
+      this.lastModified = lastModified;
+      this.size = size;
+    }
+
+    static JarLocation forUrl(URL url) {
+      if (!"file".equals(url.getProtocol()) || !url.getPath().endsWith(".jar")) {
+        return NOT_CACHEABLE;
+      }
+      try {
+        return forFile(new File(url.toURI()));
+      } catch (Exception e) {
+        return NOT_CACHEABLE;
+      }
+    }
+
+    static JarLocation forFile(File file) {
+      if (!file.isFile()) {
+        return NOT_CACHEABLE;
+      }
+      return new JarLocation(file.getAbsolutePath(), file.lastModified(), file.length());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (!(obj instanceof JarLocation)) {
+        return false;
+      }
+      JarLocation other = (JarLocation) obj;
+      return lastModified == other.lastModified
+          && size == other.size
+          && path.equals(other.path);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = path.hashCode();
+      result = 31 * result + Long.hashCode(lastModified);
+      result = 31 * result + Long.hashCode(size);
+      return result;
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.bytebuddy;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.pool.TypePool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Resolves the type descriptions of already loaded classes in parallel, ahead of their
+ * retransformation. The descriptions end up in the {@link AgentCachingPoolStrategy} cache, so the
+ * matchers that run serially during retransformation don't have to parse the class files again.
+ *
+ * <p>Batches are sized so that all resolutions of a batch fit into that cache, which is grown to
+ * hold them before each batch is prefetched.
+ */
+public final class TypeDescriptionPrefetcher {
+
+  private static final Logger logger = LoggerFactory.getLogger(TypeDescriptionPrefetcher.class);
+
+  static final int MAX_BATCH_SIZE = 512;
+  // the class itself, its super class and a few of its interfaces and annotation types
+  static final int RESOLUTIONS_PER_CLASS = 4;
+
+  private final AgentCachingPoolStrategy poolStrategy;
+  private final AgentLocationStrategy locationStrategy;
+  private final ForkJoinPool pool;
+  private final int batchSize;
+
+  public TypeDescriptionPrefetcher(
+      AgentCachingPoolStrategy poolStrategy,
+      AgentLocationStrategy locationStrategy,
+      int parallelism) {
+    this.poolStrategy = poolStrategy;
+    this.locationStrategy = locationStrategy;
+    this.batchSize =
+        (int)
+            Math.max(
+                1,
+                Math.min(MAX_BATCH_SIZE, poolStrategy.maxTypeCapacity() / RESOLUTIONS_PER_CLASS));
+    this.pool =
+        new ForkJoinPool(
+            parallelism,
+            forkJoinPool -> {
+              ForkJoinWorkerThread thread =
+                  ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+              thread.setName("otel-type-description-prefetcher-" + thread.getPoolIndex());
+              thread.setDaemon(true);
+              thread.setContextClassLoader(null);
+              return thread;
+            },
+            null,
+            false);
+  }
+
+  /** Returns the number of classes that should be passed to {@link #prefetch(List)} at once. */
+  public int batchSize() {
+    return batchSize;
+  }
+
+  /** Resolves the descriptions of all {@code classes}, blocking until all of them are done. */
+  public void prefetch(List<Class<?>> classes) {
+    poolStrategy.ensureTypeCapacity((long) classes.size() * RESOLUTIONS_PER_CLASS);
+    try {
+      pool.submit(() -> classes.parallelStream().forEach(this::prefetch))
+          .get(1, TimeUnit.MINUTES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      // prefetching is only an optimization, retransformation resolves whatever is missing
+      logger.debug("Failed to prefetch type descriptions", e);
+    }
+  }
+
+  private void prefetch(Class<?> clazz) {
+    try {
+      ClassLoader classLoader = clazz.getClassLoader();
+      TypePool typePool =
+          poolStrategy.typePool(locationStrategy.classFileLocator(classLoader), classLoader);
+      TypePool.Resolution resolution = typePool.describe(clazz.getName());
+      if (!resolution.isResolved()) {
+        return;
+      }
+      // these are the calls the matchers make and AgentCachingPoolStrategy caches
+      TypeDescription type = resolution.resolve();
+      type.getSuperClass();
+      type.getInterfaces();
+      type.getDeclaredAnnotations();
+      type.getDeclaredMethods();
+    } catch (Exception | LinkageError e) {
+      logger.debug("Failed to prefetch type description of {}", clazz.getName(), e);
+    }
+  }
+
+  /** Stops the prefetching threads. */
+  public void shutdown() {
+    pool.shutdown();
+  }
+}
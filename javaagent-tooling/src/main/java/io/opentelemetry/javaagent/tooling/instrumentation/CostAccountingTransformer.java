@@ -0,0 +1,62 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.instrumentation;
+
+import io.opentelemetry.javaagent.tooling.StartupProfiler;
+import io.opentelemetry.javaagent.tooling.StartupProfiler.ModuleTime;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.utility.JavaModule;
+
+/**
+ * A transformer that accounts the time spent in a delegate transformer to the instrumentation
+ * module it belongs to in the {@link StartupProfiler startup profile}. This covers e.g. resolving
+ * and parsing the advice classes; the class file itself is generated by byte buddy once all
+ * transformers ran and is not accounted to any module.
+ */
+final class CostAccountingTransformer implements AgentBuilder.Transformer {
+
+  private final AgentBuilder.Transformer transformer;
+  private final String instrumentationName;
+
+  /**
+   * Returns a transformer that accounts the time spent in {@code transformer}, or {@code
+   * transformer} itself if the startup profile is not being recorded.
+   */
+  static AgentBuilder.Transformer create(
+      AgentBuilder.Transformer transformer, String instrumentationName) {
+    if (!StartupProfiler.isRecording()) {
+      return transformer;
+    }
+    return new CostAccountingTransformer(transformer, instrumentationName);
+  }
+
+  private CostAccountingTransformer(
+      AgentBuilder.Transformer transformer, String instrumentationName) {
+    this.transformer = transformer;
+    this.instrumentationName = instrumentationName;
+  }
+
+  @Override
+  public DynamicType.Builder<?> transform(
+      DynamicType.Builder<?> builder,
+      TypeDescription typeDescription,
+      ClassLoader classLoader,
+      JavaModule module) {
+    if (!StartupProfiler.isRecording()) {
+      return transformer.transform(builder, typeDescription, classLoader, module);
+    }
+
+    long startNanos = System.nanoTime();
+    try {
+      return transformer.transform(builder, typeDescription, classLoader, module);
+    } finally {
+      StartupProfiler.recordModuleTime(
+          instrumentationName, ModuleTime.TRANSFORM, System.nanoTime() - startNanos);
+    }
+  }
+}
@@ -11,6 +11,8 @@ import com.google.auto.service.AutoService;
 import io.opentelemetry.javaagent.bootstrap.InstrumentationHolder;
 import io.opentelemetry.javaagent.extension.AgentExtension;
 import io.opentelemetry.javaagent.extension.instrumentation.InstrumentationModule;
+import io.opentelemetry.javaagent.tooling.StartupProfiler;
+import io.opentelemetry.javaagent.tooling.StartupProfiler.ModuleTime;
 import net.bytebuddy.agent.builder.AgentBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,7 +33,12 @@ public class InstrumentationLoader implements AgentExtension {
           instrumentationModule.instrumentationName(),
           instrumentationModule.getClass().getName());
       try {
+        long startNanos = System.nanoTime();
         agentBuilder = instrumentationModuleInstaller.install(instrumentationModule, agentBuilder);
+        StartupProfiler.recordModuleTime(
+            instrumentationModule.instrumentationName(),
+            ModuleTime.REGISTRATION,
+            System.nanoTime() - startNanos);
         numberOfLoadedModules++;
       } catch (Exception | LinkageError e) {
         logger.error(
@@ -10,16 +10,21 @@ import static net.bytebuddy.matcher.ElementMatchers.isAnnotatedWith;
 import static net.bytebuddy.matcher.ElementMatchers.named;
 import static net.bytebuddy.matcher.ElementMatchers.not;
 
+import io.opentelemetry.instrumentation.api.config.Config;
 import io.opentelemetry.javaagent.extension.instrumentation.InstrumentationModule;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
 import io.opentelemetry.javaagent.tooling.HelperInjector;
+import io.opentelemetry.javaagent.tooling.StartupProfiler;
+import io.opentelemetry.javaagent.tooling.StartupProfiler.ModuleTime;
 import io.opentelemetry.javaagent.tooling.TransformSafeLogger;
 import io.opentelemetry.javaagent.tooling.Utils;
+import io.opentelemetry.javaagent.tooling.bytebuddy.CostAccountingMatcher;
 import io.opentelemetry.javaagent.tooling.bytebuddy.LoggingFailSafeMatcher;
 import io.opentelemetry.javaagent.tooling.context.FieldBackedProvider;
 import io.opentelemetry.javaagent.tooling.context.InstrumentationContextProvider;
 import io.opentelemetry.javaagent.tooling.context.NoopContextProvider;
 import io.opentelemetry.javaagent.tooling.muzzle.matcher.Mismatch;
+import io.opentelemetry.javaagent.tooling.muzzle.matcher.PersistentMuzzleCache;
 import io.opentelemetry.javaagent.tooling.muzzle.matcher.ReferenceMatcher;
 import java.lang.instrument.Instrumentation;
 import java.security.ProtectionDomain;
@@ -31,6 +36,7 @@ import net.bytebuddy.description.annotation.AnnotationSource;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.utility.JavaModule;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,6 +45,7 @@ public final class InstrumentationModuleInstaller {
       TransformSafeLogger.getLogger(InstrumentationModule.class);
   private static final Logger muzzleLogger = LoggerFactory.getLogger("muzzleMatcher");
   private final Instrumentation instrumentation;
+  @Nullable private final PersistentMuzzleCache muzzleCache;
 
   // Added here instead of AgentInstaller's ignores because it's relatively
   // expensive. https://github.com/DataDog/dd-trace-java/pull/1045
@@ -47,6 +54,7 @@ public final class InstrumentationModuleInstaller {
 
   public InstrumentationModuleInstaller(Instrumentation instrumentation) {
     this.instrumentation = instrumentation;
+    this.muzzleCache = PersistentMuzzleCache.create(Config.get());
   }
 
   AgentBuilder install(
@@ -68,9 +76,11 @@ public final class InstrumentationModuleInstaller {
       return parentAgentBuilder;
     }
 
+    String instrumentationName = instrumentationModule.instrumentationName();
     ElementMatcher.Junction<ClassLoader> moduleClassLoaderMatcher =
         instrumentationModule.classLoaderMatcher();
-    MuzzleMatcher muzzleMatcher = new MuzzleMatcher(instrumentationModule, helperClassNames);
+    MuzzleMatcher muzzleMatcher =
+        new MuzzleMatcher(instrumentationModule, helperClassNames, muzzleCache);
     AgentBuilder.Transformer helperInjector =
         new HelperInjector(
             instrumentationModule.instrumentationName(),
@@ -83,22 +93,33 @@ public final class InstrumentationModuleInstaller {
 
     AgentBuilder agentBuilder = parentAgentBuilder;
     for (TypeInstrumentation typeInstrumentation : typeInstrumentations) {
+      ElementMatcher<TypeDescription> typeMatcher =
+          new LoggingFailSafeMatcher<>(
+              CostAccountingMatcher.create(
+                  typeInstrumentation.typeMatcher(),
+                  "Type matcher",
+                  instrumentationName,
+                  typeInstrumentation.getClass()),
+              "Instrumentation type matcher unexpected exception: " + getClass().getName());
+      ElementMatcher<ClassLoader> classLoaderMatcher =
+          new LoggingFailSafeMatcher<>(
+              CostAccountingMatcher.create(
+                  moduleClassLoaderMatcher.and(typeInstrumentation.classLoaderOptimization()),
+                  "Class loader matcher",
+                  instrumentationName,
+                  typeInstrumentation.getClass()),
+              "Instrumentation class loader matcher unexpected exception: "
+                  + getClass().getName());
       AgentBuilder.Identified.Extendable extendableAgentBuilder =
           agentBuilder
-              .type(
-                  new LoggingFailSafeMatcher<>(
-                      typeInstrumentation.typeMatcher(),
-                      "Instrumentation type matcher unexpected exception: " + getClass().getName()),
-                  new LoggingFailSafeMatcher<>(
-                      moduleClassLoaderMatcher.and(typeInstrumentation.classLoaderOptimization()),
-                      "Instrumentation class loader matcher unexpected exception: "
-                          + getClass().getName()))
+              .type(typeMatcher, classLoaderMatcher)
               .and(NOT_DECORATOR_MATCHER)
               .and(muzzleMatcher)
               .transform(ConstantAdjuster.instance())
               .transform(helperInjector);
       extendableAgentBuilder = contextProvider.instrumentationTransformer(extendableAgentBuilder);
-      TypeTransformerImpl typeTransformer = new TypeTransformerImpl(extendableAgentBuilder);
+      TypeTransformerImpl typeTransformer =
+          new TypeTransformerImpl(extendableAgentBuilder, instrumentationName);
       typeInstrumentation.transform(typeTransformer);
       extendableAgentBuilder = typeTransformer.getAgentBuilder();
       extendableAgentBuilder = contextProvider.additionalInstrumentation(extendableAgentBuilder);
@@ -127,13 +148,17 @@ public final class InstrumentationModuleInstaller {
   private static class MuzzleMatcher implements AgentBuilder.RawMatcher {
     private final InstrumentationModule instrumentationModule;
     private final List<String> helperClassNames;
+    @Nullable private final PersistentMuzzleCache muzzleCache;
     private final AtomicBoolean initialized = new AtomicBoolean(false);
     private volatile ReferenceMatcher referenceMatcher;
 
     private MuzzleMatcher(
-        InstrumentationModule instrumentationModule, List<String> helperClassNames) {
+        InstrumentationModule instrumentationModule,
+        List<String> helperClassNames,
+        @Nullable PersistentMuzzleCache muzzleCache) {
       this.instrumentationModule = instrumentationModule;
       this.helperClassNames = helperClassNames;
+      this.muzzleCache = muzzleCache;
     }
 
     @Override
@@ -147,7 +172,12 @@ public final class InstrumentationModuleInstaller {
       if (classLoader == BOOTSTRAP_LOADER) {
         classLoader = Utils.getBootstrapProxy();
       }
+      long startNanos = System.nanoTime();
       boolean isMatch = muzzle.matches(classLoader);
+      StartupProfiler.recordModuleTime(
+          instrumentationModule.instrumentationName(),
+          ModuleTime.MUZZLE,
+          System.nanoTime() - startNanos);
 
       if (!isMatch) {
         if (muzzleLogger.isWarnEnabled()) {
@@ -184,7 +214,11 @@ public final class InstrumentationModuleInstaller {
             new ReferenceMatcher(
                 helperClassNames,
                 instrumentationModule.getMuzzleReferences(),
-                instrumentationModule::isHelperClass);
+                instrumentationModule::isHelperClass,
+                muzzleCache,
+                muzzleCache != null
+                    ? PersistentMuzzleCache.moduleKey(instrumentationModule.getClass())
+                    : "");
       }
       return referenceMatcher;
     }
@@ -14,9 +14,12 @@ import net.bytebuddy.matcher.ElementMatcher;
 
 final class TypeTransformerImpl implements TypeTransformer {
   private AgentBuilder.Identified.Extendable agentBuilder;
+  private final String instrumentationName;
 
-  TypeTransformerImpl(AgentBuilder.Identified.Extendable agentBuilder) {
+  TypeTransformerImpl(
+      AgentBuilder.Identified.Extendable agentBuilder, String instrumentationName) {
     this.agentBuilder = agentBuilder;
+    this.instrumentationName = instrumentationName;
   }
 
   @Override
@@ -24,18 +27,21 @@ final class TypeTransformerImpl implements TypeTransformer {
       ElementMatcher<? super MethodDescription> methodMatcher, String adviceClassName) {
     agentBuilder =
         agentBuilder.transform(
-            new AgentBuilder.Transformer.ForAdvice()
-                .include(
-                    Utils.getBootstrapProxy(),
-                    Utils.getAgentClassLoader(),
-                    Utils.getExtensionsClassLoader())
-                .withExceptionHandler(ExceptionHandlers.defaultExceptionHandler())
-                .advice(methodMatcher, adviceClassName));
+            CostAccountingTransformer.create(
+                new AgentBuilder.Transformer.ForAdvice()
+                    .include(
+                        Utils.getBootstrapProxy(),
+                        Utils.getAgentClassLoader(),
+                        Utils.getExtensionsClassLoader())
+                    .withExceptionHandler(ExceptionHandlers.defaultExceptionHandler())
+                    .advice(methodMatcher, adviceClassName),
+                instrumentationName));
   }
 
   @Override
   public void applyTransformer(AgentBuilder.Transformer transformer) {
-    agentBuilder = agentBuilder.transform(transformer);
+    agentBuilder =
+        agentBuilder.transform(CostAccountingTransformer.create(transformer, instrumentationName));
   }
 
   AgentBuilder.Identified.Extendable getAgentBuilder() {
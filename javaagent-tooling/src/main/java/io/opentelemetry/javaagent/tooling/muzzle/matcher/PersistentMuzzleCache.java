@@ -0,0 +1,169 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.muzzle.matcher;
+
+import static io.opentelemetry.javaagent.tooling.PersistentCacheFile.readString;
+import static io.opentelemetry.javaagent.tooling.PersistentCacheFile.writeString;
+
+import io.opentelemetry.instrumentation.api.config.Config;
+import io.opentelemetry.javaagent.tooling.ClassLoaderFingerprint;
+import io.opentelemetry.javaagent.tooling.PersistentCacheFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Opt-in cache of muzzle results that survives JVM restarts.
+ *
+ * <p>Results are recorded per instrumentation module and class loader. A module is identified by
+ * its class name and the path, last modification time and size of the jar it was loaded from. A
+ * class loader is identified by its {@link ClassLoaderFingerprint}; class loaders whose class path
+ * can't be determined are never cached. The results are written to {@value #CACHE_FILE_NAME}
+ * in the directory configured by {@value PersistentCacheFile#MUZZLE_CACHE_DIRECTORY_CONFIG} when
+ * the JVM shuts down, and memory-mapped on the next startup. Results that weren't used for {@value
+ * #MAX_UNUSED_RUNS} runs are dropped.
+ *
+ * <p>The whole file is discarded when the agent version, any instrumentation or agent
+ * configuration property, or any extension changes.
+ */
+public final class PersistentMuzzleCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(PersistentMuzzleCache.class);
+
+  static final String CACHE_FILE_NAME = "muzzle-cache.bin";
+
+  private static final int MAGIC = 0x4f544d5a; // "OTMZ"
+  private static final int FORMAT_VERSION = 1;
+  private static final int MAX_UNUSED_RUNS = 5;
+
+  private final PersistentCacheFile cacheFile;
+  private final Map<String, Result> persistedResults;
+  private final ConcurrentHashMap<String, Result> results = new ConcurrentHashMap<>();
+  private final ClassLoaderFingerprint classLoaderFingerprints = new ClassLoaderFingerprint();
+
+  /**
+   * Returns a new {@link PersistentMuzzleCache} if a cache directory is configured, {@code null}
+   * otherwise. The returned cache is saved when the JVM shuts down.
+   */
+  @Nullable
+  public static PersistentMuzzleCache create(Config config) {
+    Path directory =
+        PersistentCacheFile.directory(config, PersistentCacheFile.MUZZLE_CACHE_DIRECTORY_CONFIG);
+    if (directory == null) {
+      return null;
+    }
+    PersistentMuzzleCache cache =
+        new PersistentMuzzleCache(directory, PersistentCacheFile.fingerprint(config));
+    PersistentCacheFile.saveOnShutdown(cache::save, "otel-muzzle-cache-writer");
+    return cache;
+  }
+
+  // Visible for testing
+  PersistentMuzzleCache(Path directory, String fingerprint) {
+    this.cacheFile =
+        new PersistentCacheFile(
+            directory.resolve(CACHE_FILE_NAME), MAGIC, FORMAT_VERSION, fingerprint);
+    this.persistedResults = cacheFile.load(PersistentMuzzleCache::read, Collections.emptyMap());
+  }
+
+  /** Returns the key identifying the version of the instrumentation module {@code moduleClass}. */
+  public static String moduleKey(Class<?> moduleClass) {
+    StringBuilder key = new StringBuilder(moduleClass.getName());
+    try {
+      CodeSource codeSource = moduleClass.getProtectionDomain().getCodeSource();
+      if (codeSource != null && codeSource.getLocation() != null) {
+        ClassLoaderFingerprint.appendUrl(key, codeSource.getLocation());
+      }
+    } catch (SecurityException e) {
+      // the class name alone still identifies modules that are shipped with the agent
+    }
+    return key.toString();
+  }
+
+  /**
+   * Returns the persisted result of matching the module identified by {@code moduleKey} against
+   * {@code classLoader}, or {@code null} if there is none.
+   */
+  @Nullable
+  Boolean get(String moduleKey, ClassLoader classLoader) {
+    String classLoaderFingerprint = classLoaderFingerprint(classLoader);
+    if (classLoaderFingerprint.isEmpty()) {
+      return null;
+    }
+    String key = moduleKey + ' ' + classLoaderFingerprint;
+    Result result = persistedResults.get(key);
+    if (result == null) {
+      return null;
+    }
+    // mark the result as used, so that it is kept
+    results.putIfAbsent(key, new Result(result.matches, 0));
+    return result.matches;
+  }
+
+  /** Records the result of matching the module identified by {@code moduleKey}. */
+  void put(String moduleKey, ClassLoader classLoader, boolean matches) {
+    String classLoaderFingerprint = classLoaderFingerprint(classLoader);
+    if (!classLoaderFingerprint.isEmpty()) {
+      results.put(moduleKey + ' ' + classLoaderFingerprint, new Result(matches, 0));
+    }
+  }
+
+  private String classLoaderFingerprint(ClassLoader classLoader) {
+    return classLoaderFingerprints.get(classLoader);
+  }
+
+  /** Writes the results recorded or used in this run and recently used persisted results. */
+  // Visible for testing
+  void save() {
+    Map<String, Result> merged = new HashMap<>();
+    persistedResults.forEach(
+        (key, result) -> {
+          if (result.unusedRuns < MAX_UNUSED_RUNS) {
+            merged.put(key, new Result(result.matches, result.unusedRuns + 1));
+          }
+        });
+    merged.putAll(results);
+
+    cacheFile.save(
+        out -> {
+          out.writeInt(merged.size());
+          for (Map.Entry<String, Result> entry : merged.entrySet()) {
+            writeString(out, entry.getKey());
+            out.writeBoolean(entry.getValue().matches);
+            out.writeByte(entry.getValue().unusedRuns);
+          }
+        });
+  }
+
+  private static Map<String, Result> read(ByteBuffer buffer) {
+    int count = buffer.getInt();
+    Map<String, Result> result = new HashMap<>(count * 2);
+    for (int i = 0; i < count; i++) {
+      String key = readString(buffer);
+      result.put(key, new Result(buffer.get() != 0, buffer.get()));
+    }
+    logger.debug("Loaded muzzle cache with {} results", count);
+    return result;
+  }
+
+  private static final class Result {
+    final boolean matches;
+    // number of runs since the result was last used
+    final int unusedRuns;
+
+    Result(boolean matches, int unusedRuns) {
+      this.matches = matches;
+      this.unusedRuns = unusedRuns;
+    }
+  }
+}
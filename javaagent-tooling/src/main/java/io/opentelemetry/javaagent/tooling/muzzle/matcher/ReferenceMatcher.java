@@ -28,6 +28,7 @@ import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.jar.asm.Type;
 import net.bytebuddy.pool.TypePool;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /** Matches a set of references against a classloader. */
 public final class ReferenceMatcher {
@@ -37,15 +38,32 @@ public final class ReferenceMatcher {
   private final Map<String, ClassRef> references;
   private final Set<String> helperClassNames;
   private final InstrumentationClassPredicate instrumentationClassPredicate;
+  @Nullable private final PersistentMuzzleCache persistentCache;
+  private final String moduleKey;
 
   public ReferenceMatcher(
       List<String> helperClassNames,
       Map<String, ClassRef> references,
       Predicate<String> libraryInstrumentationPredicate) {
+    this(helperClassNames, references, libraryInstrumentationPredicate, null, "");
+  }
+
+  /**
+   * Creates a matcher that reuses the results recorded in {@code persistentCache} under {@code
+   * moduleKey}, see {@link PersistentMuzzleCache#moduleKey(Class)}.
+   */
+  public ReferenceMatcher(
+      List<String> helperClassNames,
+      Map<String, ClassRef> references,
+      Predicate<String> libraryInstrumentationPredicate,
+      @Nullable PersistentMuzzleCache persistentCache,
+      String moduleKey) {
     this.references = references;
     this.helperClassNames = new HashSet<>(helperClassNames);
     this.instrumentationClassPredicate =
         new InstrumentationClassPredicate(libraryInstrumentationPredicate);
+    this.persistentCache = persistentCache;
+    this.moduleKey = moduleKey;
   }
 
   /**
@@ -56,7 +74,20 @@ public final class ReferenceMatcher {
    * @return true if all references match the classpath of loader
    */
   public boolean matches(ClassLoader userClassLoader) {
-    return mismatchCache.computeIfAbsent(userClassLoader, this::doesMatch);
+    return mismatchCache.computeIfAbsent(userClassLoader, this::doesMatchPersisted);
+  }
+
+  private boolean doesMatchPersisted(ClassLoader loader) {
+    if (persistentCache == null) {
+      return doesMatch(loader);
+    }
+    Boolean persisted = persistentCache.get(moduleKey, loader);
+    if (persisted != null) {
+      return persisted;
+    }
+    boolean matches = doesMatch(loader);
+    persistentCache.put(moduleKey, loader, matches);
+    return matches;
   }
 
   // loader cannot be null, must pass "bootstrap proxy" instead of bootstrap class loader
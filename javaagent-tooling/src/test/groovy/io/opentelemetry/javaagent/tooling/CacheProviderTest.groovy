@@ -158,6 +158,46 @@ class CacheProviderTest extends Specification {
     !cacheProvider1.find("foo").is(cacheProvider2.find("foo"))
   }
 
+  def "test capacity grows when the whole cache is evicted"() {
+    setup:
+    def poolStrat = new AgentCachingPoolStrategy(4, 16)
+
+    def loader = newClassLoader()
+    def loaderHash = loader.hashCode()
+    def loaderRef = new WeakReference<ClassLoader>(loader)
+
+    def cacheProvider = poolStrat.createCacheProvider(loaderHash, loaderRef)
+
+    when:
+    (1..100).each {
+      cacheProvider.register("foo" + it, newVoid())
+      poolStrat.resizeIfNeeded()
+    }
+
+    then:
+    poolStrat.typeCapacity() == 16
+  }
+
+  def "test capacity does not grow without evictions"() {
+    setup:
+    def poolStrat = new AgentCachingPoolStrategy(4, 16)
+
+    def loader = newClassLoader()
+    def loaderHash = loader.hashCode()
+    def loaderRef = new WeakReference<ClassLoader>(loader)
+
+    def cacheProvider = poolStrat.createCacheProvider(loaderHash, loaderRef)
+
+    when:
+    (1..100).each {
+      cacheProvider.register("foo", newVoid())
+      poolStrat.resizeIfNeeded()
+    }
+
+    then:
+    poolStrat.typeCapacity() == 4
+  }
+
   static newVoid() {
     return new TypePool.Resolution.Simple(TypeDescription.VOID)
   }
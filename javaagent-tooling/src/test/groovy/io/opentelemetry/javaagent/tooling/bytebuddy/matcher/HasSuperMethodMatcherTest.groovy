@@ -33,6 +33,17 @@ class HasSuperMethodMatcherTest extends Specification {
     argument = new MethodDescription.ForLoadedMethod(type.getDeclaredMethod(method))
   }
 
+  def "test matcher #type.simpleName implementing a generic method"() {
+    setup:
+    def argument = new MethodDescription.ForLoadedMethod(type.getDeclaredMethod("handle", String))
+
+    expect:
+    hasSuperMethod(isAnnotatedWith(Trace)).matches(argument)
+
+    where:
+    type << [GenericInterfaceImplementation, GenericBaseClassImplementation]
+  }
+
   def "test constructor never matches"() {
     setup:
     def method = Mock(MethodDescription)
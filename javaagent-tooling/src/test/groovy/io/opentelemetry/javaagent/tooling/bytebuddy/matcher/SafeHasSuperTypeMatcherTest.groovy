@@ -6,6 +6,7 @@
 package io.opentelemetry.javaagent.tooling.bytebuddy.matcher
 
 import static io.opentelemetry.javaagent.extension.matcher.AgentElementMatchers.hasSuperType
+import static io.opentelemetry.javaagent.extension.matcher.AgentElementMatchers.implementsInterface
 import static net.bytebuddy.matcher.ElementMatchers.named
 
 import io.opentelemetry.javaagent.tooling.AgentTooling
@@ -14,6 +15,7 @@ import io.opentelemetry.javaagent.tooling.bytebuddy.matcher.testclasses.B
 import io.opentelemetry.javaagent.tooling.bytebuddy.matcher.testclasses.E
 import io.opentelemetry.javaagent.tooling.bytebuddy.matcher.testclasses.F
 import io.opentelemetry.javaagent.tooling.bytebuddy.matcher.testclasses.G
+import net.bytebuddy.description.type.TypeDefinition
 import net.bytebuddy.description.type.TypeDescription
 import net.bytebuddy.description.type.TypeList
 import spock.lang.Shared
@@ -86,4 +88,55 @@ class SafeHasSuperTypeMatcherTest extends Specification {
     1 * typeGeneric.asErasure() >> { throw new Exception("asErasure exception") }
     1 * typeGeneric.getTypeName() >> "typeGeneric-name"
   }
+
+  def "test hierarchy is resolved once for all matchers"() {
+    setup:
+    def type = Mock(TypeDescription)
+    def typeGeneric = Mock(TypeDescription.Generic)
+    type.asGenericType() >> typeGeneric
+    typeGeneric.asErasure() >> type
+    type.getActualName() >> "type-name"
+    type.isInterface() >> false
+
+    when:
+    def first = hasSuperType(named("first")).matches(type)
+    def second = hasSuperType(named("second")).matches(type)
+    def third = implementsInterface(named("third")).matches(type)
+
+    then:
+    !first
+    !second
+    !third
+    1 * type.getSuperClass() >> null
+    1 * type.getInterfaces() >> new TypeList.Generic.Empty()
+  }
+
+  def "test cyclic interface hierarchy"() {
+    setup:
+    def first, second, third
+    first = cyclicInterface("first") { second }
+    second = cyclicInterface("second") { third }
+    third = cyclicInterface("third") { first }
+
+    expect:
+    // walks the cycle starting from the first interface
+    !implementsInterface(named("none")).matches(first)
+    // the interfaces found while walking the cycle from another start are not reused
+    implementsInterface(named("second")).matches(third)
+    implementsInterface(named("third")).matches(second)
+  }
+
+  def cyclicInterface(String name, Closure<TypeDescription> superInterface) {
+    def type = Mock(TypeDescription)
+    def typeGeneric = Mock(TypeDescription.Generic)
+    type.asGenericType() >> typeGeneric
+    type.asErasure() >> type
+    typeGeneric.asErasure() >> type
+    typeGeneric.getSort() >> TypeDefinition.Sort.NON_GENERIC
+    type.getActualName() >> name
+    type.isInterface() >> true
+    type.getSuperClass() >> null
+    type.getInterfaces() >> { new TypeList.Generic.Explicit([superInterface().asGenericType()]) }
+    return type
+  }
 }
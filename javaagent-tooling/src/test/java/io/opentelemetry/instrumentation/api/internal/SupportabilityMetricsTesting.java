@@ -0,0 +1,29 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import io.opentelemetry.instrumentation.api.config.Config;
+import java.util.Collections;
+import java.util.function.Consumer;
+
+/** Gives tests outside of this package access to standalone {@link SupportabilityMetrics}. */
+public final class SupportabilityMetricsTesting {
+
+  /** Returns metrics with agent debug enabled that are only reported by {@link #report}. */
+  public static SupportabilityMetrics create(Consumer<String> reporter) {
+    Config config =
+        Config.newBuilder()
+            .readProperties(Collections.singletonMap("otel.javaagent.debug", "true"))
+            .build();
+    return new SupportabilityMetrics(config, reporter);
+  }
+
+  public static void report(SupportabilityMetrics metrics) {
+    metrics.report();
+  }
+
+  private SupportabilityMetricsTesting() {}
+}
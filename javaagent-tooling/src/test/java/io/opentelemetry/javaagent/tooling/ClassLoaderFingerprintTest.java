@@ -0,0 +1,72 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ClassLoaderFingerprintTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void doesNotCacheUnknownClassLoaders() throws IOException {
+    ClassLoader unknownClassLoader = new ClassLoader(null) {};
+    URLClassLoader classLoader = new URLClassLoader(new URL[] {tempDir.toUri().toURL()}, null);
+
+    assertThat(ClassLoaderFingerprint.compute(unknownClassLoader)).isEmpty();
+    assertThat(ClassLoaderFingerprint.compute(classLoader)).isNotEmpty();
+  }
+
+  @Test
+  void changesWhenClassInDirectoryChanges() throws IOException {
+    Path classes = tempDir.resolve("classes");
+    Path classFile = classes.resolve("com/example/Example.class");
+    Files.createDirectories(classFile.getParent());
+    Files.write(classFile, new byte[] {1, 2, 3});
+    URLClassLoader classLoader = new URLClassLoader(new URL[] {classes.toUri().toURL()}, null);
+    String fingerprint = ClassLoaderFingerprint.compute(classLoader);
+
+    // doesn't change the modification time of the class path entry
+    Files.write(classFile, new byte[] {1, 2, 3, 4});
+
+    assertThat(ClassLoaderFingerprint.compute(classLoader)).isNotEqualTo(fingerprint);
+  }
+
+  @Test
+  void changesWhenUrlIsAdded() throws IOException {
+    Path jar = tempDir.resolve("library.jar");
+    Files.write(jar, new byte[] {1, 2, 3});
+    TestClassLoader classLoader = new TestClassLoader(jar.toUri().toURL());
+    ClassLoaderFingerprint fingerprints = new ClassLoaderFingerprint();
+    String fingerprint = fingerprints.get(classLoader);
+    assertThat(fingerprints.get(classLoader)).isEqualTo(fingerprint);
+
+    Path otherJar = tempDir.resolve("other.jar");
+    Files.write(otherJar, new byte[] {4, 5, 6});
+    classLoader.addURL(otherJar.toUri().toURL());
+
+    assertThat(fingerprints.get(classLoader)).isNotEqualTo(fingerprint);
+  }
+
+  private static class TestClassLoader extends URLClassLoader {
+    TestClassLoader(URL url) {
+      super(new URL[] {url}, null);
+    }
+
+    @Override
+    public void addURL(URL url) {
+      super.addURL(url);
+    }
+  }
+}
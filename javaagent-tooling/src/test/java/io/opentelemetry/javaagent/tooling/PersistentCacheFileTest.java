@@ -0,0 +1,125 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.instrumentation.api.config.Config;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PersistentCacheFileTest {
+
+  private static final int MAGIC = 0x4f54545a;
+
+  @TempDir Path tempDir;
+
+  @Test
+  void readsWhatWasWritten() {
+    Path path = tempDir.resolve("cache.bin");
+    new PersistentCacheFile(path, MAGIC, 1, "v1")
+        .save(out -> PersistentCacheFile.writeString(out, "content"));
+
+    assertThat(
+            new PersistentCacheFile(path, MAGIC, 1, "v1")
+                .load(PersistentCacheFile::readString, "empty"))
+        .isEqualTo("content");
+  }
+
+  @Test
+  void ignoresFileWithOtherHeader() {
+    Path path = tempDir.resolve("cache.bin");
+    new PersistentCacheFile(path, MAGIC, 1, "v1")
+        .save(out -> PersistentCacheFile.writeString(out, "content"));
+
+    assertThat(
+            new PersistentCacheFile(path, MAGIC + 1, 1, "v1")
+                .load(PersistentCacheFile::readString, "empty"))
+        .isEqualTo("empty");
+    assertThat(
+            new PersistentCacheFile(path, MAGIC, 2, "v1")
+                .load(PersistentCacheFile::readString, "empty"))
+        .isEqualTo("empty");
+    assertThat(
+            new PersistentCacheFile(path, MAGIC, 1, "v2")
+                .load(PersistentCacheFile::readString, "empty"))
+        .isEqualTo("empty");
+  }
+
+  @Test
+  void missingFileIsEmpty() {
+    assertThat(
+            new PersistentCacheFile(tempDir.resolve("missing.bin"), MAGIC, 1, "v1")
+                .load(PersistentCacheFile::readString, "empty"))
+        .isEqualTo("empty");
+  }
+
+  @Test
+  void fingerprintIgnoresPropertiesUnrelatedToMatching() {
+    String fingerprint =
+        PersistentCacheFile.fingerprint(config("otel.instrumentation.servlet.enabled", "false"));
+
+    assertThat(
+            PersistentCacheFile.fingerprint(
+                config(
+                    "otel.instrumentation.servlet.enabled",
+                    "false",
+                    "otel.exporter.otlp.endpoint",
+                    "http://collector:4317",
+                    PersistentCacheFile.TYPE_MATCHING_CACHE_DIRECTORY_CONFIG,
+                    tempDir.toString(),
+                    PersistentCacheFile.MUZZLE_CACHE_DIRECTORY_CONFIG,
+                    tempDir.toString())))
+        .isEqualTo(fingerprint);
+    assertThat(
+            PersistentCacheFile.fingerprint(config("otel.instrumentation.servlet.enabled", "true")))
+        .isNotEqualTo(fingerprint);
+    assertThat(
+            PersistentCacheFile.fingerprint(
+                config(
+                    "otel.instrumentation.servlet.enabled",
+                    "false",
+                    "otel.javaagent.exclude-classes",
+                    "com.example.*")))
+        .isNotEqualTo(fingerprint);
+  }
+
+  @Test
+  void fingerprintDependsOnExtensionContent() throws IOException {
+    Config config = config("otel.instrumentation.servlet.enabled", "false");
+    File extension = tempDir.resolve("extension.jar").toFile();
+    Files.write(extension.toPath(), new byte[] {1, 2, 3});
+    String fingerprint =
+        PersistentCacheFile.fingerprint(config, Collections.singletonList(extension));
+
+    assertThat(fingerprint).isNotEqualTo(PersistentCacheFile.fingerprint(config));
+
+    // embedded extensions are extracted to a new file on every start
+    File extracted = tempDir.resolve("extracted.jar").toFile();
+    Files.write(extracted.toPath(), new byte[] {1, 2, 3});
+    assertThat(PersistentCacheFile.fingerprint(config, Collections.singletonList(extracted)))
+        .isEqualTo(fingerprint);
+
+    Files.write(extension.toPath(), new byte[] {1, 2, 4});
+    assertThat(PersistentCacheFile.fingerprint(config, Collections.singletonList(extension)))
+        .isNotEqualTo(fingerprint);
+  }
+
+  private static Config config(String... properties) {
+    Map<String, String> map = new HashMap<>();
+    for (int i = 0; i < properties.length; i += 2) {
+      map.put(properties[i], properties[i + 1]);
+    }
+    return Config.newBuilder().readProperties(map).build();
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.instrumentation.api.config.Config;
+import io.opentelemetry.javaagent.tooling.StartupProfiler.ModuleTime;
+import io.opentelemetry.javaagent.tooling.bytebuddy.CostAccountingMatcher;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.matcher.ElementMatchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StartupProfilerTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void writesProfile() throws IOException {
+    Path file = tempDir.resolve("profile.json");
+    Config config = config(true, file);
+
+    StartupProfiler.start(config);
+    StartupProfiler.recordPhase("test phase", System.nanoTime());
+    StartupProfiler.recordModuleTime("cheap", ModuleTime.REGISTRATION, 1_000);
+    StartupProfiler.recordModuleTime("cheap", ModuleTime.TRANSFORM, 2_000);
+    StartupProfiler.recordModuleTime(
+        "expensive", ModuleTime.MUZZLE, TimeUnit.MILLISECONDS.toNanos(5));
+    ElementMatcher<String> matcher =
+        CostAccountingMatcher.create(
+            ElementMatchers.is("x"), "Type matcher", "expensive", StartupProfilerTest.class);
+    assertThat(matcher.matches("x")).isTrue();
+    assertThat(matcher.matches("y")).isFalse();
+    StartupProfiler.finish(config);
+
+    String profile = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    assertThat(profile)
+        .contains("\"name\": \"test phase\"")
+        .contains("\"muzzleMillis\": 5.000")
+        .contains("\"matcherCalls\": 2")
+        .contains("\"registrationMillis\": 0.001")
+        .contains("\"transformMillis\": 0.002");
+    // modules are sorted by their total time
+    assertThat(profile.indexOf("\"expensive\"")).isLessThan(profile.indexOf("\"cheap\""));
+    assertThat(StartupProfiler.isRecording()).isFalse();
+  }
+
+  @Test
+  void doesNotRecordWhenDisabled() {
+    Path file = tempDir.resolve("profile.json");
+    Config config = config(false, file);
+
+    StartupProfiler.start(config);
+    ElementMatcher<String> matcher = ElementMatchers.is("x");
+    assertThat(CostAccountingMatcher.create(matcher, "Type matcher", "module", getClass()))
+        .isSameAs(matcher);
+    StartupProfiler.recordPhase("test phase", System.nanoTime());
+    StartupProfiler.finish(config);
+
+    assertThat(file).doesNotExist();
+  }
+
+  private static Config config(boolean enabled, Path file) {
+    Map<String, String> properties = new HashMap<>();
+    properties.put("otel.javaagent.experimental.startup-profile.enabled", String.valueOf(enabled));
+    properties.put("otel.javaagent.experimental.startup-profile.file", file.toString());
+    return Config.newBuilder().readProperties(properties).build();
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.bytebuddy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
+import io.opentelemetry.instrumentation.api.internal.SupportabilityMetricsTesting;
+import java.util.ArrayList;
+import java.util.List;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.junit.jupiter.api.Test;
+
+class CostAccountingMatcherTest {
+
+  private static final String SOURCE =
+      " by module [" + CostAccountingMatcherTest.class.getName() + "]";
+
+  @Test
+  void countsCallsTimeAndMatches() {
+    List<String> reports = new ArrayList<>();
+    SupportabilityMetrics metrics = SupportabilityMetricsTesting.create(reports::add);
+    ElementMatcher<String> matcher =
+        CostAccountingMatcher.create(
+            CostAccountingMatcherTest::slowlyMatchesX,
+            "Type matcher",
+            "module",
+            CostAccountingMatcherTest.class,
+            metrics);
+
+    assertThat(matcher.matches("x")).isTrue();
+    assertThat(matcher.matches("y")).isFalse();
+    assertThat(matcher.matches("x")).isTrue();
+    SupportabilityMetricsTesting.report(metrics);
+
+    assertThat(reports)
+        .hasSize(3)
+        .contains(
+            "Counter 'Type matcher calls" + SOURCE + "' : 3",
+            "Counter 'Type matcher matches" + SOURCE + "' : 2");
+    String timeReport = "Counter 'Type matcher time (ns)" + SOURCE + "' : ";
+    assertThat(reports)
+        .anySatisfy(
+            report -> {
+              assertThat(report).startsWith(timeReport);
+              assertThat(Long.parseLong(report.substring(timeReport.length())))
+                  .isGreaterThanOrEqualTo(3_000);
+            });
+  }
+
+  @Test
+  void resetsCountersOnReport() {
+    List<String> reports = new ArrayList<>();
+    SupportabilityMetrics metrics = SupportabilityMetricsTesting.create(reports::add);
+    ElementMatcher<String> matcher =
+        CostAccountingMatcher.create(
+            CostAccountingMatcherTest::slowlyMatchesX,
+            "Class loader matcher",
+            "module",
+            CostAccountingMatcherTest.class,
+            metrics);
+
+    assertThat(matcher.matches("y")).isFalse();
+    SupportabilityMetricsTesting.report(metrics);
+    reports.clear();
+    SupportabilityMetricsTesting.report(metrics);
+
+    assertThat(reports).isEmpty();
+  }
+
+  // takes at least a microsecond so that the accounted time is never zero
+  private static boolean slowlyMatchesX(String target) {
+    long startNanos = System.nanoTime();
+    while (System.nanoTime() - startNanos < 1_000) {
+      // spin
+    }
+    return target.equals("x");
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.bytebuddy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.security.cert.Certificate;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.pool.TypePool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PersistentTypeMatchingCacheTest {
+
+  private static final TypeDescription TYPE = TypeDescription.ForLoadedType.of(String.class);
+
+  @TempDir Path tempDir;
+
+  private File jar;
+  private URLClassLoader classLoader;
+  private ProtectionDomain protectionDomain;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    jar = tempDir.resolve("library.jar").toFile();
+    Files.write(jar.toPath(), new byte[] {1, 2, 3});
+    classLoader = new URLClassLoader(new URL[] {jar.toURI().toURL()}, null);
+    protectionDomain =
+        new ProtectionDomain(new CodeSource(jar.toURI().toURL(), (Certificate[]) null), null);
+  }
+
+  @Test
+  void reusesOutcomesOfUnchangedJar() {
+    PersistentTypeMatchingCache cold = new PersistentTypeMatchingCache(tempDir, "v1");
+    assertThat(matches(cold)).isFalse();
+    cold.onIgnored(TYPE, classLoader, null, false);
+    cold.onComplete(TYPE.getName(), classLoader, null, false);
+    cold.save();
+
+    PersistentTypeMatchingCache warm = new PersistentTypeMatchingCache(tempDir, "v1");
+    assertThat(matches(warm)).isTrue();
+  }
+
+  @Test
+  void doesNotRecordTransformedTypes() {
+    PersistentTypeMatchingCache cold = new PersistentTypeMatchingCache(tempDir, "v1");
+    assertThat(matches(cold)).isFalse();
+    cold.onTransformation(TYPE, classLoader, null, false, null);
+    cold.onComplete(TYPE.getName(), classLoader, null, false);
+    cold.save();
+
+    PersistentTypeMatchingCache warm = new PersistentTypeMatchingCache(tempDir, "v1");
+    assertThat(matches(warm)).isFalse();
+  }
+
+  @Test
+  void doesNotReuseOutcomesForOtherClassPath() throws IOException {
+    PersistentTypeMatchingCache cold = new PersistentTypeMatchingCache(tempDir, "v1");
+    assertThat(matches(cold)).isFalse();
+    cold.onIgnored(TYPE, classLoader, null, false);
+    cold.onComplete(TYPE.getName(), classLoader, null, false);
+    cold.save();
+
+    // e.g. a class loader matcher or muzzle may match once another library is visible
+    File otherJar = tempDir.resolve("other.jar").toFile();
+    Files.write(otherJar.toPath(), new byte[] {4, 5, 6});
+    URLClassLoader otherClassLoader =
+        new URLClassLoader(new URL[] {jar.toURI().toURL(), otherJar.toURI().toURL()}, null);
+
+    PersistentTypeMatchingCache warm = new PersistentTypeMatchingCache(tempDir, "v1");
+    assertThat(warm.matches(TYPE, otherClassLoader, null, null, protectionDomain)).isFalse();
+    assertThat(matches(warm)).isTrue();
+  }
+
+  @Test
+  void doesNotRecordTypesWithUnresolvableSuperTypes() {
+    // a type pool that can only see Child, but not its super class
+    TypePool typePool =
+        TypePool.Default.of(
+            ClassFileLocator.Simple.of(
+                Child.class.getName(), ClassFileLocator.ForClassLoader.read(Child.class)));
+    TypeDescription unresolvable = typePool.describe(Child.class.getName()).resolve();
+    TypeDescription resolvable = TypeDescription.ForLoadedType.of(Child.class);
+
+    assertThat(PersistentTypeMatchingCache.isFullyResolved(unresolvable)).isFalse();
+    assertThat(PersistentTypeMatchingCache.isFullyResolved(resolvable)).isTrue();
+  }
+
+  @Test
+  void discardsOutcomesOfOtherConfiguration() {
+    PersistentTypeMatchingCache cold = new PersistentTypeMatchingCache(tempDir, "v1");
+    matches(cold);
+    cold.onIgnored(TYPE, classLoader, null, false);
+    cold.save();
+
+    PersistentTypeMatchingCache warm = new PersistentTypeMatchingCache(tempDir, "v2");
+    assertThat(matches(warm)).isFalse();
+  }
+
+  @Test
+  void discardsOutcomesOfChangedJar() throws IOException {
+    PersistentTypeMatchingCache cold = new PersistentTypeMatchingCache(tempDir, "v1");
+    matches(cold);
+    cold.onIgnored(TYPE, classLoader, null, false);
+    cold.save();
+
+    Files.write(jar.toPath(), new byte[] {1, 2, 3, 4});
+
+    PersistentTypeMatchingCache warm = new PersistentTypeMatchingCache(tempDir, "v1");
+    assertThat(matches(warm)).isFalse();
+  }
+
+  private boolean matches(PersistentTypeMatchingCache cache) {
+    return cache.matches(TYPE, classLoader, null, null, protectionDomain);
+  }
+
+  static class Parent {}
+
+  static class Child extends Parent {}
+}
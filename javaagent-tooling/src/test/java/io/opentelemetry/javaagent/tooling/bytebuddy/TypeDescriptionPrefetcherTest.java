@@ -0,0 +1,77 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.bytebuddy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TypeDescriptionPrefetcherTest {
+
+  @Test
+  void growsCacheBeforePrefetching() {
+    AgentCachingPoolStrategy poolStrategy = new AgentCachingPoolStrategy(1, 8192);
+    TypeDescriptionPrefetcher prefetcher = prefetcher(poolStrategy);
+    List<Class<?>> classes = Arrays.asList(First.class, Second.class, Third.class);
+    try {
+      prefetcher.prefetch(classes);
+    } finally {
+      prefetcher.shutdown();
+    }
+
+    assertThat(poolStrategy.typeCapacity())
+        .isEqualTo(classes.size() * TypeDescriptionPrefetcher.RESOLUTIONS_PER_CLASS);
+    ClassLoader classLoader = TypeDescriptionPrefetcherTest.class.getClassLoader();
+    WeakReference<ClassLoader> loaderRef = poolStrategy.loaderRefCache.get(classLoader);
+    for (Class<?> clazz : classes) {
+      assertThat(
+              poolStrategy.sharedResolutionCache.get(
+                  new AgentCachingPoolStrategy.TypeCacheKey(
+                      classLoader.hashCode(), loaderRef, clazz.getName())))
+          .isNotNull();
+    }
+  }
+
+  @Test
+  void doesNotGrowCacheBeyondMaximum() {
+    AgentCachingPoolStrategy poolStrategy = new AgentCachingPoolStrategy(1, 8);
+    TypeDescriptionPrefetcher prefetcher = prefetcher(poolStrategy);
+    try {
+      prefetcher.prefetch(Arrays.asList(First.class, Second.class, Third.class));
+    } finally {
+      prefetcher.shutdown();
+    }
+
+    assertThat(poolStrategy.typeCapacity()).isEqualTo(8);
+  }
+
+  @Test
+  void sizesBatchesToCache() {
+    TypeDescriptionPrefetcher small = prefetcher(new AgentCachingPoolStrategy(64, 100));
+    TypeDescriptionPrefetcher large = prefetcher(new AgentCachingPoolStrategy(64, 1_000_000));
+    try {
+      assertThat(small.batchSize())
+          .isEqualTo(100 / TypeDescriptionPrefetcher.RESOLUTIONS_PER_CLASS);
+      assertThat(large.batchSize()).isEqualTo(TypeDescriptionPrefetcher.MAX_BATCH_SIZE);
+    } finally {
+      small.shutdown();
+      large.shutdown();
+    }
+  }
+
+  private static TypeDescriptionPrefetcher prefetcher(AgentCachingPoolStrategy poolStrategy) {
+    return new TypeDescriptionPrefetcher(poolStrategy, new AgentLocationStrategy(null), 2);
+  }
+
+  static class First {}
+
+  static class Second extends First {}
+
+  static class Third extends Second {}
+}
@@ -0,0 +1,8 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.bytebuddy.matcher.testclasses;
+
+public abstract class GenericBaseClass<T> implements TracedGenericInterface<T> {}
@@ -0,0 +1,11 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.bytebuddy.matcher.testclasses;
+
+public class GenericBaseClassImplementation extends GenericBaseClass<String> {
+  @Override
+  public void handle(String value) {}
+}
@@ -0,0 +1,11 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.bytebuddy.matcher.testclasses;
+
+public interface TracedGenericInterface<T> {
+  @Trace
+  void handle(T value);
+}
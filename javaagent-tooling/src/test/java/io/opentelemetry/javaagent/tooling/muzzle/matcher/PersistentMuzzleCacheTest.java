@@ -0,0 +1,109 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.muzzle.matcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PersistentMuzzleCacheTest {
+
+  private static final String MODULE = "io.example.ExampleInstrumentationModule";
+
+  @TempDir Path tempDir;
+
+  private File jar;
+  private TestClassLoader classLoader;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    jar = tempDir.resolve("library.jar").toFile();
+    Files.write(jar.toPath(), new byte[] {1, 2, 3});
+    classLoader = new TestClassLoader(jar.toURI().toURL());
+  }
+
+  @Test
+  void reusesResultsForUnchangedClassPath() {
+    PersistentMuzzleCache cold = new PersistentMuzzleCache(tempDir, "v1");
+    assertThat(cold.get(MODULE, classLoader)).isNull();
+    cold.put(MODULE, classLoader, false);
+    cold.put("other", classLoader, true);
+    cold.save();
+
+    PersistentMuzzleCache warm = new PersistentMuzzleCache(tempDir, "v1");
+    assertThat(warm.get(MODULE, classLoader)).isFalse();
+    assertThat(warm.get("other", classLoader)).isTrue();
+  }
+
+  @Test
+  void discardsResultsOfOtherConfiguration() {
+    PersistentMuzzleCache cold = new PersistentMuzzleCache(tempDir, "v1");
+    cold.put(MODULE, classLoader, true);
+    cold.save();
+
+    PersistentMuzzleCache warm = new PersistentMuzzleCache(tempDir, "v2");
+    assertThat(warm.get(MODULE, classLoader)).isNull();
+  }
+
+  @Test
+  void discardsResultsOfChangedClassPath() throws IOException {
+    PersistentMuzzleCache cold = new PersistentMuzzleCache(tempDir, "v1");
+    cold.put(MODULE, classLoader, true);
+    cold.save();
+
+    Files.write(jar.toPath(), new byte[] {1, 2, 3, 4});
+    URLClassLoader sameUrlsClassLoader = new URLClassLoader(classLoader.getURLs(), null);
+
+    PersistentMuzzleCache warm = new PersistentMuzzleCache(tempDir, "v1");
+    assertThat(warm.get(MODULE, sameUrlsClassLoader)).isNull();
+  }
+
+  @Test
+  void discardsResultsAfterUrlWasAdded() throws IOException {
+    PersistentMuzzleCache cold = new PersistentMuzzleCache(tempDir, "v1");
+    cold.put(MODULE, classLoader, true);
+    cold.save();
+
+    PersistentMuzzleCache warm = new PersistentMuzzleCache(tempDir, "v1");
+    assertThat(warm.get(MODULE, classLoader)).isTrue();
+    File otherJar = tempDir.resolve("other.jar").toFile();
+    Files.write(otherJar.toPath(), new byte[] {4, 5, 6});
+    classLoader.addURL(otherJar.toURI().toURL());
+    assertThat(warm.get(MODULE, classLoader)).isNull();
+  }
+
+  @Test
+  void dropsResultsUnusedForSeveralRuns() {
+    PersistentMuzzleCache cache = new PersistentMuzzleCache(tempDir, "v1");
+    cache.put(MODULE, classLoader, true);
+    cache.save();
+
+    for (int i = 0; i < 6; i++) {
+      new PersistentMuzzleCache(tempDir, "v1").save();
+    }
+
+    assertThat(new PersistentMuzzleCache(tempDir, "v1").get(MODULE, classLoader)).isNull();
+  }
+
+  private static class TestClassLoader extends URLClassLoader {
+    TestClassLoader(URL url) {
+      super(new URL[] {url}, null);
+    }
+
+    @Override
+    public void addURL(URL url) {
+      super.addURL(url);
+    }
+  }
+}